@@ -0,0 +1,75 @@
+package com.postblog.benchmarks;
+
+import com.postblog.userservice.MyServiceApplication;
+import com.postblog.userservice.entities.LoginRequest;
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.repository.UserRepository;
+import com.postblog.userservice.services.UserService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures {@link UserService#loginUser} against in-memory H2, where the cost is dominated by the
+ * BCrypt check of the password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+
+  private static final String PASSWORD = "benchmark-password";
+
+  private ConfigurableApplicationContext context;
+  private UserService userService;
+  private Long userId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(MyServiceApplication.class)
+        .run("--spring.config.name=benchmark");
+    userService = context.getBean("userService", UserService.class);
+    userService.createUser(UserEntity.builder()
+        .name("Benchmark")
+        .email("benchmark@postblog.com")
+        .username("benchmark")
+        .password(PASSWORD)
+        .age(30)
+        .build());
+    userId = context.getBean(UserRepository.class).findByEmail("benchmark@postblog.com")
+        .orElseThrow()
+        .getId();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String loginAndLogout() {
+    String token = userService.loginUser(userId, new LoginRequest(PASSWORD));
+    userService.logoutUser(userId);
+    return token;
+  }
+
+  @Benchmark
+  public String loginWithWrongPassword() {
+    return userService.loginUser(userId, new LoginRequest("wrong-password"));
+  }
+}
@@ -0,0 +1,122 @@
+package com.postblog.benchmarks;
+
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.mapper.CommentMapper;
+import com.postblog.postservice.mapper.PostMapper;
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.entities.UserResponse;
+import com.postblog.userservice.mapper.UserMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflective ModelMapper with the hand-written mappers on a list endpoint sized
+ * batch of entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+  @Param({"20", "100"})
+  private int size;
+
+  private final ModelMapper modelMapper = new ModelMapper();
+  private final PostMapper postMapper = new PostMapper();
+  private final CommentMapper commentMapper = new CommentMapper(new PostMapper());
+  private final UserMapper userMapper = new UserMapper();
+
+  private List<PostEntity> posts;
+  private List<CommentEntity> comments;
+  private List<UserEntity> users;
+
+  @Setup
+  public void setUp() {
+    posts = new ArrayList<>(size);
+    comments = new ArrayList<>(size);
+    users = new ArrayList<>(size);
+    LocalDateTime now = LocalDateTime.now();
+    for (long i = 0; i < size; i++) {
+      PostEntity post = PostEntity.builder()
+          .id(i)
+          .title("Post " + i)
+          .content("Content of post " + i)
+          .author("author" + i)
+          .categories(EnumSet.of(Category.TECHNOLOGY, Category.SPORTS))
+          .createAt(now)
+          .build();
+      posts.add(post);
+      comments.add(CommentEntity.builder()
+          .id(i)
+          .content("Comment " + i)
+          .authorId(i)
+          .createAt(now)
+          .post(post)
+          .build());
+      users.add(UserEntity.builder()
+          .id(i)
+          .name("User " + i)
+          .email("user" + i + "@postblog.com")
+          .age(30)
+          .username("user" + i)
+          .password("secret")
+          .createdAt(now)
+          .roles(Set.of("USER"))
+          .build());
+    }
+  }
+
+  @Benchmark
+  public List<PostResponse> postsWithModelMapper() {
+    return posts.stream().map(post -> modelMapper.map(post, PostResponse.class)).toList();
+  }
+
+  @Benchmark
+  public List<PostResponse> postsWithPostMapper() {
+    return posts.stream().map(postMapper::toResponse).toList();
+  }
+
+  @Benchmark
+  public List<CommentResponse> commentsWithModelMapper() {
+    return comments.stream().map(comment -> modelMapper.map(comment, CommentResponse.class))
+        .toList();
+  }
+
+  @Benchmark
+  public List<CommentResponse> commentsWithCommentMapper() {
+    return comments.stream().map(commentMapper::toResponse).toList();
+  }
+
+  @Benchmark
+  public List<UserResponse> usersWithModelMapper() {
+    return users.stream().map(user -> modelMapper.map(user, UserResponse.class)).toList();
+  }
+
+  @Benchmark
+  public List<UserResponse> usersWithUserMapper() {
+    return users.stream().map(userMapper::toResponse).toList();
+  }
+}
@@ -0,0 +1,63 @@
+package com.postblog.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.PostResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures the Jackson serialization of a page of posts, configured as Spring MVC configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+
+  @Param({"20", "100"})
+  private int size;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+  private List<PostResponse> posts;
+
+  @Setup
+  public void setUp() {
+    posts = new ArrayList<>(size);
+    LocalDateTime now = LocalDateTime.now();
+    for (long i = 0; i < size; i++) {
+      posts.add(PostResponse.builder()
+          .id(i)
+          .title("Post " + i)
+          .content("Content of post " + i + ". ".repeat(50))
+          .author("author" + i)
+          .categories(EnumSet.of(Category.TECHNOLOGY, Category.SPORTS))
+          .createAt(now)
+          .build());
+    }
+  }
+
+  @Benchmark
+  public byte[] writePosts() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(posts);
+  }
+}
@@ -0,0 +1,47 @@
+package com.postblog.benchmarks;
+
+import com.postblog.postservice.entities.CommentEntity;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CommentEntity#sanitizeContent()} on plain text and on markup heavy content.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SanitizeContentBenchmark {
+
+  @Param({"plain", "markup"})
+  private String kind;
+
+  private String content;
+
+  @Setup
+  public void setUp() {
+    String chunk = "plain".equals(kind)
+        ? "Just a regular comment about the post, nothing special in it. "
+        : "<script>alert('x')</script><b>bold</b> & \"quoted\" <a href='#'>link</a> ";
+    content = chunk.repeat(1000 / chunk.length());
+  }
+
+  @Benchmark
+  public String sanitizeContent() {
+    CommentEntity comment = CommentEntity.builder().content(content).build();
+    comment.sanitizeContent();
+    return comment.getContent();
+  }
+}
@@ -0,0 +1,82 @@
+package com.postblog.benchmarks;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.search.PostSearchIndex;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Samples the latency of {@link PostSearchIndex#search(String, int)} over synthetic posts whose
+ * words follow a skewed distribution, for a rare term, a common term and a two-term query. The
+ * index of a million posts takes about 330 MB of heap, so building it needs
+ * {@code -jvmArgsAppend -Xmx2g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+  private static final int VOCABULARY = 50_000;
+  private static final int WORDS_PER_POST = 60;
+
+  @Param({"100000", "1000000"})
+  private int posts;
+
+  @Param({"rare", "common", "mixed"})
+  private String query;
+
+  private PostSearchIndex searchIndex;
+
+  private String queryText;
+
+  @Setup
+  public void setUp() {
+    searchIndex = new PostSearchIndex(null, null, 1000);
+    Random random = new Random(42);
+    StringBuilder content = new StringBuilder();
+    for (long id = 1; id <= posts; id++) {
+      content.setLength(0);
+      for (int i = 0; i < WORDS_PER_POST; i++) {
+        content.append(word(skewed(random))).append(' ');
+      }
+      searchIndex.index(PostEntity.builder()
+          .id(id)
+          .title(word(skewed(random)) + " " + word(skewed(random)))
+          .content(content.toString())
+          .build());
+    }
+    searchIndex.refresh();
+    queryText = switch (query) {
+      case "rare" -> word(VOCABULARY / 2);
+      case "common" -> word(1);
+      default -> word(10) + " " + word(VOCABULARY / 10);
+    };
+  }
+
+  private static int skewed(Random random) {
+    return (int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, random.nextDouble())));
+  }
+
+  private static String word(int index) {
+    return "w" + Integer.toString(index, 36);
+  }
+
+  @Benchmark
+  public Object search() {
+    return searchIndex.search(queryText, 10);
+  }
+}
@@ -0,0 +1,65 @@
+package com.postblog.benchmarks;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.ranking.TrendingRanking;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Samples the latency of reading the trending posts, unchanged since the last read or after an
+ * event changed the ranking, and of scoring an event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrendingBenchmark {
+
+  @Param({"100000"})
+  private int posts;
+
+  private TrendingRanking trendingRanking;
+
+  @Setup
+  public void setUp() {
+    trendingRanking = new TrendingRanking(null, null, 12, 1000, 10, 5, 1, 7);
+    LocalDateTime now = LocalDateTime.now();
+    for (long id = 1; id <= posts; id++) {
+      trendingRanking.recordPost(PostEntity.builder()
+          .id(id)
+          .createAt(now.minusSeconds(ThreadLocalRandom.current().nextInt(7 * 24 * 3600)))
+          .build());
+    }
+  }
+
+  @Benchmark
+  public List<Long> top() {
+    return trendingRanking.top(10);
+  }
+
+  @Benchmark
+  public List<Long> recordViewsThenTop() {
+    trendingRanking.recordViews((long) ThreadLocalRandom.current().nextInt(posts) + 1, 5);
+    return trendingRanking.top(10);
+  }
+
+  @Benchmark
+  public void recordViews() {
+    trendingRanking.recordViews((long) ThreadLocalRandom.current().nextInt(posts) + 1, 5);
+  }
+}
@@ -0,0 +1,57 @@
+package com.postblog.benchmarks;
+
+import com.postblog.postservice.counter.ViewCounter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost {@link ViewCounter#record(Long)} adds to a post read, for one hot post and for
+ * views spread over many posts, with several threads recording at once. Nothing is flushed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ViewCounterBenchmark {
+
+  private static final int POSTS = 10_000;
+
+  private static final Long HOT_POST = 1L;
+
+  private ViewCounter viewCounter;
+
+  private Long[] postIds;
+
+  @Setup
+  public void setUp() {
+    viewCounter = new ViewCounter(null, null, null, Long.MAX_VALUE, Long.MAX_VALUE, 500);
+    postIds = new Long[POSTS];
+    for (int i = 0; i < POSTS; i++) {
+      postIds[i] = (long) i + 1;
+    }
+  }
+
+  @Benchmark
+  public void recordHotPost() {
+    viewCounter.record(HOT_POST);
+  }
+
+  @Benchmark
+  public void recordSpreadPosts() {
+    viewCounter.record(postIds[ThreadLocalRandom.current().nextInt(POSTS)]);
+  }
+}
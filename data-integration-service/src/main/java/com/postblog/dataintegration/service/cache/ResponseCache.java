@@ -0,0 +1,154 @@
+package com.postblog.dataintegration.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.postblog.dataintegration.service.resilience.Downstreams.AsyncResponseHandler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of downstream responses, revalidated on every read.
+ *
+ * <p>A response carrying an ETag is kept, already parsed, under its URL. The next read of the URL
+ * sends the tag in If-None-Match; when the service answers 304 the kept value is returned, so the
+ * body is neither sent, read nor parsed again. Any other answer replaces or drops the entry, as
+ * does an answer the reader fails on, such as the error page of a 404. Every
+ * read still reaches the service, so a kept value is never served after it changed. The kept
+ * value is handed to every caller as is and must not be modified.
+ */
+@Component
+public class ResponseCache implements MeterBinder {
+
+  private final Cache<String, Cached> responses;
+  private final LongAdder notModified = new LongAdder();
+  private final Downstreams downstreams;
+
+  public ResponseCache(Downstreams downstreams,
+      @Value("${proxy.response-cache.maximum-size:10000}") long maximumSize,
+      @Value("${proxy.response-cache.expire-after-access-ms:600000}") long expireAfterAccessMs) {
+    this.downstreams = downstreams;
+    this.responses = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterAccess(Duration.ofMillis(expireAfterAccessMs))
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Executes a GET to a downstream service, conditionally if the last response of the URL is kept.
+   *
+   * @param downstream The name of the downstream service.
+   * @param url        The URL to read.
+   * @param reader     The handler parsing a full response.
+   * @param <T>        The type of the parsed response.
+   * @return The kept value if the service answered 304, the parsed response otherwise.
+   * @throws IOException if the request or the reader fails with an I/O error.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String downstream, String url, HttpClientResponseHandler<? extends T> reader)
+      throws IOException {
+    Cached cached = responses.getIfPresent(url);
+    return downstreams.execute(downstream, newGet(url, cached), response -> {
+      if (isNotModified(cached, response)) {
+        return (T) cached.value();
+      }
+      try {
+        return keep(url, response, reader.handleResponse(response));
+      } catch (Exception e) {
+        responses.invalidate(url);
+        throw e;
+      }
+    });
+  }
+
+  /**
+   * Executes a GET to a downstream service without blocking, conditionally if the last response
+   * of the URL is kept. Blocking and asynchronous reads of a URL share the same entry.
+   *
+   * @param downstream The name of the downstream service.
+   * @param url        The URL to read.
+   * @param reader     The handler parsing a full response.
+   * @param <T>        The type of the parsed response.
+   * @return A future of the kept value if the service answered 304, of the parsed response
+   *     otherwise.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> getAsync(String downstream, String url,
+      AsyncResponseHandler<? extends T> reader) {
+    Cached cached = responses.getIfPresent(url);
+    SimpleHttpRequest request;
+    try {
+      request = newGet(url, cached);
+    } catch (IllegalArgumentException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return downstreams.executeAsync(downstream, request, response -> {
+      if (isNotModified(cached, response)) {
+        return (T) cached.value();
+      }
+      try {
+        return keep(url, response, reader.handleResponse(response));
+      } catch (Exception e) {
+        responses.invalidate(url);
+        throw e;
+      }
+    });
+  }
+
+  private static SimpleHttpRequest newGet(String url, Cached cached) {
+    SimpleHttpRequest request = SimpleRequestBuilder.get(url).build();
+    if (cached != null) {
+      request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag());
+    }
+    return request;
+  }
+
+  private boolean isNotModified(Cached cached, HttpResponse response) {
+    if (cached != null && response.getCode() == HttpStatus.NOT_MODIFIED.value()) {
+      notModified.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Keeps the parsed value of a 200 carrying an ETag, and drops the entry for any other answer.
+   */
+  private <T> T keep(String url, HttpResponse response, T value) {
+    Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+    if (response.getCode() == HttpStatus.OK.value() && etag != null && value != null) {
+      responses.put(url, new Cached(etag.getValue(), value));
+    } else {
+      responses.invalidate(url);
+    }
+    return value;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, responses, "proxy-responses");
+    FunctionCounter.builder("proxy.responses.not.modified", notModified, LongAdder::sum)
+        .description("Downstream reads answered 304 and served from the response cache")
+        .register(registry);
+  }
+
+  private record Cached(String etag, Object value) {
+
+  }
+}
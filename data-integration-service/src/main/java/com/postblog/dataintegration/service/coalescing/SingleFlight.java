@@ -0,0 +1,198 @@
+package com.postblog.dataintegration.service.coalescing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces identical concurrent reads into a single upstream call.
+ *
+ * <p>The first caller for a resource becomes the leader and makes the call; callers arriving while
+ * it is in flight wait for it and share its result, or its exception. The entry is removed as soon
+ * as the call completes, so nothing is cached: a caller arriving afterwards makes a new call. The
+ * shared result is handed to every caller as is and must not be modified.
+ *
+ * <p>An asynchronous caller may cancel its future. The shared call goes on while other callers
+ * wait for it; once the last of them cancelled, the asynchronous upstream call is cancelled too
+ * and the entry removed, so a caller arriving afterwards makes a new call. A blocking caller never
+ * cancels, so a call it waits for, or makes, always runs to its end.
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+  public static final String POSTS = "posts";
+  public static final String COMMENTS = "comments";
+  public static final String POST_COMMENTS = "post-comments";
+  public static final String USERS = "users";
+
+  private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> saved = Map.of(POSTS, new LongAdder(),
+      COMMENTS, new LongAdder(), POST_COMMENTS, new LongAdder(), USERS, new LongAdder());
+
+  /**
+   * Returns the result of the call in flight for a resource, or makes the call if there is none.
+   *
+   * @param resource The kind of resource read, one of the constants of this class.
+   * @param id       The ID of the resource.
+   * @param call     The upstream call.
+   * @param <T>      The type of the result.
+   * @return The result of the call.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T call(String resource, Object id, Supplier<T> call) {
+    String key = resource + ':' + id;
+    Flight mine = new Flight(key);
+    Flight leader;
+    while ((leader = inFlight.putIfAbsent(key, mine)) != null) {
+      if (leader.hold()) {
+        saved.get(resource).increment();
+        try {
+          return (T) leader.result.join();
+        } catch (CompletionException e) {
+          if (e.getCause() instanceof RuntimeException cause) {
+            throw cause;
+          }
+          throw e;
+        }
+      }
+    }
+    try {
+      T result = call.get();
+      mine.result.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      mine.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, mine);
+    }
+  }
+
+  /**
+   * Returns a future of the call in flight for a resource, or starts the call if there is none.
+   * Blocking and asynchronous callers of the same resource share the same call.
+   *
+   * @param resource The kind of resource read, one of the constants of this class.
+   * @param id       The ID of the resource.
+   * @param call     The asynchronous upstream call.
+   * @param <T>      The type of the result.
+   * @return A future of the result of the call. Cancelling it cancels the upstream call once no
+   *     other caller waits for it.
+   */
+  public <T> CompletableFuture<T> callAsync(String resource, Object id,
+      Supplier<CompletableFuture<T>> call) {
+    String key = resource + ':' + id;
+    Flight mine = new Flight(key);
+    Flight leader;
+    while ((leader = inFlight.putIfAbsent(key, mine)) != null) {
+      CompletableFuture<T> waiter = leader.join();
+      if (waiter != null) {
+        saved.get(resource).increment();
+        return waiter;
+      }
+    }
+    CompletableFuture<T> waiter = mine.join();
+    CompletableFuture<T> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException | Error e) {
+      mine.result.completeExceptionally(e);
+      inFlight.remove(key, mine);
+      throw e;
+    }
+    mine.upstream = result;
+    result.whenComplete((value, failure) -> {
+      if (failure instanceof CompletionException && failure.getCause() != null) {
+        mine.result.completeExceptionally(failure.getCause());
+      } else if (failure != null) {
+        mine.result.completeExceptionally(failure);
+      } else {
+        mine.result.complete(value);
+      }
+      inFlight.remove(key, mine);
+    });
+    return waiter;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    saved.forEach((resource, calls) ->
+        FunctionCounter.builder("proxy.coalesced.calls", calls, LongAdder::sum)
+            .description("Upstream calls saved by sharing an identical call in flight")
+            .tag("resource", resource)
+            .register(registry));
+  }
+
+  /**
+   * A call in flight and the callers waiting for it.
+   */
+  private final class Flight {
+
+    private final String key;
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+    private volatile Future<?> upstream;
+    private int waiters;
+    private boolean abandoned;
+
+    private Flight(String key) {
+      this.key = key;
+    }
+
+    /**
+     * Counts a blocking caller, which waits until the call completes.
+     *
+     * @return False if every caller cancelled and the call is abandoned.
+     */
+    private synchronized boolean hold() {
+      if (abandoned) {
+        return false;
+      }
+      waiters++;
+      return true;
+    }
+
+    /**
+     * Counts an asynchronous caller and returns its own future of the result, so that cancelling
+     * it leaves the other callers waiting.
+     *
+     * @return The future of the caller, or null if every caller cancelled and the call is
+     *     abandoned.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T> CompletableFuture<T> join() {
+      if (abandoned) {
+        return null;
+      }
+      waiters++;
+      CompletableFuture<T> waiter = result.thenApply(value -> (T) value);
+      waiter.whenComplete((value, failure) -> {
+        if (waiter.isCancelled()) {
+          leave();
+        }
+      });
+      return waiter;
+    }
+
+    private void leave() {
+      Future<?> cancelled = null;
+      synchronized (this) {
+        if (--waiters == 0 && upstream != null && !result.isDone()) {
+          abandoned = true;
+          inFlight.remove(key, this);
+          cancelled = upstream;
+        }
+      }
+      if (cancelled != null) {
+        cancelled.cancel(true);
+      }
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.postblog.dataintegration.service.configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Configuration of the executor used to fan out proxied calls in parallel.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  @Value("${proxy.executor.threads:32}")
+  private int threads;
+
+  @Value("${proxy.executor.queue-capacity:1000}")
+  private int queueCapacity;
+
+  /**
+   * Bounded pool running the blocking downstream calls of composite endpoints. When the queue is
+   * full a call is rejected, and the endpoint answers without it, rather than run on the request
+   * thread past its deadline.
+   *
+   * @return The proxy executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService proxyExecutor() {
+    return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("proxy-"),
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+}
@@ -0,0 +1,170 @@
+package com.postblog.dataintegration.service.configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the HTTP clients shared by all the proxy services.
+ *
+ * <p>Both clients come from Apache HttpClient 5 and are built from the same connection and request
+ * settings, so a timeout means the same thing whether a call blocks or not. They keep separate
+ * pools: the blocking one is sized by the gateway threads that can hold a connection, the
+ * asynchronous one by the connections the services accept.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  @Value("${http.client.max-total:200}")
+  private int maxTotal;
+
+  @Value("${http.client.max-per-route:50}")
+  private int maxPerRoute;
+
+  @Value("${http.async-client.io-threads:2}")
+  private int asyncIoThreads;
+
+  @Value("${http.async-client.max-total:20000}")
+  private int asyncMaxTotal;
+
+  @Value("${http.async-client.max-per-route:10000}")
+  private int asyncMaxPerRoute;
+
+  @Value("${http.client.connect-timeout-ms:2000}")
+  private long connectTimeout;
+
+  @Value("${http.client.read-timeout-ms:5000}")
+  private long readTimeout;
+
+  @Value("${http.client.pool-acquire-timeout-ms:1000}")
+  private long poolAcquireTimeout;
+
+  @Value("${http.client.idle-eviction-ms:30000}")
+  private long idleEviction;
+
+  @Value("${http.client.validate-after-inactivity-ms:2000}")
+  private long validateAfterInactivity;
+
+  /**
+   * Connection pool kept alive between blocking proxied calls, so downstream connections are
+   * reused.
+   *
+   * @return The pooling connection manager.
+   */
+  @Bean(destroyMethod = "close")
+  public PoolingHttpClientConnectionManager httpClientConnectionManager() {
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(maxTotal)
+        .setMaxConnPerRoute(maxPerRoute)
+        .setDefaultConnectionConfig(connectionConfig())
+        .build();
+  }
+
+  /**
+   * Blocking HTTP client used by the post, comment and user proxies.
+   *
+   * @param connectionManager The pool backing the client.
+   * @return The pooled HTTP client.
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient pooledHttpClient(
+      PoolingHttpClientConnectionManager connectionManager) {
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction))
+        .build();
+  }
+
+  /**
+   * Connection pool of the asynchronous client. A request waiting for a connection holds no
+   * thread, so the pool can be sized by the connections the services accept rather than by the
+   * threads of the gateway.
+   *
+   * @return The pooling async connection manager.
+   */
+  @Bean(destroyMethod = "close")
+  public PoolingAsyncClientConnectionManager asyncClientConnectionManager() {
+    return PoolingAsyncClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(asyncMaxTotal)
+        .setMaxConnPerRoute(asyncMaxPerRoute)
+        .setDefaultConnectionConfig(connectionConfig())
+        .build();
+  }
+
+  /**
+   * Started asynchronous client whose I/O reactor multiplexes every call in flight over a small
+   * fixed number of threads.
+   *
+   * @param connectionManager The pool backing the client.
+   * @return The asynchronous HTTP client.
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpAsyncClient asyncHttpClient(
+      PoolingAsyncClientConnectionManager connectionManager) {
+    CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+        .setConnectionManager(connectionManager)
+        .setIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(asyncIoThreads).build())
+        .setDefaultRequestConfig(requestConfig())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction))
+        .build();
+    client.start();
+    return client;
+  }
+
+  /**
+   * Publishes leased, available, pending and max connections of the blocking pool as metrics.
+   *
+   * @param connectionManager The pool to observe.
+   * @return The binder registering the pool gauges.
+   */
+  @Bean
+  public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "proxy-pool");
+  }
+
+  /**
+   * Publishes leased, available, pending and max connections of the async pool as metrics.
+   *
+   * @param connectionManager The pool to observe.
+   * @return The binder registering the pool gauges.
+   */
+  @Bean
+  public MeterBinder asyncHttpClientPoolMetrics(
+      PoolingAsyncClientConnectionManager connectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager,
+        "proxy-async-pool");
+  }
+
+  private ConnectionConfig connectionConfig() {
+    return ConnectionConfig.custom()
+        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity))
+        .build();
+  }
+
+  private RequestConfig requestConfig() {
+    return RequestConfig.custom()
+        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout))
+        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+        .build();
+  }
+}
@@ -8,7 +8,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,13 @@ public class CommentProxyController {
   @Autowired
   private CommentServiceProxy commentServiceProxy; // Proxy service for handling comment-related operations
 
+  @Value("${proxy.pass-through:false}")
+  private boolean passThrough;
+
+  // Handlers answer with a ResponseEntity, or with a future of one in asynchronous mode.
+  @Value("${proxy.async:false}")
+  private boolean async;
+
   /**
    * Retrieves comment details by ID.
    *
@@ -36,8 +46,17 @@ public class CommentProxyController {
       @ApiResponse(responseCode = "200", description = "Comment found"),
       @ApiResponse(responseCode = "404", description = "Comment not found")
   })
-  public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long commentId) {
+  public Object getCommentById(@PathVariable Long commentId, HttpServletRequest request,
+      HttpServletResponse response) {
     try {
+      if (passThrough) {
+        commentServiceProxy.relayCommentById(commentId, request, response);
+        return null;
+      }
+      if (async) {
+        return commentServiceProxy.getCommentByIdAsync(commentId)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return commentServiceProxy.getCommentById(commentId);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -56,8 +75,17 @@ public class CommentProxyController {
       @ApiResponse(responseCode = "201", description = "Comment created"),
       @ApiResponse(responseCode = "400", description = "Invalid request")
   })
-  public ResponseEntity<CommentResponse> createComment(@RequestBody CommentEntity comment) {
+  public Object createComment(@RequestBody CommentEntity comment, HttpServletRequest request,
+      HttpServletResponse response) {
     try {
+      if (passThrough) {
+        commentServiceProxy.relayCreateComment(comment, request, response);
+        return null;
+      }
+      if (async) {
+        return commentServiceProxy.createCommentAsync(comment)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return commentServiceProxy.createComment(comment);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -77,8 +105,12 @@ public class CommentProxyController {
       @ApiResponse(responseCode = "204", description = "Comment updated"),
       @ApiResponse(responseCode = "404", description = "Comment not found")
   })
-  public ResponseEntity<Void> updateComment(@PathVariable Long commentId, @RequestBody CommentEntity comment) {
+  public Object updateComment(@PathVariable Long commentId, @RequestBody CommentEntity comment) {
     try {
+      if (async) {
+        return commentServiceProxy.updateCommentAsync(commentId, comment)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return commentServiceProxy.updateComment(commentId, comment);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -97,8 +129,12 @@ public class CommentProxyController {
       @ApiResponse(responseCode = "204", description = "Comment deleted"),
       @ApiResponse(responseCode = "404", description = "Comment not found")
   })
-  public ResponseEntity<Void> deleteComment(@PathVariable Long commentId) {
+  public Object deleteComment(@PathVariable Long commentId) {
     try {
+      if (async) {
+        return commentServiceProxy.deleteCommentAsync(commentId)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return commentServiceProxy.deleteComment(commentId);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -1,6 +1,8 @@
 package com.postblog.dataintegration.service.controller;
 
+import com.postblog.dataintegration.service.entities.PostDetailsResponse;
 import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.services.PostDetailsService;
 import com.postblog.dataintegration.service.services.PostServiceProxy;
 import com.postblog.postservice.entities.PostEntity;
 import com.postblog.postservice.entities.PostResponse;
@@ -8,7 +10,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,28 +33,71 @@ public class PostProxyController {
   @Autowired
   private PostServiceProxy postServiceProxy;
 
+  @Value("${proxy.pass-through:false}")
+  private boolean passThrough;
+
+  // Handlers answer with a ResponseEntity, or with a future of one in asynchronous mode.
+  @Value("${proxy.async:false}")
+  private boolean async;
+
+  @Autowired
+  private PostDetailsService postDetailsService;
+
   @GetMapping("/posts/{postId}")
   @Operation(summary = "Get post details by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Post found"),
       @ApiResponse(responseCode = "404", description = "Post not found")
   })
-  public ResponseEntity<PostResponse> getPostById(@PathVariable Long postId) {
+  public Object getPostById(@PathVariable Long postId, HttpServletRequest request,
+      HttpServletResponse response) {
     try {
+      if (passThrough) {
+        postServiceProxy.relayPostById(postId, request, response);
+        return null;
+      }
+      if (async) {
+        return postServiceProxy.getPostByIdAsync(postId)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return postServiceProxy.getPostById(postId);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
     }
   }
 
+  @GetMapping("/posts/{postId}/full")
+  @Operation(summary = "Get a post with its comments and their authors")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Post found, possibly with missing parts"),
+      @ApiResponse(responseCode = "404", description = "Post not found"),
+      @ApiResponse(responseCode = "504", description = "Post not retrieved in time")
+  })
+  public ResponseEntity<PostDetailsResponse> getPostDetails(@PathVariable Long postId) {
+    try {
+      return ResponseEntity.ok(postDetailsService.getPostDetails(postId));
+    } catch (HttpException e) {
+      return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
+    }
+  }
+
   @PostMapping("/posts")
   @Operation(summary = "Create a new post")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "Post created"),
       @ApiResponse(responseCode = "400", description = "Invalid request")
   })
-  public ResponseEntity<PostResponse> createPost(@RequestBody PostEntity post) {
+  public Object createPost(@RequestBody PostEntity post, HttpServletRequest request,
+      HttpServletResponse response) {
     try {
+      if (passThrough) {
+        postServiceProxy.relayCreatePost(post, request, response);
+        return null;
+      }
+      if (async) {
+        return postServiceProxy.createPostAsync(post)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return postServiceProxy.createPost(post);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -62,8 +110,12 @@ public class PostProxyController {
       @ApiResponse(responseCode = "204", description = "Post updated"),
       @ApiResponse(responseCode = "404", description = "Post not found")
   })
-  public ResponseEntity<Void> updatePost(@PathVariable Long postId, @RequestBody PostEntity post) {
+  public Object updatePost(@PathVariable Long postId, @RequestBody PostEntity post) {
     try {
+      if (async) {
+        return postServiceProxy.updatePostAsync(postId, post)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return postServiceProxy.updatePost(postId, post);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -76,8 +128,12 @@ public class PostProxyController {
       @ApiResponse(responseCode = "204", description = "Post deleted"),
       @ApiResponse(responseCode = "404", description = "Post not found")
   })
-  public ResponseEntity<Void> deletePost(@PathVariable Long postId) {
+  public Object deletePost(@PathVariable Long postId) {
     try {
+      if (async) {
+        return postServiceProxy.deletePostAsync(postId)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return postServiceProxy.deletePost(postId);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
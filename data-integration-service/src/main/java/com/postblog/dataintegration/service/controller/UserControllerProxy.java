@@ -1,14 +1,17 @@
 package com.postblog.dataintegration.service.controller;
 
+import com.postblog.dataintegration.service.exceptions.HttpException;
 import com.postblog.dataintegration.service.services.UserServiceProxy;
 import com.postblog.userservice.entities.UserEntity;
 import com.postblog.userservice.entities.UserResponse;
-import com.postblog.userservice.exceptions.HttpException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,14 +31,30 @@ public class UserControllerProxy {
   @Autowired
   private UserServiceProxy userServiceProxy;
 
+  @Value("${proxy.pass-through:false}")
+  private boolean passThrough;
+
+  // Handlers answer with a ResponseEntity, or with a future of one in asynchronous mode.
+  @Value("${proxy.async:false}")
+  private boolean async;
+
   @GetMapping("/users/{userId}")
   @Operation(summary = "Get user details by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "User found"),
       @ApiResponse(responseCode = "404", description = "User not found")
   })
-  public ResponseEntity<UserResponse> getUserById(@PathVariable Long userId) {
+  public Object getUserById(@PathVariable Long userId, HttpServletRequest request,
+      HttpServletResponse response) {
     try {
+      if (passThrough) {
+        userServiceProxy.relayUserById(userId, request, response);
+        return null;
+      }
+      if (async) {
+        return userServiceProxy.getUserByIdAsync(userId)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return userServiceProxy.getUserById(userId);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -48,8 +67,17 @@ public class UserControllerProxy {
       @ApiResponse(responseCode = "201", description = "User created"),
       @ApiResponse(responseCode = "400", description = "Invalid request")
   })
-  public ResponseEntity<UserResponse> createUser(@RequestBody UserEntity user) {
+  public Object createUser(@RequestBody UserEntity user, HttpServletRequest request,
+      HttpServletResponse response) {
     try {
+      if (passThrough) {
+        userServiceProxy.relayCreateUser(user, request, response);
+        return null;
+      }
+      if (async) {
+        return userServiceProxy.createUserAsync(user)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return userServiceProxy.createUser(user);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -62,8 +90,12 @@ public class UserControllerProxy {
       @ApiResponse(responseCode = "204", description = "User updated"),
       @ApiResponse(responseCode = "404", description = "User not found")
   })
-  public ResponseEntity<Void> updateUser(@PathVariable Long userId, @RequestBody UserEntity user) {
+  public Object updateUser(@PathVariable Long userId, @RequestBody UserEntity user) {
     try {
+      if (async) {
+        return userServiceProxy.updateUserAsync(userId, user)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return userServiceProxy.updateUser(userId, user);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
@@ -76,8 +108,12 @@ public class UserControllerProxy {
       @ApiResponse(responseCode = "204", description = "User deleted"),
       @ApiResponse(responseCode = "404", description = "User not found")
   })
-  public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
+  public Object deleteUser(@PathVariable Long userId) {
     try {
+      if (async) {
+        return userServiceProxy.deleteUserAsync(userId)
+            .exceptionally(e -> ResponseEntity.status(HttpException.statusOf(e)).build());
+      }
       return userServiceProxy.deleteUser(userId);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
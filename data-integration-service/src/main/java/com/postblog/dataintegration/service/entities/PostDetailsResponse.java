@@ -0,0 +1,29 @@
+package com.postblog.dataintegration.service.entities;
+
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.userservice.entities.UserResponse;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Post page payload: the post, its comments and the users who wrote them. Parts that could not be
+ * fetched within the deadline are listed in {@code missing}.
+ */
+@Data
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostDetailsResponse {
+
+  private PostResponse post;
+  private List<CommentResponse> comments;
+  private Map<Long, UserResponse> authors;
+  private List<String> missing;
+}
@@ -1,5 +1,7 @@
 package com.postblog.dataintegration.service.exceptions;
 
+import java.util.concurrent.CompletionException;
+
 public class HttpException extends RuntimeException {
 
   private final int statusCode;
@@ -12,5 +14,40 @@ public class HttpException extends RuntimeException {
   public int getStatusCode() {
     return statusCode;
   }
-}
 
+  /**
+   * Returns the HttpException an asynchronous call failed with, or a new one for any other failure.
+   *
+   * @param failure    The failure, possibly wrapped in CompletionExceptions.
+   * @param message    The message of the new exception.
+   * @param statusCode The status of the new exception.
+   * @return The HttpException to fail with.
+   */
+  public static HttpException of(Throwable failure, String message, int statusCode) {
+    Throwable cause = unwrap(failure);
+    if (cause instanceof HttpException httpException) {
+      return httpException;
+    }
+    return new HttpException(message, statusCode);
+  }
+
+  /**
+   * Returns the status an asynchronous call failed with, 500 if it did not fail with an
+   * HttpException.
+   *
+   * @param failure The failure, possibly wrapped in CompletionExceptions.
+   * @return The status code to answer with.
+   */
+  public static int statusOf(Throwable failure) {
+    return unwrap(failure) instanceof HttpException httpException
+        ? httpException.getStatusCode() : 500;
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    Throwable cause = failure;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+}
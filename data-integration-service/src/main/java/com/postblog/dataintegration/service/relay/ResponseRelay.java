@@ -0,0 +1,129 @@
+package com.postblog.dataintegration.service.relay;
+
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relays downstream responses to the client as they are sent, without parsing them.
+ *
+ * <p>The status, the headers describing the body and its validators are copied, then the body is
+ * copied as bytes, so a response never exists as a string or an object in the gateway. A body up
+ * to the buffered limit is read whole while the call holds its bulkhead permit and written to the
+ * client once the permit is released, so a slow client does not hold a downstream slot. A larger
+ * body is streamed from the upstream connection to the client through a single fixed-size buffer
+ * within the call, which bounds the memory per call whatever the size of the body. The
+ * conditional and content negotiation headers of the client are forwarded, so a client holding a
+ * current ETag gets a 304 straight from the service.
+ */
+@Component
+public class ResponseRelay {
+
+  private static final List<String> FORWARDED_HEADERS = List.of(HttpHeaders.ACCEPT,
+      HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+  private static final List<String> RELAYED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+      HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL,
+      HttpHeaders.LOCATION);
+
+  private final Downstreams downstreams;
+  private final int bufferSize;
+  private final int maxBuffered;
+
+  public ResponseRelay(Downstreams downstreams,
+      @Value("${proxy.relay.buffer-size:8192}") int bufferSize,
+      @Value("${proxy.relay.max-buffered-bytes:262144}") int maxBuffered) {
+    this.downstreams = downstreams;
+    this.bufferSize = bufferSize;
+    this.maxBuffered = maxBuffered;
+  }
+
+  /**
+   * Executes a request to a downstream service and streams its response to the client.
+   *
+   * @param downstream The name of the downstream service.
+   * @param upstream   The request to the downstream service.
+   * @param request    The client request, whose conditional headers are forwarded.
+   * @param response   The client response written.
+   * @throws IOException if the downstream call or the copy fails.
+   */
+  public void relay(String downstream, SimpleHttpRequest upstream, HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
+    for (String name : FORWARDED_HEADERS) {
+      String value = request.getHeader(name);
+      if (value != null) {
+        upstream.setHeader(name, value);
+      }
+    }
+    byte[] body = downstreams.execute(downstream, upstream, upstreamResponse -> {
+      response.setStatus(upstreamResponse.getCode());
+      for (String name : RELAYED_HEADERS) {
+        Header header = upstreamResponse.getFirstHeader(name);
+        if (header != null) {
+          response.setHeader(name, header.getValue());
+        }
+      }
+      HttpEntity entity = upstreamResponse.getEntity();
+      if (entity == null) {
+        return null;
+      }
+      long length = entity.getContentLength();
+      if (length >= 0) {
+        response.setContentLengthLong(length);
+      }
+      byte[] buffer = new byte[bufferSize];
+      try (InputStream in = entity.getContent()) {
+        if (length > maxBuffered) {
+          copy(buffer, 0, in, response.getOutputStream());
+          return null;
+        }
+        ByteArrayOutputStream buffered =
+            new ByteArrayOutputStream(length >= 0 ? (int) length : bufferSize);
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          if (buffered.size() + read > maxBuffered) {
+            OutputStream out = response.getOutputStream();
+            write(buffered.toByteArray(), out);
+            copy(buffer, read, in, out);
+            return null;
+          }
+          buffered.write(buffer, 0, read);
+        }
+        return buffered.toByteArray();
+      }
+    });
+    if (body != null) {
+      OutputStream out = response.getOutputStream();
+      write(body, out);
+      out.flush();
+    }
+  }
+
+  private void write(byte[] body, OutputStream out) throws IOException {
+    for (int offset = 0; offset < body.length; offset += bufferSize) {
+      out.write(body, offset, Math.min(bufferSize, body.length - offset));
+    }
+  }
+
+  /**
+   * Writes the bytes already in the buffer, then streams the rest of the body through it.
+   */
+  private static void copy(byte[] buffer, int pending, InputStream in, OutputStream out)
+      throws IOException {
+    int read = pending;
+    do {
+      out.write(buffer, 0, read);
+    } while ((read = in.read(buffer)) != -1);
+    out.flush();
+  }
+}
@@ -0,0 +1,279 @@
+package com.postblog.dataintegration.service.resilience;
+
+import static com.postblog.dataintegration.service.utils.Constants.DOWNSTREAM_UNAVAILABLE;
+
+import com.postblog.dataintegration.service.exceptions.HttpException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig.SlidingWindowType;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.async.methods.SimpleBody;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards the calls to each downstream service with a bulkhead and a circuit breaker.
+ *
+ * <p>The bulkhead caps the calls in flight to a downstream, so a slow service can hold only that
+ * many gateway threads and the endpoints of the other service keep theirs. The circuit breaker
+ * records the outcome of the last calls in a sliding window and opens when their failure rate
+ * reaches the threshold: calls are then rejected without touching the network until the wait
+ * elapses, after which a few probe calls decide whether it closes again. A call is a failure when
+ * it throws an I/O error, including a timeout, or the service answers with a 5xx status; client
+ * errors such as 404 are successes. A rejected call fails with 503.
+ *
+ * <p>Asynchronous calls share the circuit breaker of their downstream but have a bulkhead of
+ * their own: they hold no gateway thread while in flight, so their bulkhead only bounds the
+ * requests the gateway keeps open against the service and is sized far larger. Both kinds of
+ * call take the same request, so a proxy builds it once whichever client runs it.
+ */
+@Component
+public class Downstreams implements MeterBinder {
+
+  public static final String USER_SERVICE = "user-service";
+  public static final String POST_SERVICE = "post-service";
+
+  private static final String ASYNC = "-async";
+
+  private final CircuitBreakerRegistry circuitBreakers;
+  private final BulkheadRegistry bulkheads;
+  private final CloseableHttpClient httpClient;
+  private final CloseableHttpAsyncClient asyncHttpClient;
+
+  public Downstreams(CloseableHttpClient httpClient, CloseableHttpAsyncClient asyncHttpClient,
+      @Value("${downstream.circuit.window-size:50}") int windowSize,
+      @Value("${downstream.circuit.minimum-calls:20}") int minimumCalls,
+      @Value("${downstream.circuit.failure-rate-threshold:50}") float failureRateThreshold,
+      @Value("${downstream.circuit.open-wait-ms:10000}") long openWaitMs,
+      @Value("${downstream.circuit.half-open-calls:5}") int halfOpenCalls,
+      @Value("${downstream.bulkhead.max-concurrent-calls:40}") int maxConcurrentCalls,
+      @Value("${downstream.bulkhead.max-concurrent-async-calls:10000}")
+      int maxConcurrentAsyncCalls) {
+    this.httpClient = httpClient;
+    this.asyncHttpClient = asyncHttpClient;
+    this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+        .slidingWindow(windowSize, minimumCalls, SlidingWindowType.COUNT_BASED)
+        .failureRateThreshold(failureRateThreshold)
+        .waitDurationInOpenState(Duration.ofMillis(openWaitMs))
+        .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+        .writableStackTraceEnabled(false)
+        .build());
+    this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+        .maxConcurrentCalls(maxConcurrentCalls)
+        .maxWaitDuration(Duration.ZERO)
+        .writableStackTraceEnabled(false)
+        .build());
+    circuitBreakers.circuitBreaker(USER_SERVICE);
+    circuitBreakers.circuitBreaker(POST_SERVICE);
+    bulkheads.bulkhead(USER_SERVICE);
+    bulkheads.bulkhead(POST_SERVICE);
+    BulkheadConfig asyncBulkhead = BulkheadConfig.from(bulkheads.getDefaultConfig())
+        .maxConcurrentCalls(maxConcurrentAsyncCalls)
+        .build();
+    bulkheads.bulkhead(USER_SERVICE + ASYNC, asyncBulkhead);
+    bulkheads.bulkhead(POST_SERVICE + ASYNC, asyncBulkhead);
+  }
+
+  /**
+   * Executes a request to a downstream service through its bulkhead and circuit breaker. The
+   * handler reads the response while the call still holds its bulkhead permit, and the response
+   * is consumed and released afterwards.
+   *
+   * @param downstream The name of the downstream service.
+   * @param request    The request to execute.
+   * @param handler    The handler reading the response.
+   * @param <T>        The type returned by the handler.
+   * @return The value returned by the handler.
+   * @throws IOException   if the request or the handler fails with an I/O error.
+   * @throws HttpException if the bulkhead is full or the circuit is open, with status 503.
+   */
+  public <T> T execute(String downstream, SimpleHttpRequest request,
+      HttpClientResponseHandler<? extends T> handler) throws IOException {
+    Bulkhead bulkhead = bulkheads.bulkhead(downstream);
+    CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(downstream);
+    try {
+      bulkhead.acquirePermission();
+    } catch (BulkheadFullException e) {
+      throw new HttpException(DOWNSTREAM_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+    try {
+      try {
+        circuitBreaker.acquirePermission();
+      } catch (CallNotPermittedException e) {
+        throw new HttpException(DOWNSTREAM_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value());
+      }
+      long start = System.nanoTime();
+      boolean[] recorded = new boolean[1];
+      try {
+        return httpClient.execute(toClassic(request), response -> {
+          int status = response.getCode();
+          long duration = System.nanoTime() - start;
+          recorded[0] = true;
+          if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                new HttpException(DOWNSTREAM_UNAVAILABLE, status));
+          } else {
+            circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+          }
+          return handler.handleResponse(response);
+        });
+      } catch (IOException | RuntimeException e) {
+        if (!recorded[0]) {
+          circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+        }
+        throw e;
+      }
+    } finally {
+      bulkhead.onComplete();
+    }
+  }
+
+  /**
+   * Executes a request to a downstream service without blocking, through its asynchronous
+   * bulkhead and its circuit breaker. The handler reads the response on the I/O thread that
+   * received it, after the bulkhead permit is released, so it must not block.
+   *
+   * @param downstream The name of the downstream service.
+   * @param request    The request to execute.
+   * @param handler    The handler reading the response.
+   * @param <T>        The type returned by the handler.
+   * @return A future of the value returned by the handler. It fails with an HttpException of
+   *     status 503 if the bulkhead is full or the circuit is open. Cancelling it cancels the
+   *     request and releases its permits.
+   */
+  public <T> CompletableFuture<T> executeAsync(String downstream, SimpleHttpRequest request,
+      AsyncResponseHandler<? extends T> handler) {
+    Bulkhead bulkhead = bulkheads.bulkhead(downstream + ASYNC);
+    CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(downstream);
+    if (!bulkhead.tryAcquirePermission()) {
+      return CompletableFuture.failedFuture(
+          new HttpException(DOWNSTREAM_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+    if (!circuitBreaker.tryAcquirePermission()) {
+      bulkhead.onComplete();
+      return CompletableFuture.failedFuture(
+          new HttpException(DOWNSTREAM_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+    long start = System.nanoTime();
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<SimpleHttpResponse> call = asyncHttpClient.execute(request, new FutureCallback<>() {
+      @Override
+      public void completed(SimpleHttpResponse response) {
+        long duration = System.nanoTime() - start;
+        if (response.getCode() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+          circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+              new HttpException(DOWNSTREAM_UNAVAILABLE, response.getCode()));
+        } else {
+          circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+        }
+        bulkhead.onComplete();
+        try {
+          result.complete(handler.handleResponse(response));
+        } catch (Exception e) {
+          result.completeExceptionally(e);
+        }
+      }
+
+      @Override
+      public void failed(Exception e) {
+        circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+        bulkhead.onComplete();
+        result.completeExceptionally(e);
+      }
+
+      @Override
+      public void cancelled() {
+        circuitBreaker.releasePermission();
+        bulkhead.onComplete();
+        result.cancel(false);
+      }
+    });
+    result.whenComplete((value, failure) -> {
+      if (result.isCancelled()) {
+        call.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  private static ClassicHttpRequest toClassic(SimpleHttpRequest request) {
+    BasicClassicHttpRequest classic =
+        new BasicClassicHttpRequest(request.getMethod(), request.getPath());
+    classic.setScheme(request.getScheme());
+    classic.setAuthority(request.getAuthority());
+    classic.setHeaders(request.getHeaders());
+    SimpleBody body = request.getBody();
+    if (body != null) {
+      classic.setEntity(new ByteArrayEntity(body.getBodyBytes(), body.getContentType()));
+    }
+    return classic;
+  }
+
+  /**
+   * Returns the state of the circuit of a downstream service.
+   *
+   * @param downstream The name of the downstream service.
+   * @return The state of its circuit breaker.
+   */
+  public CircuitBreaker.State state(String downstream) {
+    return circuitBreakers.circuitBreaker(downstream).getState();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+    TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+    circuitBreakers.getAllCircuitBreakers().forEach(circuitBreaker -> circuitBreaker
+        .getEventPublisher()
+        .onStateTransition(event -> Counter.builder("downstream.circuit.transitions")
+            .description("State transitions of the circuit of a downstream service")
+            .tag("name", event.getCircuitBreakerName())
+            .tag("from", event.getStateTransition().getFromState().name())
+            .tag("to", event.getStateTransition().getToState().name())
+            .register(registry)
+            .increment()));
+  }
+
+  /**
+   * Reads the response of an asynchronous call.
+   *
+   * @param <T> The type of the value read.
+   */
+  @FunctionalInterface
+  public interface AsyncResponseHandler<T> {
+
+    /**
+     * Reads a fully received response.
+     *
+     * @param response The response of the downstream service.
+     * @return The value read.
+     * @throws IOException if the response cannot be read.
+     */
+    T handleResponse(SimpleHttpResponse response) throws IOException;
+  }
+}
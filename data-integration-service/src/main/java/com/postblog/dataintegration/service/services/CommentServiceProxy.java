@@ -1,23 +1,39 @@
 package com.postblog.dataintegration.service.services;
 
+import static com.postblog.dataintegration.service.coalescing.SingleFlight.COMMENTS;
+import static com.postblog.dataintegration.service.coalescing.SingleFlight.POST_COMMENTS;
+import static com.postblog.dataintegration.service.resilience.Downstreams.POST_SERVICE;
 import static com.postblog.dataintegration.service.utils.Constants.COMMENT_NOT_FOUND;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_CREATE_COMMENT;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_GET_COMMENTS;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_UPDATE_COMMENT;
+import static com.postblog.dataintegration.service.utils.Constants.NEXT_CURSOR_HEADER;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postblog.dataintegration.service.cache.ResponseCache;
+import com.postblog.dataintegration.service.coalescing.SingleFlight;
 import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.relay.ResponseRelay;
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.postblog.dataintegration.service.utils.Futures;
 import com.postblog.postservice.entities.CommentEntity;
 import com.postblog.postservice.entities.CommentResponse;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,50 +48,169 @@ public class CommentServiceProxy {
   @Value("${comment.service.url.with_id}")
   private String commentServiceUrlWithId;
 
+  @Value("${post.service.url}")
+  private String postServiceUrl;
+
+  @Value("${post.comments.page-size:100}")
+  private int commentsPageSize;
+
+  @Value("${post.comments.max-pages:10}")
+  private int commentsMaxPages;
+
+  @Autowired
+  private Downstreams downstreams;
+
+  @Autowired
+  private SingleFlight singleFlight;
+
+  @Autowired
+  private ResponseCache responseCache;
+
+  @Autowired
+  private ResponseRelay responseRelay;
+
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Retrieves comment details by ID.
+   * Retrieves comment details by ID. Concurrent calls for the same comment share one upstream
+   * call, and the last response is kept and revalidated by its ETag.
    *
    * @param commentId The ID of the comment to retrieve.
    * @return ResponseEntity containing the comment details if successful.
    * @throws HttpException if the request to retrieve comment details fails.
    */
   public ResponseEntity<CommentResponse> getCommentById(Long commentId) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpGet request = new HttpGet(commentServiceUrlWithId + "/" + commentId);
-      CloseableHttpResponse response = httpClient.execute(request);
-      String responseBody = EntityUtils.toString(response.getEntity());
-      CommentResponse commentResponse = objectMapper.readValue(responseBody, CommentResponse.class);
+    return singleFlight.call(COMMENTS, commentId, () -> fetchCommentById(commentId));
+  }
+
+  private ResponseEntity<CommentResponse> fetchCommentById(Long commentId) {
+    String uri = commentServiceUrlWithId + "/" + commentId;
+    try {
+      CommentResponse commentResponse = responseCache.get(POST_SERVICE, uri,
+          response -> objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              CommentResponse.class));
       return new ResponseEntity<>(commentResponse, HttpStatus.OK);
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_GET_COMMENTS, HttpStatus.NOT_FOUND.value());
     }
   }
 
+  /**
+   * Retrieves the comments of a post. Concurrent calls for the same post share one upstream call.
+   * The pages of the post service are followed by their cursor up to the configured number of
+   * pages; when comments remain beyond it, the cursor of the next page is returned in the
+   * X-Next-Cursor header.
+   *
+   * @param postId   The ID of the post whose comments are retrieved.
+   * @return ResponseEntity containing the comments of the post if successful.
+   * @throws HttpException if the request to retrieve the comments fails.
+   */
+  public ResponseEntity<List<CommentResponse>> getCommentsByPostId(Long postId) {
+    return singleFlight.call(POST_COMMENTS, postId, () -> fetchCommentsByPostId(postId));
+  }
+
+  private ResponseEntity<List<CommentResponse>> fetchCommentsByPostId(Long postId) {
+    try {
+      List<CommentResponse> comments = new ArrayList<>();
+      String cursor = null;
+      int pages = 0;
+      do {
+        CommentPage page = fetchCommentPage(postId, cursor);
+        comments.addAll(page.comments());
+        cursor = page.nextCursor();
+      } while (cursor != null && ++pages < commentsMaxPages);
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+      if (cursor != null) {
+        response.header(NEXT_CURSOR_HEADER, cursor);
+      }
+      return response.body(comments);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_GET_COMMENTS, HttpStatus.NOT_FOUND.value());
+    }
+  }
+
+  private CommentPage fetchCommentPage(Long postId, String cursor) throws IOException {
+    String uri = postServiceUrl + "/" + postId + "/comments?size=" + commentsPageSize;
+    if (cursor != null) {
+      uri += "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+    SimpleHttpRequest request = SimpleRequestBuilder.get(uri).build();
+    return downstreams.execute(POST_SERVICE, request, response -> {
+      Header nextCursor = response.getFirstHeader(NEXT_CURSOR_HEADER);
+      return new CommentPage(
+          objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              new TypeReference<List<CommentResponse>>() {
+              }),
+          nextCursor == null ? null : nextCursor.getValue());
+    });
+  }
+
   /**
    * Creates a new comment.
    *
-   * @param comment The comment entity to create.
+   * @param comment  The comment entity to create.
    * @return ResponseEntity containing the created comment details if successful.
    * @throws HttpException if the request to create the comment fails.
    */
   public ResponseEntity<CommentResponse> createComment(CommentEntity comment) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpPost request = new HttpPost(commentServiceUrl);
-      StringEntity entity = new StringEntity(objectMapper.writeValueAsString(comment));
-      request.setEntity(entity);
-      request.setHeader("Accept", "application/json");
-      request.setHeader("Content-type", "application/json");
-      CloseableHttpResponse response = httpClient.execute(request);
-      String responseBody = EntityUtils.toString(response.getEntity());
-      CommentResponse commentResponse = objectMapper.readValue(responseBody, CommentResponse.class);
+    try {
+      SimpleHttpRequest request = newJsonRequest(Method.POST, commentServiceUrl, comment);
+      CommentResponse commentResponse = downstreams.execute(POST_SERVICE, request,
+          response -> objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              CommentResponse.class));
       return new ResponseEntity<>(commentResponse, HttpStatus.CREATED);
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_CREATE_COMMENT, HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
   }
 
+  /**
+   * Relays a comment to the client as the post service sends it, without parsing it.
+   *
+   * @param commentId The ID of the comment to retrieve.
+   * @param request  The client request, whose conditional headers are forwarded.
+   * @param response The client response.
+   * @throws HttpException if the post service cannot be reached.
+   */
+  public void relayCommentById(Long commentId, HttpServletRequest request,
+      HttpServletResponse response) {
+    try {
+      String uri = commentServiceUrlWithId + "/" + commentId;
+      SimpleHttpRequest upstream = SimpleRequestBuilder.get(uri).build();
+      responseRelay.relay(POST_SERVICE, upstream, request, response);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_GET_COMMENTS, HttpStatus.BAD_GATEWAY.value());
+    }
+  }
+
+  /**
+   * Creates a new comment and relays the response of the post service to the client, unparsed.
+   *
+   * @param comment  The comment entity to create.
+   * @param request  The client request, whose conditional headers are forwarded.
+   * @param response The client response.
+   * @throws HttpException if the post service cannot be reached.
+   */
+  public void relayCreateComment(CommentEntity comment, HttpServletRequest request,
+      HttpServletResponse response) {
+    try {
+      SimpleHttpRequest upstream = newJsonRequest(Method.POST, commentServiceUrl, comment);
+      responseRelay.relay(POST_SERVICE, upstream, request, response);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_CREATE_COMMENT, HttpStatus.BAD_GATEWAY.value());
+    }
+  }
+
   /**
    * Updates an existing comment by ID.
    *
@@ -85,14 +220,13 @@ public class CommentServiceProxy {
    * @throws HttpException if the request to update the comment fails.
    */
   public ResponseEntity<Void> updateComment(Long commentId, CommentEntity comment) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpPut request = new HttpPut(commentServiceUrlWithId + "/" + commentId);
-      StringEntity entity = new StringEntity(objectMapper.writeValueAsString(comment));
-      request.setEntity(entity);
-      request.setHeader("Accept", "application/json");
-      request.setHeader("Content-type", "application/json");
-      httpClient.execute(request);
+    try {
+      String uri = commentServiceUrlWithId + "/" + commentId;
+      SimpleHttpRequest request = newJsonRequest(Method.PUT, uri, comment);
+      downstreams.execute(POST_SERVICE, request, response -> null);
       return ResponseEntity.ok().build();
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_UPDATE_COMMENT, HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
@@ -106,12 +240,124 @@ public class CommentServiceProxy {
    * @throws HttpException if the request to delete the comment fails.
    */
   public ResponseEntity<Void> deleteComment(Long commentId) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpDelete request = new HttpDelete(commentServiceUrlWithId + "/" + commentId);
-      httpClient.execute(request);
+    try {
+      String uri = commentServiceUrlWithId + "/" + commentId;
+      SimpleHttpRequest request = SimpleRequestBuilder.delete(uri).build();
+      downstreams.execute(POST_SERVICE, request, response -> null);
       return ResponseEntity.ok().build();
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(COMMENT_NOT_FOUND, HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
   }
+
+  /**
+   * Retrieves comment details by ID without blocking the calling thread. Concurrent calls for the
+   * same comment, blocking or not, share one upstream call, and the last response is revalidated
+   * by its ETag.
+   *
+   * @param commentId The ID of the comment to retrieve.
+   * @return A future of the ResponseEntity containing the comment details, failing with an
+   *     HttpException if the request to retrieve comment details fails.
+   */
+  public CompletableFuture<ResponseEntity<CommentResponse>> getCommentByIdAsync(Long commentId) {
+    return singleFlight.callAsync(COMMENTS, commentId, () -> fetchCommentByIdAsync(commentId));
+  }
+
+  private CompletableFuture<ResponseEntity<CommentResponse>> fetchCommentByIdAsync(Long commentId) {
+    String uri = commentServiceUrlWithId + "/" + commentId;
+    CompletableFuture<CommentResponse> call = responseCache.getAsync(POST_SERVICE, uri,
+        response -> objectMapper.readValue(response.getBodyText(), CommentResponse.class));
+    return Futures.cancelling(call
+        .thenApply(commentResponse -> new ResponseEntity<>(commentResponse, HttpStatus.OK))
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_GET_COMMENTS, HttpStatus.NOT_FOUND.value());
+        }), call);
+  }
+
+  /**
+   * Creates a new comment without blocking the calling thread.
+   *
+   * @param comment  The comment entity to create.
+   * @return A future of the ResponseEntity containing the created comment details, failing with an
+   *     HttpException if the request to create the comment fails.
+   */
+  public CompletableFuture<ResponseEntity<CommentResponse>> createCommentAsync(
+      CommentEntity comment) {
+    CompletableFuture<CommentResponse> call;
+    try {
+      SimpleHttpRequest request = newJsonRequest(Method.POST, commentServiceUrl, comment);
+      call = downstreams.executeAsync(POST_SERVICE, request,
+          response -> objectMapper.readValue(response.getBodyText(), CommentResponse.class));
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call
+        .thenApply(commentResponse -> new ResponseEntity<>(commentResponse, HttpStatus.CREATED))
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_CREATE_COMMENT,
+              HttpStatus.INTERNAL_SERVER_ERROR.value());
+        });
+  }
+
+  /**
+   * Updates an existing comment by ID without blocking the calling thread.
+   *
+   * @param commentId The ID of the comment to update.
+   * @param comment  The updated comment entity.
+   * @return A future of the ResponseEntity with no content, failing with an HttpException if the
+   *     request to update the comment fails.
+   */
+  public CompletableFuture<ResponseEntity<Void>> updateCommentAsync(Long commentId,
+      CommentEntity comment) {
+    CompletableFuture<Object> call;
+    try {
+      String uri = commentServiceUrlWithId + "/" + commentId;
+      SimpleHttpRequest request = newJsonRequest(Method.PUT, uri, comment);
+      call = downstreams.executeAsync(POST_SERVICE, request, response -> null);
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(ignored -> ResponseEntity.ok().<Void>build())
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_UPDATE_COMMENT,
+              HttpStatus.INTERNAL_SERVER_ERROR.value());
+        });
+  }
+
+  /**
+   * Deletes a comment by ID without blocking the calling thread.
+   *
+   * @param commentId The ID of the comment to delete.
+   * @return A future of the ResponseEntity with no content, failing with an HttpException if the
+   *     request to delete the comment fails.
+   */
+  public CompletableFuture<ResponseEntity<Void>> deleteCommentAsync(Long commentId) {
+    CompletableFuture<Object> call;
+    try {
+      String uri = commentServiceUrlWithId + "/" + commentId;
+      SimpleHttpRequest request = SimpleRequestBuilder.delete(uri).build();
+      call = downstreams.executeAsync(POST_SERVICE, request, response -> null);
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(ignored -> ResponseEntity.ok().<Void>build())
+        .exceptionally(e -> {
+          throw HttpException.of(e, COMMENT_NOT_FOUND, HttpStatus.INTERNAL_SERVER_ERROR.value());
+        });
+  }
+
+  private SimpleHttpRequest newJsonRequest(Method method, String uri, Object body)
+      throws IOException {
+    return SimpleRequestBuilder.create(method)
+        .setUri(uri)
+        .setHeader("Accept", "application/json")
+        .setBody(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON)
+        .build();
+  }
+
+  private record CommentPage(List<CommentResponse> comments, String nextCursor) {
+
+  }
 }
@@ -0,0 +1,178 @@
+package com.postblog.dataintegration.service.services;
+
+import static com.postblog.dataintegration.service.utils.Constants.COMMENTS_TRUNCATED;
+import static com.postblog.dataintegration.service.utils.Constants.DOWNSTREAM_UNAVAILABLE;
+import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_GET_POSTS;
+import static com.postblog.dataintegration.service.utils.Constants.MISSING_AUTHOR;
+import static com.postblog.dataintegration.service.utils.Constants.MISSING_COMMENTS;
+import static com.postblog.dataintegration.service.utils.Constants.NEXT_CURSOR_HEADER;
+import static com.postblog.dataintegration.service.utils.Constants.POST_DETAILS_TIMEOUT;
+
+import com.postblog.dataintegration.service.entities.PostDetailsResponse;
+import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.utils.Futures;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.userservice.entities.UserResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service composing the post page from the post, comment and user proxies.
+ */
+@Service
+public class PostDetailsService {
+
+  @Autowired
+  private PostServiceProxy postServiceProxy;
+
+  @Autowired
+  private CommentServiceProxy commentServiceProxy;
+
+  @Autowired
+  private UserServiceProxy userServiceProxy;
+
+  @Autowired
+  @Qualifier("proxyExecutor")
+  private ExecutorService proxyExecutor;
+
+  @Value("${post.details.call-deadline-ms:2000}")
+  private long callDeadline;
+
+  /**
+   * Retrieves a post together with its comments and the comment authors. The post and its
+   * comments are fetched concurrently, then all authors are fetched concurrently. A failed or late
+   * comment or author call does not fail the page: the part is left out and reported in
+   * {@code missing}, as are comments beyond the pages the comment proxy follows.
+   *
+   * <p>The post and the authors are read through the asynchronous proxies, so a call past its
+   * deadline is cancelled along with its exchange. The comments follow several pages on the
+   * blocking client and run on the proxy executor; when it is saturated they are reported missing
+   * at once, and a late one is interrupted.
+   *
+   * @param postId The ID of the post.
+   * @return The post details.
+   * @throws HttpException if the post itself cannot be retrieved.
+   */
+  public PostDetailsResponse getPostDetails(Long postId) {
+    List<String> missing = new CopyOnWriteArrayList<>();
+
+    CompletableFuture<PostResponse> post = withDeadline(postServiceProxy.getPostByIdAsync(postId))
+        .thenApply(ResponseEntity::getBody);
+    CompletableFuture<List<CommentResponse>> comments = submit(
+        () -> commentServiceProxy.getCommentsByPostId(postId))
+        .thenApply(response -> {
+          if (response.getHeaders().containsKey(NEXT_CURSOR_HEADER)) {
+            missing.add(COMMENTS_TRUNCATED);
+          }
+          return response.getBody() == null ? List.<CommentResponse>of() : response.getBody();
+        })
+        .exceptionally(e -> {
+          missing.add(MISSING_COMMENTS);
+          return List.of();
+        });
+    CompletableFuture<Map<Long, UserResponse>> authors = comments
+        .thenCompose(commentList -> getAuthors(commentList, missing));
+
+    PostResponse postResponse;
+    try {
+      postResponse = post.join();
+    } catch (CompletionException e) {
+      throw toHttpException(e.getCause());
+    }
+
+    return PostDetailsResponse.builder()
+        .post(postResponse)
+        .comments(comments.join())
+        .authors(authors.join())
+        .missing(List.copyOf(missing))
+        .build();
+  }
+
+  private CompletableFuture<Map<Long, UserResponse>> getAuthors(List<CommentResponse> comments,
+      List<String> missing) {
+    Map<Long, CompletableFuture<UserResponse>> calls = new LinkedHashMap<>();
+    comments.stream()
+        .map(CommentResponse::getAuthorId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(authorId -> calls.put(authorId,
+            withDeadline(userServiceProxy.getUserByIdAsync(authorId))
+                .thenApply(ResponseEntity::getBody)
+                .exceptionally(e -> {
+                  missing.add(MISSING_AUTHOR + authorId);
+                  return null;
+                })));
+
+    return CompletableFuture.allOf(calls.values().toArray(new CompletableFuture[0]))
+        .thenApply(done -> {
+          Map<Long, UserResponse> authors = new LinkedHashMap<>();
+          calls.forEach((authorId, user) -> {
+            UserResponse userResponse = user.join();
+            if (userResponse != null) {
+              authors.put(authorId, userResponse);
+            }
+          });
+          return authors;
+        });
+  }
+
+  private <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<?> task;
+    try {
+      task = proxyExecutor.submit(() -> {
+        try {
+          result.complete(supplier.get());
+        } catch (RuntimeException | Error e) {
+          result.completeExceptionally(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(
+          new HttpException(DOWNSTREAM_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+    return withDeadline(Futures.cancelling(result, task));
+  }
+
+  /**
+   * Fails a copy of a call with a TimeoutException once the deadline passes, and then cancels the
+   * call itself.
+   */
+  private <T> CompletableFuture<T> withDeadline(CompletableFuture<T> call) {
+    CompletableFuture<T> deadline = call.copy().orTimeout(callDeadline, TimeUnit.MILLISECONDS);
+    deadline.whenComplete((value, failure) -> {
+      if (failure instanceof TimeoutException) {
+        call.cancel(true);
+      }
+    });
+    return deadline;
+  }
+
+  private HttpException toHttpException(Throwable cause) {
+    if (cause instanceof HttpException httpException) {
+      return httpException;
+    }
+    if (cause instanceof TimeoutException) {
+      return new HttpException(POST_DETAILS_TIMEOUT, HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+    return new HttpException(FAILED_TO_GET_POSTS, HttpStatus.BAD_GATEWAY.value());
+  }
+}
@@ -1,23 +1,31 @@
 package com.postblog.dataintegration.service.services;
 
+import static com.postblog.dataintegration.service.coalescing.SingleFlight.POSTS;
+import static com.postblog.dataintegration.service.resilience.Downstreams.POST_SERVICE;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_CREATE_POST;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_GET_POSTS;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_UPDATE_POST;
 import static com.postblog.dataintegration.service.utils.Constants.POST_NOT_FOUND;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postblog.dataintegration.service.cache.ResponseCache;
+import com.postblog.dataintegration.service.coalescing.SingleFlight;
 import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.relay.ResponseRelay;
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.postblog.dataintegration.service.utils.Futures;
 import com.postblog.postservice.entities.PostEntity;
 import com.postblog.postservice.entities.PostResponse;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,22 +40,41 @@ public class PostServiceProxy {
   @Value("${post.service.url.with_id}")
   private String postServiceUrlWithId;
 
+  @Autowired
+  private Downstreams downstreams;
+
+  @Autowired
+  private SingleFlight singleFlight;
+
+  @Autowired
+  private ResponseCache responseCache;
+
+  @Autowired
+  private ResponseRelay responseRelay;
+
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Retrieves post details by ID.
+   * Retrieves post details by ID. Concurrent calls for the same post share one upstream call, and
+   * the last response is kept and revalidated by its ETag.
    *
-   * @param postId The ID of the post to retrieve.
+   * @param postId   The ID of the post to retrieve.
    * @return ResponseEntity containing the post details if successful.
    * @throws HttpException if the request to retrieve post details fails.
    */
   public ResponseEntity<PostResponse> getPostById(Long postId) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpGet request = new HttpGet(postServiceUrlWithId + "/" + postId);
-      CloseableHttpResponse response = httpClient.execute(request);
-      String responseBody = EntityUtils.toString(response.getEntity());
-      PostResponse postResponse = objectMapper.readValue(responseBody, PostResponse.class);
+    return singleFlight.call(POSTS, postId, () -> fetchPostById(postId));
+  }
+
+  private ResponseEntity<PostResponse> fetchPostById(Long postId) {
+    String uri = postServiceUrlWithId + "/" + postId;
+    try {
+      PostResponse postResponse = responseCache.get(POST_SERVICE, uri,
+          response -> objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              PostResponse.class));
       return new ResponseEntity<>(postResponse, HttpStatus.OK);
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_GET_POSTS, HttpStatus.NOT_FOUND.value());
     }
@@ -56,43 +83,81 @@ public class PostServiceProxy {
   /**
    * Creates a new post.
    *
-   * @param post The post entity to create.
+   * @param post     The post entity to create.
    * @return ResponseEntity containing the created post details if successful.
    * @throws HttpException if the request to create the post fails.
    */
   public ResponseEntity<PostResponse> createPost(PostEntity post) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpPost request = new HttpPost(postServiceUrl);
-      StringEntity entity = new StringEntity(objectMapper.writeValueAsString(post));
-      request.setEntity(entity);
-      request.setHeader("Accept", "application/json");
-      request.setHeader("Content-type", "application/json");
-      CloseableHttpResponse response = httpClient.execute(request);
-      String responseBody = EntityUtils.toString(response.getEntity());
-      PostResponse postResponse = objectMapper.readValue(responseBody, PostResponse.class);
+    try {
+      SimpleHttpRequest request = newJsonRequest(Method.POST, postServiceUrl, post);
+      PostResponse postResponse = downstreams.execute(POST_SERVICE, request,
+          response -> objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              PostResponse.class));
       return new ResponseEntity<>(postResponse, HttpStatus.CREATED);
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_CREATE_POST, HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
   }
 
+  /**
+   * Relays a post to the client as the post service sends it, without parsing it.
+   *
+   * @param postId   The ID of the post to retrieve.
+   * @param request  The client request, whose conditional headers are forwarded.
+   * @param response The client response.
+   * @throws HttpException if the post service cannot be reached.
+   */
+  public void relayPostById(Long postId, HttpServletRequest request,
+      HttpServletResponse response) {
+    try {
+      String uri = postServiceUrlWithId + "/" + postId;
+      SimpleHttpRequest upstream = SimpleRequestBuilder.get(uri).build();
+      responseRelay.relay(POST_SERVICE, upstream, request, response);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_GET_POSTS, HttpStatus.BAD_GATEWAY.value());
+    }
+  }
+
+  /**
+   * Creates a new post and relays the response of the post service to the client, unparsed.
+   *
+   * @param post     The post entity to create.
+   * @param request  The client request, whose conditional headers are forwarded.
+   * @param response The client response.
+   * @throws HttpException if the post service cannot be reached.
+   */
+  public void relayCreatePost(PostEntity post, HttpServletRequest request,
+      HttpServletResponse response) {
+    try {
+      SimpleHttpRequest upstream = newJsonRequest(Method.POST, postServiceUrl, post);
+      responseRelay.relay(POST_SERVICE, upstream, request, response);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_CREATE_POST, HttpStatus.BAD_GATEWAY.value());
+    }
+  }
+
   /**
    * Updates an existing post by ID.
    *
-   * @param postId The ID of the post to update.
+   * @param postId   The ID of the post to update.
    * @param post   The updated post entity.
    * @return ResponseEntity with no content if the update is successful.
    * @throws HttpException if the request to update the post fails.
    */
   public ResponseEntity<Void> updatePost(Long postId, PostEntity post) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpPut request = new HttpPut(postServiceUrlWithId + "/" + postId);
-      StringEntity entity = new StringEntity(objectMapper.writeValueAsString(post));
-      request.setEntity(entity);
-      request.setHeader("Accept", "application/json");
-      request.setHeader("Content-type", "application/json");
-      httpClient.execute(request);
+    try {
+      String uri = postServiceUrlWithId + "/" + postId;
+      SimpleHttpRequest request = newJsonRequest(Method.PUT, uri, post);
+      downstreams.execute(POST_SERVICE, request, response -> null);
       return ResponseEntity.ok().build();
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_UPDATE_POST, HttpStatus.NOT_FOUND.value());
     }
@@ -101,17 +166,121 @@ public class PostServiceProxy {
   /**
    * Deletes a post by ID.
    *
-   * @param postId The ID of the post to delete.
+   * @param postId   The ID of the post to delete.
    * @return ResponseEntity with no content if deletion is successful.
    * @throws HttpException if the request to delete the post fails.
    */
   public ResponseEntity<Void> deletePost(Long postId) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpDelete request = new HttpDelete(postServiceUrlWithId + "/" + postId);
-      httpClient.execute(request);
+    try {
+      String uri = postServiceUrlWithId + "/" + postId;
+      SimpleHttpRequest request = SimpleRequestBuilder.delete(uri).build();
+      downstreams.execute(POST_SERVICE, request, response -> null);
       return ResponseEntity.ok().build();
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(POST_NOT_FOUND, HttpStatus.NOT_FOUND.value());
     }
   }
+
+  /**
+   * Retrieves post details by ID without blocking the calling thread. Concurrent calls for the same
+   * post, blocking or not, share one upstream call, and the last response is revalidated by its
+   * ETag.
+   *
+   * @param postId   The ID of the post to retrieve.
+   * @return A future of the ResponseEntity containing the post details, failing with an
+   *     HttpException if the request to retrieve post details fails.
+   */
+  public CompletableFuture<ResponseEntity<PostResponse>> getPostByIdAsync(Long postId) {
+    return singleFlight.callAsync(POSTS, postId, () -> fetchPostByIdAsync(postId));
+  }
+
+  private CompletableFuture<ResponseEntity<PostResponse>> fetchPostByIdAsync(Long postId) {
+    CompletableFuture<PostResponse> call = responseCache.getAsync(POST_SERVICE,
+        postServiceUrlWithId + "/" + postId,
+        response -> objectMapper.readValue(response.getBodyText(), PostResponse.class));
+    return Futures.cancelling(call
+        .thenApply(postResponse -> new ResponseEntity<>(postResponse, HttpStatus.OK))
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_GET_POSTS, HttpStatus.NOT_FOUND.value());
+        }), call);
+  }
+
+  /**
+   * Creates a new post without blocking the calling thread.
+   *
+   * @param post     The post entity to create.
+   * @return A future of the ResponseEntity containing the created post details, failing with an
+   *     HttpException if the request to create the post fails.
+   */
+  public CompletableFuture<ResponseEntity<PostResponse>> createPostAsync(PostEntity post) {
+    CompletableFuture<PostResponse> call;
+    try {
+      SimpleHttpRequest request = newJsonRequest(Method.POST, postServiceUrl, post);
+      call = downstreams.executeAsync(POST_SERVICE, request,
+          response -> objectMapper.readValue(response.getBodyText(), PostResponse.class));
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(postResponse -> new ResponseEntity<>(postResponse, HttpStatus.CREATED))
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_CREATE_POST,
+              HttpStatus.INTERNAL_SERVER_ERROR.value());
+        });
+  }
+
+  /**
+   * Updates an existing post by ID without blocking the calling thread.
+   *
+   * @param postId   The ID of the post to update.
+   * @param post     The updated post entity.
+   * @return A future of the ResponseEntity with no content, failing with an HttpException if the
+   *     request to update the post fails.
+   */
+  public CompletableFuture<ResponseEntity<Void>> updatePostAsync(Long postId, PostEntity post) {
+    CompletableFuture<Object> call;
+    try {
+      String uri = postServiceUrlWithId + "/" + postId;
+      SimpleHttpRequest request = newJsonRequest(Method.PUT, uri, post);
+      call = downstreams.executeAsync(POST_SERVICE, request, response -> null);
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(ignored -> ResponseEntity.ok().<Void>build())
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_UPDATE_POST, HttpStatus.NOT_FOUND.value());
+        });
+  }
+
+  /**
+   * Deletes a post by ID without blocking the calling thread.
+   *
+   * @param postId   The ID of the post to delete.
+   * @return A future of the ResponseEntity with no content, failing with an HttpException if the
+   *     request to delete the post fails.
+   */
+  public CompletableFuture<ResponseEntity<Void>> deletePostAsync(Long postId) {
+    CompletableFuture<Object> call;
+    try {
+      String uri = postServiceUrlWithId + "/" + postId;
+      SimpleHttpRequest request = SimpleRequestBuilder.delete(uri).build();
+      call = downstreams.executeAsync(POST_SERVICE, request, response -> null);
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(ignored -> ResponseEntity.ok().<Void>build())
+        .exceptionally(e -> {
+          throw HttpException.of(e, POST_NOT_FOUND, HttpStatus.NOT_FOUND.value());
+        });
+  }
+
+  private SimpleHttpRequest newJsonRequest(Method method, String uri, Object body)
+      throws IOException {
+    return SimpleRequestBuilder.create(method)
+        .setUri(uri)
+        .setHeader("Accept", "application/json")
+        .setBody(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON)
+        .build();
+  }
 }
@@ -1,23 +1,31 @@
 package com.postblog.dataintegration.service.services;
 
+import static com.postblog.dataintegration.service.coalescing.SingleFlight.USERS;
+import static com.postblog.dataintegration.service.resilience.Downstreams.USER_SERVICE;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_CREATE_USER;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_GET_USERS;
 import static com.postblog.dataintegration.service.utils.Constants.FAILED_TO_UPDATE_USER;
 import static com.postblog.dataintegration.service.utils.Constants.USER_NOT_FOUND;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postblog.dataintegration.service.cache.ResponseCache;
+import com.postblog.dataintegration.service.coalescing.SingleFlight;
 import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.relay.ResponseRelay;
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.postblog.dataintegration.service.utils.Futures;
 import com.postblog.userservice.entities.UserEntity;
 import com.postblog.userservice.entities.UserResponse;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpDelete;
-import org.apache.http.client.methods.HttpGet;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.client.methods.HttpPut;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -35,22 +43,41 @@ public class UserServiceProxy {
   @Value("${user.service.url.with_id}")
   private String userServiceUrlWithId;
 
+  @Autowired
+  private Downstreams downstreams;
+
+  @Autowired
+  private SingleFlight singleFlight;
+
+  @Autowired
+  private ResponseCache responseCache;
+
+  @Autowired
+  private ResponseRelay responseRelay;
+
   private final ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Retrieves user details by ID.
+   * Retrieves user details by ID. Concurrent calls for the same user share one upstream call, and
+   * the last response is kept and revalidated by its ETag.
    *
-   * @param userId The ID of the user to retrieve.
+   * @param userId   The ID of the user to retrieve.
    * @return ResponseEntity containing the user details if successful.
    * @throws HttpException if the request to retrieve user details fails.
    */
   public ResponseEntity<UserResponse> getUserById(Long userId) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpGet request = new HttpGet(userServiceUrlWithId + "/" + userId);
-      CloseableHttpResponse response = httpClient.execute(request);
-      String responseBody = EntityUtils.toString(response.getEntity());
-      UserResponse userResponse = objectMapper.readValue(responseBody, UserResponse.class);
+    return singleFlight.call(USERS, userId, () -> fetchUserById(userId));
+  }
+
+  private ResponseEntity<UserResponse> fetchUserById(Long userId) {
+    String uri = userServiceUrlWithId + "/" + userId;
+    try {
+      UserResponse userResponse = responseCache.get(USER_SERVICE, uri,
+          response -> objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              UserResponse.class));
       return new ResponseEntity<>(userResponse, HttpStatus.OK);
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_GET_USERS,HttpStatus.NOT_FOUND.value() );
     }
@@ -59,43 +86,81 @@ public class UserServiceProxy {
   /**
    * Creates a new user.
    *
-   * @param user The user entity to create.
+   * @param user     The user entity to create.
    * @return ResponseEntity containing the created user details if successful.
    * @throws HttpException if the request to create the user fails.
    */
   public ResponseEntity<UserResponse> createUser(UserEntity user) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpPost request = new HttpPost(userServiceUrl);
-      StringEntity entity = new StringEntity(objectMapper.writeValueAsString(user));
-      request.setEntity(entity);
-      request.setHeader("Accept", "application/json");
-      request.setHeader("Content-type", "application/json");
-      CloseableHttpResponse response = httpClient.execute(request);
-      String responseBody = EntityUtils.toString(response.getEntity());
-      UserResponse userResponse = objectMapper.readValue(responseBody, UserResponse.class);
+    try {
+      SimpleHttpRequest request = newJsonRequest(Method.POST, userServiceUrl, user);
+      UserResponse userResponse = downstreams.execute(USER_SERVICE, request,
+          response -> objectMapper.readValue(EntityUtils.toString(response.getEntity()),
+              UserResponse.class));
       return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_CREATE_USER, HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
   }
 
+  /**
+   * Relays a user to the client as the user service sends it, without parsing it.
+   *
+   * @param userId   The ID of the user to retrieve.
+   * @param request  The client request, whose conditional headers are forwarded.
+   * @param response The client response.
+   * @throws HttpException if the user service cannot be reached.
+   */
+  public void relayUserById(Long userId, HttpServletRequest request,
+      HttpServletResponse response) {
+    try {
+      String uri = userServiceUrlWithId + "/" + userId;
+      SimpleHttpRequest upstream = SimpleRequestBuilder.get(uri).build();
+      responseRelay.relay(USER_SERVICE, upstream, request, response);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_GET_USERS, HttpStatus.BAD_GATEWAY.value());
+    }
+  }
+
+  /**
+   * Creates a new user and relays the response of the user service to the client, unparsed.
+   *
+   * @param user     The user entity to create.
+   * @param request  The client request, whose conditional headers are forwarded.
+   * @param response The client response.
+   * @throws HttpException if the user service cannot be reached.
+   */
+  public void relayCreateUser(UserEntity user, HttpServletRequest request,
+      HttpServletResponse response) {
+    try {
+      SimpleHttpRequest upstream = newJsonRequest(Method.POST, userServiceUrl, user);
+      responseRelay.relay(USER_SERVICE, upstream, request, response);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_CREATE_USER, HttpStatus.BAD_GATEWAY.value());
+    }
+  }
+
   /**
    * Updates an existing user by ID.
    *
-   * @param userId The ID of the user to update.
+   * @param userId   The ID of the user to update.
    * @param user   The updated user entity.
    * @return ResponseEntity with no content if the update is successful.
    * @throws HttpException if the request to update the user fails.
    */
   public ResponseEntity<Void> updateUser(Long userId, UserEntity user) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpPut request = new HttpPut(userServiceUrlWithId + "/" + userId);
-      StringEntity entity = new StringEntity(objectMapper.writeValueAsString(user));
-      request.setEntity(entity);
-      request.setHeader("Accept", "application/json");
-      request.setHeader("Content-type", "application/json");
-      httpClient.execute(request);
+    try {
+      String uri = userServiceUrlWithId + "/" + userId;
+      SimpleHttpRequest request = newJsonRequest(Method.PUT, uri, user);
+      downstreams.execute(USER_SERVICE, request, response -> null);
       return ResponseEntity.ok().build();
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_UPDATE_USER, HttpStatus.NOT_FOUND.value());
     }
@@ -104,17 +169,121 @@ public class UserServiceProxy {
   /**
    * Deletes a user by ID.
    *
-   * @param userId The ID of the user to delete.
+   * @param userId   The ID of the user to delete.
    * @return ResponseEntity with no content if deletion is successful.
    * @throws HttpException if the request to delete the user fails.
    */
   public ResponseEntity<Void> deleteUser(Long userId) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpDelete request = new HttpDelete(userServiceUrlWithId + "/" + userId);
-      httpClient.execute(request);
+    try {
+      String uri = userServiceUrlWithId + "/" + userId;
+      SimpleHttpRequest request = SimpleRequestBuilder.delete(uri).build();
+      downstreams.execute(USER_SERVICE, request, response -> null);
       return ResponseEntity.ok().build();
+    } catch (HttpException e) {
+      throw e;
     } catch (Exception e) {
       throw new HttpException(USER_NOT_FOUND, HttpStatus.NOT_FOUND.value());
     }
   }
+
+  /**
+   * Retrieves user details by ID without blocking the calling thread. Concurrent calls for the same
+   * user, blocking or not, share one upstream call, and the last response is revalidated by its
+   * ETag.
+   *
+   * @param userId   The ID of the user to retrieve.
+   * @return A future of the ResponseEntity containing the user details, failing with an
+   *     HttpException if the request to retrieve user details fails.
+   */
+  public CompletableFuture<ResponseEntity<UserResponse>> getUserByIdAsync(Long userId) {
+    return singleFlight.callAsync(USERS, userId, () -> fetchUserByIdAsync(userId));
+  }
+
+  private CompletableFuture<ResponseEntity<UserResponse>> fetchUserByIdAsync(Long userId) {
+    CompletableFuture<UserResponse> call = responseCache.getAsync(USER_SERVICE,
+        userServiceUrlWithId + "/" + userId,
+        response -> objectMapper.readValue(response.getBodyText(), UserResponse.class));
+    return Futures.cancelling(call
+        .thenApply(userResponse -> new ResponseEntity<>(userResponse, HttpStatus.OK))
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_GET_USERS, HttpStatus.NOT_FOUND.value());
+        }), call);
+  }
+
+  /**
+   * Creates a new user without blocking the calling thread.
+   *
+   * @param user     The user entity to create.
+   * @return A future of the ResponseEntity containing the created user details, failing with an
+   *     HttpException if the request to create the user fails.
+   */
+  public CompletableFuture<ResponseEntity<UserResponse>> createUserAsync(UserEntity user) {
+    CompletableFuture<UserResponse> call;
+    try {
+      SimpleHttpRequest request = newJsonRequest(Method.POST, userServiceUrl, user);
+      call = downstreams.executeAsync(USER_SERVICE, request,
+          response -> objectMapper.readValue(response.getBodyText(), UserResponse.class));
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(userResponse -> new ResponseEntity<>(userResponse, HttpStatus.CREATED))
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_CREATE_USER,
+              HttpStatus.INTERNAL_SERVER_ERROR.value());
+        });
+  }
+
+  /**
+   * Updates an existing user by ID without blocking the calling thread.
+   *
+   * @param userId   The ID of the user to update.
+   * @param user     The updated user entity.
+   * @return A future of the ResponseEntity with no content, failing with an HttpException if the
+   *     request to update the user fails.
+   */
+  public CompletableFuture<ResponseEntity<Void>> updateUserAsync(Long userId, UserEntity user) {
+    CompletableFuture<Object> call;
+    try {
+      String uri = userServiceUrlWithId + "/" + userId;
+      SimpleHttpRequest request = newJsonRequest(Method.PUT, uri, user);
+      call = downstreams.executeAsync(USER_SERVICE, request, response -> null);
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(ignored -> ResponseEntity.ok().<Void>build())
+        .exceptionally(e -> {
+          throw HttpException.of(e, FAILED_TO_UPDATE_USER, HttpStatus.NOT_FOUND.value());
+        });
+  }
+
+  /**
+   * Deletes a user by ID without blocking the calling thread.
+   *
+   * @param userId   The ID of the user to delete.
+   * @return A future of the ResponseEntity with no content, failing with an HttpException if the
+   *     request to delete the user fails.
+   */
+  public CompletableFuture<ResponseEntity<Void>> deleteUserAsync(Long userId) {
+    CompletableFuture<Object> call;
+    try {
+      String uri = userServiceUrlWithId + "/" + userId;
+      SimpleHttpRequest request = SimpleRequestBuilder.delete(uri).build();
+      call = downstreams.executeAsync(USER_SERVICE, request, response -> null);
+    } catch (Exception e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+    return call.thenApply(ignored -> ResponseEntity.ok().<Void>build())
+        .exceptionally(e -> {
+          throw HttpException.of(e, USER_NOT_FOUND, HttpStatus.NOT_FOUND.value());
+        });
+  }
+
+  private SimpleHttpRequest newJsonRequest(Method method, String uri, Object body)
+      throws IOException {
+    return SimpleRequestBuilder.create(method)
+        .setUri(uri)
+        .setHeader("Accept", "application/json")
+        .setBody(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON)
+        .build();
+  }
 }
@@ -16,5 +16,11 @@ public class Constants {
   public static final String FAILED_TO_CREATE_USER = "Failed to create user";
   public static final String FAILED_TO_GET_USERS = "Failed to get users";
   public static final String FAILED_TO_UPDATE_USER = "Failed to update User";
+  public static final String POST_DETAILS_TIMEOUT = "Timed out getting post";
+  public static final String MISSING_COMMENTS = "comments";
+  public static final String MISSING_AUTHOR = "author:";
+  public static final String COMMENTS_TRUNCATED = "comments truncated";
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  public static final String DOWNSTREAM_UNAVAILABLE = "Service unavailable, try again later";
 }
 
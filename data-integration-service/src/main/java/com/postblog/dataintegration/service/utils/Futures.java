@@ -0,0 +1,29 @@
+package com.postblog.dataintegration.service.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+public final class Futures {
+
+  private Futures() {
+  }
+
+  /**
+   * Cancels a future when a future derived from it is cancelled. A future returned by thenApply or
+   * exceptionally does not pass its cancellation on to the future it was derived from.
+   *
+   * @param derived The derived future.
+   * @param source  The future it was derived from.
+   * @param <T>     The type of the derived future.
+   * @return The derived future.
+   */
+  public static <T> CompletableFuture<T> cancelling(CompletableFuture<T> derived,
+      Future<?> source) {
+    derived.whenComplete((value, failure) -> {
+      if (derived.isCancelled()) {
+        source.cancel(true);
+      }
+    });
+    return derived;
+  }
+}
@@ -0,0 +1,183 @@
+package com.postblog.dataintegration.service.cache;
+
+import static com.postblog.dataintegration.service.resilience.Downstreams.POST_SERVICE;
+
+import com.postblog.dataintegration.service.utils.DownstreamStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Test for the revalidated cache of downstream responses")
+class ResponseCacheTest {
+
+  private static final String NONE = "none";
+
+  private DownstreamStub stub;
+  private ResponseCache responseCache;
+  private SimpleMeterRegistry registry;
+  private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+  private final AtomicInteger reads = new AtomicInteger();
+  private volatile boolean unreadable;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new DownstreamStub();
+    responseCache = new ResponseCache(stub.downstreams(10, 10), 100, 60000);
+    registry = new SimpleMeterRegistry();
+    responseCache.bindTo(registry);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    stub.close();
+  }
+
+  @Test
+  @DisplayName("Test get sends the ETag of the kept response and returns it on a 304")
+  void testGet_returnsKeptValue_WhenNotModified() throws Exception {
+    testReturnsKeptValue_WhenNotModified(false);
+  }
+
+  @Test
+  @DisplayName("Test getAsync sends the ETag of the kept response and returns it on a 304")
+  void testGetAsync_returnsKeptValue_WhenNotModified() throws Exception {
+    testReturnsKeptValue_WhenNotModified(true);
+  }
+
+  @Test
+  @DisplayName("Test get replaces the kept response when a 200 brings a new ETag")
+  void testGet_replacesKeptValue_WhenModified() throws Exception {
+    testReplacesKeptValue_WhenModified(false);
+  }
+
+  @Test
+  @DisplayName("Test getAsync replaces the kept response when a 200 brings a new ETag")
+  void testGetAsync_replacesKeptValue_WhenModified() throws Exception {
+    testReplacesKeptValue_WhenModified(true);
+  }
+
+  @Test
+  @DisplayName("Test get drops the kept response when the service answers another status")
+  void testGet_dropsKeptValue_WhenServiceAnswersNot200() throws Exception {
+    testDropsKeptValue_WhenServiceAnswersNot200(false);
+  }
+
+  @Test
+  @DisplayName("Test getAsync drops the kept response when the service answers another status")
+  void testGetAsync_dropsKeptValue_WhenServiceAnswersNot200() throws Exception {
+    testDropsKeptValue_WhenServiceAnswersNot200(true);
+  }
+
+  @Test
+  @DisplayName("Test get drops the kept response when the reader fails on the answer")
+  void testGet_dropsKeptValue_WhenReaderFails() throws Exception {
+    testDropsKeptValue_WhenReaderFails(false);
+  }
+
+  @Test
+  @DisplayName("Test getAsync drops the kept response when the reader fails on the answer")
+  void testGetAsync_dropsKeptValue_WhenReaderFails() throws Exception {
+    testDropsKeptValue_WhenReaderFails(true);
+  }
+
+  @Test
+  @DisplayName("Test get and getAsync share entries and send no ETag when none is kept")
+  void testGet_sendsNoEtag_WhenNothingKept() throws Exception {
+    answer(200, "v1", "\"1\"");
+
+    read(false);
+    answer(200, "v1", null);
+    read(false);
+    read(true);
+
+    Assertions.assertThat(ifNoneMatch).containsExactly(NONE, "\"1\"", NONE);
+  }
+
+  private void testReturnsKeptValue_WhenNotModified(boolean async) throws Exception {
+    answer(200, "v1", "\"1\"");
+    String first = read(async);
+    answer(304, "", "\"1\"");
+
+    String second = read(async);
+
+    Assertions.assertThat(second).isSameAs(first);
+    Assertions.assertThat(ifNoneMatch).containsExactly(NONE, "\"1\"");
+    Assertions.assertThat(reads.get()).isEqualTo(1);
+    Assertions.assertThat(registry.get("proxy.responses.not.modified").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  private void testReplacesKeptValue_WhenModified(boolean async) throws Exception {
+    answer(200, "v1", "\"1\"");
+    read(async);
+    answer(200, "v2", "\"2\"");
+
+    Assertions.assertThat(read(async)).isEqualTo("v2");
+    answer(304, "", "\"2\"");
+    Assertions.assertThat(read(async)).isEqualTo("v2");
+    Assertions.assertThat(ifNoneMatch).containsExactly(NONE, "\"1\"", "\"2\"");
+  }
+
+  private void testDropsKeptValue_WhenServiceAnswersNot200(boolean async) throws Exception {
+    answer(200, "v1", "\"1\"");
+    read(async);
+    answer(404, "missing", null);
+
+    Assertions.assertThat(read(async)).isEqualTo("missing");
+    read(async);
+    Assertions.assertThat(ifNoneMatch).containsExactly(NONE, "\"1\"", NONE);
+  }
+
+  private void testDropsKeptValue_WhenReaderFails(boolean async) throws Exception {
+    answer(200, "v1", "\"1\"");
+    read(async);
+    answer(404, "<html>Not Found</html>", null);
+    unreadable = true;
+
+    Assertions.assertThatThrownBy(() -> read(async)).hasMessageContaining("Unreadable body");
+    unreadable = false;
+    read(async);
+    Assertions.assertThat(ifNoneMatch).containsExactly(NONE, "\"1\"", NONE);
+  }
+
+  private void answer(int status, String body, String etag) {
+    stub.answer(exchange -> {
+      String sent = exchange.getRequestHeaders().getFirst("If-None-Match");
+      ifNoneMatch.add(sent == null ? NONE : sent);
+      if (etag == null) {
+        DownstreamStub.respond(exchange, status, body);
+      } else {
+        DownstreamStub.respond(exchange, status, body, "ETag", etag);
+      }
+    });
+  }
+
+  private String read(boolean async) throws Exception {
+    String url = stub.url("/api/posts/1");
+    if (async) {
+      return responseCache.<String>getAsync(POST_SERVICE, url, response -> {
+        reads.incrementAndGet();
+        if (unreadable) {
+          throw new IOException("Unreadable body");
+        }
+        return response.getBodyText();
+      }).get(5, TimeUnit.SECONDS);
+    }
+    return responseCache.get(POST_SERVICE, url, response -> {
+      reads.incrementAndGet();
+      if (unreadable) {
+        throw new IOException("Unreadable body");
+      }
+      return EntityUtils.toString(response.getEntity());
+    });
+  }
+}
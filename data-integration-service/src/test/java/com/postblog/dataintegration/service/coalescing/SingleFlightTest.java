@@ -0,0 +1,227 @@
+package com.postblog.dataintegration.service.coalescing;
+
+import static com.postblog.dataintegration.service.coalescing.SingleFlight.POSTS;
+
+import com.postblog.dataintegration.service.exceptions.HttpException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Test for the coalescing of identical concurrent calls")
+class SingleFlightTest {
+
+  private static final int FOLLOWERS = 4;
+
+  private final SingleFlight singleFlight = new SingleFlight();
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger calls = new AtomicInteger();
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUp() {
+    singleFlight.bindTo(registry);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Test call makes one call for concurrent callers of the same resource")
+  void testCall_sharesOneCall_WhenCalledConcurrently() throws Exception {
+    Future<String> leader = executor.submit(() -> singleFlight.call(POSTS, 1L, this::blockingCall));
+    Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    List<Future<String>> followers = new ArrayList<>();
+    for (int i = 0; i < FOLLOWERS; i++) {
+      followers.add(executor.submit(() -> singleFlight.call(POSTS, 1L, this::blockingCall)));
+    }
+    awaitCoalesced(FOLLOWERS);
+    release.countDown();
+
+    Assertions.assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+    for (Future<String> follower : followers) {
+      Assertions.assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+    }
+    Assertions.assertThat(calls.get()).isEqualTo(1);
+    Assertions.assertThat(coalesced()).isEqualTo(FOLLOWERS);
+  }
+
+  @Test
+  @DisplayName("Test call throws the exception of the leader to every follower")
+  void testCall_throwsLeaderException_WhenCallFails() throws Exception {
+    HttpException failure = new HttpException("Post not found", 404);
+    Future<String> leader = executor.submit(() -> singleFlight.call(POSTS, 1L, () -> {
+      blockingCall();
+      throw failure;
+    }));
+    Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    List<Future<String>> followers = new ArrayList<>();
+    for (int i = 0; i < FOLLOWERS; i++) {
+      followers.add(executor.submit(() -> singleFlight.call(POSTS, 1L, this::blockingCall)));
+    }
+    awaitCoalesced(FOLLOWERS);
+    release.countDown();
+
+    Assertions.assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(failure);
+    for (Future<String> follower : followers) {
+      Assertions.assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCause(failure);
+    }
+    Assertions.assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test call makes a new call once the previous one succeeded or failed")
+  void testCall_makesNewCall_WhenPreviousCallCompleted() {
+    Assertions.assertThat(singleFlight.call(POSTS, 1L, () -> calls.incrementAndGet()))
+        .isEqualTo(1);
+    Assertions.assertThatThrownBy(() -> singleFlight.call(POSTS, 1L, () -> {
+      calls.incrementAndGet();
+      throw new HttpException("Unavailable", 503);
+    })).isInstanceOf(HttpException.class);
+    Assertions.assertThat(singleFlight.call(POSTS, 1L, () -> calls.incrementAndGet()))
+        .isEqualTo(3);
+    Assertions.assertThat(coalesced()).isZero();
+  }
+
+  @Test
+  @DisplayName("Test callAsync makes a new call once the previous one succeeded or failed")
+  void testCallAsync_makesNewCall_WhenPreviousCallCompleted() {
+    Assertions.assertThat(singleFlight.callAsync(POSTS, 1L,
+        () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join()).isEqualTo(1);
+    CompletableFuture<Integer> failed = singleFlight.callAsync(POSTS, 1L, () -> {
+      calls.incrementAndGet();
+      return CompletableFuture.failedFuture(new HttpException("Unavailable", 503));
+    });
+    Assertions.assertThat(failed).isCompletedExceptionally();
+    Assertions.assertThat(singleFlight.callAsync(POSTS, 1L,
+        () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join()).isEqualTo(3);
+    Assertions.assertThat(coalesced()).isZero();
+  }
+
+  @Test
+  @DisplayName("Test callAsync shares the call of the leader and its exception with followers")
+  void testCallAsync_sharesLeaderFailure_WhenCalledConcurrently() {
+    CompletableFuture<String> upstream = new CompletableFuture<>();
+    CompletableFuture<String> leader = singleFlight.callAsync(POSTS, 1L, () -> {
+      calls.incrementAndGet();
+      return upstream;
+    });
+    List<CompletableFuture<String>> followers = new ArrayList<>();
+    for (int i = 0; i < FOLLOWERS; i++) {
+      followers.add(singleFlight.callAsync(POSTS, 1L, () -> {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture("other");
+      }));
+    }
+    HttpException failure = new HttpException("Post not found", 404);
+    upstream.completeExceptionally(failure);
+
+    Assertions.assertThat(HttpException.statusOf(Assertions.catchThrowable(leader::join)))
+        .isEqualTo(404);
+    for (CompletableFuture<String> follower : followers) {
+      Assertions.assertThat(Assertions.catchThrowable(follower::join)).hasCause(failure);
+    }
+    Assertions.assertThat(calls.get()).isEqualTo(1);
+    Assertions.assertThat(coalesced()).isEqualTo(FOLLOWERS);
+  }
+
+  @Test
+  @DisplayName("Test callAsync and call share one call whichever of them leads")
+  void testCallAsync_sharesOneCall_WhenBlockingAndAsyncCallersMix() throws Exception {
+    CompletableFuture<String> upstream = new CompletableFuture<>();
+    CompletableFuture<String> asyncLeader = singleFlight.callAsync(POSTS, 1L, () -> {
+      calls.incrementAndGet();
+      return upstream;
+    });
+    Future<String> blockingFollower =
+        executor.submit(() -> singleFlight.call(POSTS, 1L, this::blockingCall));
+    awaitCoalesced(1);
+    upstream.complete("post");
+
+    Assertions.assertThat(asyncLeader.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+    Assertions.assertThat(blockingFollower.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+
+    Future<String> blockingLeader =
+        executor.submit(() -> singleFlight.call(POSTS, 2L, this::blockingCall));
+    Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> asyncFollower = singleFlight.callAsync(POSTS, 2L, () -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture("other");
+    });
+    release.countDown();
+
+    Assertions.assertThat(blockingLeader.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+    Assertions.assertThat(asyncFollower.get(5, TimeUnit.SECONDS)).isEqualTo("post");
+    Assertions.assertThat(calls.get()).isEqualTo(2);
+    Assertions.assertThat(coalesced()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test callAsync cancels the upstream call once every caller cancelled")
+  void testCallAsync_cancelsUpstream_WhenLastCallerCancels() {
+    CompletableFuture<String> upstream = new CompletableFuture<>();
+    CompletableFuture<String> leader = singleFlight.callAsync(POSTS, 1L, () -> {
+      calls.incrementAndGet();
+      return upstream;
+    });
+    CompletableFuture<String> follower = singleFlight.callAsync(POSTS, 1L, () -> {
+      calls.incrementAndGet();
+      return CompletableFuture.completedFuture("other");
+    });
+
+    leader.cancel(true);
+
+    Assertions.assertThat(upstream).isNotCancelled();
+    Assertions.assertThat(follower).isNotDone();
+
+    follower.cancel(true);
+
+    Assertions.assertThat(upstream).isCancelled();
+    Assertions.assertThat(singleFlight.callAsync(POSTS, 1L,
+        () -> CompletableFuture.completedFuture("new " + calls.incrementAndGet())).join())
+        .isEqualTo("new 2");
+  }
+
+  private String blockingCall() {
+    calls.incrementAndGet();
+    started.countDown();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return "post";
+  }
+
+  private double coalesced() {
+    return registry.get("proxy.coalesced.calls").tag("resource", POSTS).functionCounter().count();
+  }
+
+  private void awaitCoalesced(int followers) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (coalesced() < followers && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.postblog.dataintegration.service.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.services.PostServiceProxy;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Test for the post proxy controller")
+class PostProxyControllerTest {
+
+  @InjectMocks
+  private PostProxyController postProxyController;
+
+  @Mock
+  private PostServiceProxy postServiceProxyMock;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(postProxyController, "async", true);
+  }
+
+  @Test
+  @DisplayName("Test getPostById answers with the status of the HttpException the call failed with")
+  void testGetPostById_returnsStatusOfFailure_WhenAsyncCallFails() {
+    when(postServiceProxyMock.getPostByIdAsync(1L)).thenReturn(CompletableFuture.failedFuture(
+        new HttpException("Post not found", HttpStatus.NOT_FOUND.value())));
+
+    ResponseEntity<PostResponse> response =
+        await(postProxyController.getPostById(1L, null, null));
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  @DisplayName("Test getPostById unwraps the HttpException of a failed dependent stage")
+  void testGetPostById_returnsStatusOfCause_WhenFailureWrapped() {
+    when(postServiceProxyMock.getPostByIdAsync(1L)).thenReturn(CompletableFuture.failedFuture(
+        new CompletionException(new HttpException("Unavailable",
+            HttpStatus.SERVICE_UNAVAILABLE.value()))));
+
+    ResponseEntity<PostResponse> response =
+        await(postProxyController.getPostById(1L, null, null));
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @Test
+  @DisplayName("Test createPost answers 500 when the call failed with another exception")
+  void testCreatePost_returnsInternalServerError_WhenAsyncCallFailsUnexpectedly() {
+    when(postServiceProxyMock.createPostAsync(any(PostEntity.class)))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+    ResponseEntity<PostResponse> response =
+        await(postProxyController.createPost(new PostEntity(), null, null));
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  @Test
+  @DisplayName("Test deletePost answers with the status of the HttpException the call failed with")
+  void testDeletePost_returnsStatusOfFailure_WhenAsyncCallFails() {
+    when(postServiceProxyMock.deletePostAsync(1L)).thenReturn(CompletableFuture.failedFuture(
+        new HttpException("Post not found", HttpStatus.NOT_FOUND.value())));
+
+    ResponseEntity<Void> response = await(postProxyController.deletePost(1L));
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  @DisplayName("Test getPostById answers with a plain ResponseEntity in blocking mode")
+  void testGetPostById_returnsResponseEntity_WhenNotAsync() {
+    ReflectionTestUtils.setField(postProxyController, "async", false);
+    ResponseEntity<PostResponse> found = ResponseEntity.ok(new PostResponse());
+    when(postServiceProxyMock.getPostById(1L)).thenReturn(found);
+
+    Object response = postProxyController.getPostById(1L, null, null);
+
+    Assertions.assertThat(response).isSameAs(found);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> ResponseEntity<T> await(Object result) {
+    return ((CompletableFuture<ResponseEntity<T>>) result).join();
+  }
+}
@@ -0,0 +1,173 @@
+package com.postblog.dataintegration.service.relay;
+
+import static com.postblog.dataintegration.service.resilience.Downstreams.POST_SERVICE;
+
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.postblog.dataintegration.service.utils.DownstreamStub;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("Test for the relay of downstream responses to the client")
+class ResponseRelayTest {
+
+  private static final int BUFFER_SIZE = 1024;
+  private static final int MAX_BUFFERED = 64 * 1024;
+
+  private DownstreamStub stub;
+  private ResponseRelay responseRelay;
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private final RecordingResponse response = new RecordingResponse();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new DownstreamStub();
+    responseRelay = new ResponseRelay(stub.downstreams(10, 10), BUFFER_SIZE, MAX_BUFFERED);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    stub.close();
+  }
+
+  @Test
+  @DisplayName("Test relay streams a large body through the configured buffer")
+  void testRelay_copiesLargeBodyInBufferSizedWrites_WhenBodyLarge() throws IOException {
+    byte[] body = new byte[1024 * 1024 + 17];
+    for (int i = 0; i < body.length; i++) {
+      body[i] = (byte) ('a' + i % 26);
+    }
+    String content = new String(body);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 200, content,
+        "Content-Type", "application/json"));
+
+    responseRelay.relay(POST_SERVICE, get(), request, response);
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(200);
+    Assertions.assertThat(response.getContentLengthLong()).isEqualTo(body.length);
+    Assertions.assertThat(response.written.toByteArray()).isEqualTo(body);
+    Assertions.assertThat(response.largestWrite).isPositive().isLessThanOrEqualTo(BUFFER_SIZE);
+  }
+
+  @Test
+  @DisplayName("Test relay copies the status and the relayed headers only")
+  void testRelay_copiesStatusAndRelayedHeaders_WhenServiceAnswers() throws IOException {
+    AtomicReference<String> forwarded = new AtomicReference<>();
+    stub.answer(exchange -> {
+      forwarded.set(exchange.getRequestHeaders().getFirst("Accept") + " "
+          + exchange.getRequestHeaders().getFirst("Authorization"));
+      DownstreamStub.respond(exchange, 201, "{}",
+          "Content-Type", "application/json",
+          "ETag", "\"1\"",
+          "Location", "/api/posts/1",
+          "Set-Cookie", "session=secret",
+          "X-Internal", "node-3");
+    });
+    request.addHeader("Accept", "application/json");
+    request.addHeader("Authorization", "Bearer token");
+
+    responseRelay.relay(POST_SERVICE, get(), request, response);
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(201);
+    Assertions.assertThat(response.getHeader("Content-Type")).isEqualTo("application/json");
+    Assertions.assertThat(response.getHeader("ETag")).isEqualTo("\"1\"");
+    Assertions.assertThat(response.getHeader("Location")).isEqualTo("/api/posts/1");
+    Assertions.assertThat(response.getHeaderNames())
+        .doesNotContain("Set-Cookie", "X-Internal");
+    Assertions.assertThat(forwarded.get()).isEqualTo("application/json null");
+  }
+
+  @Test
+  @DisplayName("Test relay forwards If-None-Match and passes a 304 on without a body")
+  void testRelay_relaysNotModifiedWithoutBody_WhenClientEtagCurrent() throws IOException {
+    stub.answer(exchange -> {
+      boolean current = "\"1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+      DownstreamStub.respond(exchange, current ? 304 : 200, "{}", "ETag", "\"1\"");
+    });
+    request.addHeader("If-None-Match", "\"1\"");
+
+    responseRelay.relay(POST_SERVICE, get(), request, response);
+
+    Assertions.assertThat(response.getStatus()).isEqualTo(304);
+    Assertions.assertThat(response.getHeader("ETag")).isEqualTo("\"1\"");
+    Assertions.assertThat(response.written.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Test relay releases the bulkhead permit before writing a small body to the client")
+  void testRelay_releasesPermitBeforeClientWrite_WhenBodyBuffered() throws IOException {
+    Downstreams downstreams = stub.downstreams(1, 10);
+    responseRelay = new ResponseRelay(downstreams, BUFFER_SIZE, MAX_BUFFERED);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 200, "{\"id\":1}"));
+    AtomicReference<Integer> nested = new AtomicReference<>();
+    response.beforeWrite = () -> {
+      nested.set(downstreams.execute(POST_SERVICE, get(), upstream -> upstream.getCode()));
+      return null;
+    };
+
+    responseRelay.relay(POST_SERVICE, get(), request, response);
+
+    Assertions.assertThat(response.written.toString()).isEqualTo("{\"id\":1}");
+    Assertions.assertThat(nested.get()).isEqualTo(200);
+  }
+
+  private SimpleHttpRequest get() {
+    return SimpleRequestBuilder.get(stub.url("/api/posts/1")).build();
+  }
+
+  /**
+   * Response recording the body written and the largest single write.
+   */
+  private static class RecordingResponse extends MockHttpServletResponse {
+
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private int largestWrite;
+    private Callable<?> beforeWrite;
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+      return new ServletOutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+          write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          if (beforeWrite != null && len > 0) {
+            Callable<?> call = beforeWrite;
+            beforeWrite = null;
+            try {
+              call.call();
+            } catch (Exception e) {
+              throw new IOException(e);
+            }
+          }
+          largestWrite = Math.max(largestWrite, len);
+          written.write(b, off, len);
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+      };
+    }
+  }
+}
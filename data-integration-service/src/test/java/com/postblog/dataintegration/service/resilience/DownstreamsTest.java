@@ -0,0 +1,242 @@
+package com.postblog.dataintegration.service.resilience;
+
+import static com.postblog.dataintegration.service.resilience.Downstreams.POST_SERVICE;
+
+import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.dataintegration.service.utils.DownstreamStub;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Test for the guarded calls to downstream services")
+class DownstreamsTest {
+
+  private DownstreamStub stub;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new DownstreamStub();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    stub.close();
+  }
+
+  @Test
+  @DisplayName("Test executeAsync fails with 503 while the async bulkhead is full")
+  void testExecuteAsync_failsWithServiceUnavailable_WhenBulkheadFull() throws Exception {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    CountDownLatch arrived = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    stub.answer(exchange -> {
+      arrived.countDown();
+      awaitQuietly(release);
+      DownstreamStub.respond(exchange, 200, "ok");
+    });
+
+    CompletableFuture<String> first = downstreams.executeAsync(POST_SERVICE, get(),
+        response -> response.getBodyText());
+    Assertions.assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> rejected = downstreams.executeAsync(POST_SERVICE, get(),
+        response -> response.getBodyText());
+
+    Assertions.assertThat(rejected).isCompletedExceptionally();
+    Assertions.assertThat(HttpException.statusOf(catchFailure(rejected))).isEqualTo(503);
+    Assertions.assertThat(stub.requests()).isEqualTo(1);
+    release.countDown();
+    Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+  }
+
+  @Test
+  @DisplayName("Test execute records a 5xx answer as a failure and opens the circuit")
+  void testExecute_opensCircuit_WhenServiceAnswers5xx() throws IOException {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 500, "error"));
+
+    int status = downstreams.execute(POST_SERVICE, get(), response -> response.getCode());
+
+    Assertions.assertThat(status).isEqualTo(500);
+    Assertions.assertThat(downstreams.state(POST_SERVICE)).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  @DisplayName("Test execute records a 404 answer as a success and keeps the circuit closed")
+  void testExecute_keepsCircuitClosed_WhenServiceAnswers404() throws IOException {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 404, "not found"));
+
+    int status = downstreams.execute(POST_SERVICE, get(), response -> response.getCode());
+
+    Assertions.assertThat(status).isEqualTo(404);
+    Assertions.assertThat(downstreams.state(POST_SERVICE)).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  @DisplayName("Test executeAsync records a 5xx answer as a failure and opens the circuit")
+  void testExecuteAsync_opensCircuit_WhenServiceAnswers5xx() throws Exception {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 503, "error"));
+
+    int status = downstreams.<Integer>executeAsync(POST_SERVICE, get(),
+        response -> response.getCode()).get(5, TimeUnit.SECONDS);
+
+    Assertions.assertThat(status).isEqualTo(503);
+    Assertions.assertThat(downstreams.state(POST_SERVICE)).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  @DisplayName("Test executeAsync records a 404 answer as a success and keeps the circuit closed")
+  void testExecuteAsync_keepsCircuitClosed_WhenServiceAnswers404() throws Exception {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 404, "not found"));
+
+    int status = downstreams.<Integer>executeAsync(POST_SERVICE, get(),
+        response -> response.getCode()).get(5, TimeUnit.SECONDS);
+
+    Assertions.assertThat(status).isEqualTo(404);
+    Assertions.assertThat(downstreams.state(POST_SERVICE)).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  @DisplayName("Test execute and executeAsync fail with 503 while the circuit is open")
+  void testExecute_failsWithServiceUnavailable_WhenCircuitOpen() throws IOException {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 500, "error"));
+    downstreams.execute(POST_SERVICE, get(), response -> null);
+
+    Assertions.assertThatThrownBy(() -> downstreams.execute(POST_SERVICE, get(), response -> null))
+        .isInstanceOf(HttpException.class)
+        .extracting(e -> ((HttpException) e).getStatusCode())
+        .isEqualTo(503);
+    CompletableFuture<Object> async = downstreams.executeAsync(POST_SERVICE, get(),
+        response -> null);
+    Assertions.assertThat(HttpException.statusOf(catchFailure(async))).isEqualTo(503);
+    Assertions.assertThat(stub.requests()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test execute fails with 503 while the bulkhead is full")
+  void testExecute_failsWithServiceUnavailable_WhenBulkheadFull() throws Exception {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    CountDownLatch arrived = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    stub.answer(exchange -> {
+      arrived.countDown();
+      awaitQuietly(release);
+      DownstreamStub.respond(exchange, 200, "ok");
+    });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<String> first = executor.submit(() -> downstreams.execute(POST_SERVICE, get(),
+          response -> EntityUtils.toString(response.getEntity())));
+      Assertions.assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+
+      Assertions.assertThatThrownBy(() -> downstreams.execute(POST_SERVICE, get(), r -> null))
+          .isInstanceOf(HttpException.class)
+          .extracting(e -> ((HttpException) e).getStatusCode())
+          .isEqualTo(503);
+      Assertions.assertThat(stub.requests()).isEqualTo(1);
+      release.countDown();
+      Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Test execute releases its bulkhead permit after a success and after failures")
+  void testExecute_releasesPermit_WhenCallSucceedsOrFails() throws IOException {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    downstreams.bindTo(registry);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 200, "ok"));
+
+    downstreams.execute(POST_SERVICE, get(), response -> null);
+    Assertions.assertThat(availableCalls(registry, POST_SERVICE)).isEqualTo(1);
+    Assertions.assertThatThrownBy(() -> downstreams.execute(POST_SERVICE, get(), response -> {
+      throw new IOException("unreadable");
+    })).isInstanceOf(IOException.class);
+    Assertions.assertThat(availableCalls(registry, POST_SERVICE)).isEqualTo(1);
+    Assertions.assertThatThrownBy(() -> downstreams.execute(POST_SERVICE, refused(), r -> null))
+        .isInstanceOf(IOException.class);
+    Assertions.assertThat(availableCalls(registry, POST_SERVICE)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test executeAsync releases its permit after a success, a cancel and a failure")
+  void testExecuteAsync_releasesPermit_WhenCallSucceedsIsCancelledOrFails() throws Exception {
+    Downstreams downstreams = stub.downstreams(1, 1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    downstreams.bindTo(registry);
+    String asyncBulkhead = POST_SERVICE + "-async";
+    CountDownLatch release = new CountDownLatch(1);
+    stub.answer(exchange -> DownstreamStub.respond(exchange, 200, "ok"));
+
+    downstreams.executeAsync(POST_SERVICE, get(), response -> null).get(5, TimeUnit.SECONDS);
+    Assertions.assertThat(availableCalls(registry, asyncBulkhead)).isEqualTo(1);
+    stub.answer(exchange -> {
+      awaitQuietly(release);
+      DownstreamStub.respond(exchange, 200, "late");
+    });
+    CompletableFuture<Object> cancelled = downstreams.executeAsync(POST_SERVICE, get(),
+        response -> null);
+    Assertions.assertThat(availableCalls(registry, asyncBulkhead)).isZero();
+    cancelled.cancel(true);
+    Assertions.assertThat(availableCalls(registry, asyncBulkhead)).isEqualTo(1);
+    release.countDown();
+
+    CompletableFuture<Object> failed = downstreams.executeAsync(POST_SERVICE, refused(),
+        response -> null);
+    Assertions.assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IOException.class);
+    Assertions.assertThat(availableCalls(registry, asyncBulkhead)).isEqualTo(1);
+  }
+
+  private SimpleHttpRequest get() {
+    return SimpleRequestBuilder.get(stub.url("/api/posts/1")).build();
+  }
+
+  private static SimpleHttpRequest refused() throws IOException {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = socket.getLocalPort();
+    }
+    return SimpleRequestBuilder.get("http://localhost:" + port + "/api/posts/1").build();
+  }
+
+  private static double availableCalls(SimpleMeterRegistry registry, String bulkhead) {
+    return registry.get("resilience4j.bulkhead.available.concurrent.calls")
+        .tag("name", bulkhead).gauge().value();
+  }
+
+  private static Throwable catchFailure(CompletableFuture<?> future) {
+    return Assertions.catchThrowable(future::join);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
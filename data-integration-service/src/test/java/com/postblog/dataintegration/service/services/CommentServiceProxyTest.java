@@ -0,0 +1,80 @@
+package com.postblog.dataintegration.service.services;
+
+import static com.postblog.dataintegration.service.utils.Constants.NEXT_CURSOR_HEADER;
+
+import com.postblog.dataintegration.service.coalescing.SingleFlight;
+import com.postblog.dataintegration.service.utils.DownstreamStub;
+import com.postblog.postservice.entities.CommentResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("Test for the comment service proxy against a stub post service")
+class CommentServiceProxyTest {
+
+  private static final int PAGES = 3;
+
+  private DownstreamStub stub;
+  private CommentServiceProxy commentServiceProxy;
+  private final List<String> queries = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new DownstreamStub();
+    commentServiceProxy = new CommentServiceProxy();
+    ReflectionTestUtils.setField(commentServiceProxy, "postServiceUrl", stub.url("/api/posts"));
+    ReflectionTestUtils.setField(commentServiceProxy, "commentsPageSize", 2);
+    ReflectionTestUtils.setField(commentServiceProxy, "downstreams", stub.downstreams(10, 10));
+    ReflectionTestUtils.setField(commentServiceProxy, "singleFlight", new SingleFlight());
+    stub.answer(exchange -> {
+      String query = exchange.getRequestURI().getRawQuery();
+      queries.add(query);
+      int page = query.contains("cursor=") ? Integer.parseInt(query.split("cursor=p")[1]) : 0;
+      String comments = "[{\"id\":" + (2 * page + 1) + "},{\"id\":" + (2 * page + 2) + "}]";
+      if (page + 1 < PAGES) {
+        DownstreamStub.respond(exchange, 200, comments, NEXT_CURSOR_HEADER, "p" + (page + 1));
+      } else {
+        DownstreamStub.respond(exchange, 200, comments);
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    stub.close();
+  }
+
+  @Test
+  @DisplayName("Test getCommentsByPostId follows the cursor of every page")
+  void testGetCommentsByPostId_returnsAllComments_WhenPagesWithinBound() {
+    ReflectionTestUtils.setField(commentServiceProxy, "commentsMaxPages", PAGES);
+
+    ResponseEntity<List<CommentResponse>> response = commentServiceProxy.getCommentsByPostId(1L);
+
+    Assertions.assertThat(response.getBody()).extracting(CommentResponse::getId)
+        .containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    Assertions.assertThat(response.getHeaders().containsKey(NEXT_CURSOR_HEADER)).isFalse();
+    Assertions.assertThat(queries)
+        .containsExactly("size=2", "size=2&cursor=p1", "size=2&cursor=p2");
+  }
+
+  @Test
+  @DisplayName("Test getCommentsByPostId stops at the page bound and returns the next cursor")
+  void testGetCommentsByPostId_returnsNextCursor_WhenPagesBeyondBound() {
+    ReflectionTestUtils.setField(commentServiceProxy, "commentsMaxPages", PAGES - 1);
+
+    ResponseEntity<List<CommentResponse>> response = commentServiceProxy.getCommentsByPostId(1L);
+
+    Assertions.assertThat(response.getBody()).extracting(CommentResponse::getId)
+        .containsExactly(1L, 2L, 3L, 4L);
+    Assertions.assertThat(response.getHeaders().getFirst(NEXT_CURSOR_HEADER)).isEqualTo("p2");
+    Assertions.assertThat(stub.requests()).isEqualTo(PAGES - 1);
+  }
+}
@@ -0,0 +1,94 @@
+package com.postblog.dataintegration.service.services;
+
+import static com.postblog.dataintegration.service.utils.Constants.MISSING_COMMENTS;
+import static org.mockito.Mockito.when;
+
+import com.postblog.dataintegration.service.entities.PostDetailsResponse;
+import com.postblog.dataintegration.service.exceptions.HttpException;
+import com.postblog.postservice.entities.PostResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Test for the post details service")
+class PostDetailsServiceTest {
+
+  @InjectMocks
+  private PostDetailsService postDetailsService;
+
+  @Mock
+  private PostServiceProxy postServiceProxyMock;
+
+  @Mock
+  private CommentServiceProxy commentServiceProxyMock;
+
+  @Mock
+  private UserServiceProxy userServiceProxyMock;
+
+  @BeforeEach
+  void setUp() {
+    ExecutorService saturated = Executors.newSingleThreadExecutor();
+    saturated.shutdown();
+    ReflectionTestUtils.setField(postDetailsService, "proxyExecutor", saturated);
+    ReflectionTestUtils.setField(postDetailsService, "callDeadline", 100L);
+  }
+
+  @Test
+  @DisplayName("Test getPostDetails reports the comments missing when the executor rejects them")
+  void testGetPostDetails_reportsMissingComments_WhenExecutorRejects() {
+    PostResponse post = PostResponse.builder().id(1L).build();
+    when(postServiceProxyMock.getPostByIdAsync(1L))
+        .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(post)));
+
+    PostDetailsResponse details = postDetailsService.getPostDetails(1L);
+
+    Assertions.assertThat(details.getPost()).isSameAs(post);
+    Assertions.assertThat(details.getComments()).isEmpty();
+    Assertions.assertThat(details.getAuthors()).isEmpty();
+    Assertions.assertThat(details.getMissing()).containsExactly(MISSING_COMMENTS);
+    Mockito.verifyNoInteractions(commentServiceProxyMock);
+  }
+
+  @Test
+  @DisplayName("Test getPostDetails cancels the post call and answers 504 past the deadline")
+  void testGetPostDetails_cancelsPostCall_WhenDeadlinePasses() {
+    CompletableFuture<ResponseEntity<PostResponse>> call = new CompletableFuture<>();
+    when(postServiceProxyMock.getPostByIdAsync(1L)).thenReturn(call);
+
+    Assertions.assertThatThrownBy(() -> postDetailsService.getPostDetails(1L))
+        .isInstanceOf(HttpException.class)
+        .extracting(e -> ((HttpException) e).getStatusCode())
+        .isEqualTo(HttpStatus.GATEWAY_TIMEOUT.value());
+    Assertions.assertThat(call.isCancelled()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Test getPostDetails returns no comments or authors when the comments body is null")
+  void testGetPostDetails_returnsNoComments_WhenCommentsBodyNull() {
+    ReflectionTestUtils.setField(postDetailsService, "proxyExecutor",
+        Executors.newSingleThreadExecutor());
+    PostResponse post = PostResponse.builder().id(1L).build();
+    when(postServiceProxyMock.getPostByIdAsync(1L))
+        .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(post)));
+    when(commentServiceProxyMock.getCommentsByPostId(1L)).thenReturn(ResponseEntity.ok().build());
+
+    PostDetailsResponse details = postDetailsService.getPostDetails(1L);
+
+    Assertions.assertThat(details.getComments()).isEmpty();
+    Assertions.assertThat(details.getAuthors()).isEmpty();
+    Assertions.assertThat(details.getMissing()).isEmpty();
+  }
+}
@@ -0,0 +1,140 @@
+package com.postblog.dataintegration.service.services;
+
+import com.postblog.dataintegration.service.cache.ResponseCache;
+import com.postblog.dataintegration.service.coalescing.SingleFlight;
+import com.postblog.dataintegration.service.relay.ResponseRelay;
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.postblog.dataintegration.service.utils.DownstreamStub;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("Test for the post service proxy against a stub post service")
+class PostServiceProxyTest {
+
+  private static final String POST_JSON = "{\"id\":1,\"title\":\"Title\"}";
+
+  private DownstreamStub stub;
+  private ExecutorService executor;
+  private PostServiceProxy postServiceProxy;
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    stub = new DownstreamStub();
+    executor = Executors.newSingleThreadExecutor();
+    Downstreams downstreams = stub.downstreams(10, 10);
+    postServiceProxy = new PostServiceProxy();
+    ReflectionTestUtils.setField(postServiceProxy, "postServiceUrl", stub.url("/api/posts"));
+    ReflectionTestUtils.setField(postServiceProxy, "postServiceUrlWithId", stub.url("/api/posts"));
+    ReflectionTestUtils.setField(postServiceProxy, "downstreams", downstreams);
+    SingleFlight singleFlight = new SingleFlight();
+    registry = new SimpleMeterRegistry();
+    singleFlight.bindTo(registry);
+    ReflectionTestUtils.setField(postServiceProxy, "singleFlight", singleFlight);
+    ReflectionTestUtils.setField(postServiceProxy, "responseCache",
+        new ResponseCache(downstreams, 100, 60000));
+    ReflectionTestUtils.setField(postServiceProxy, "responseRelay",
+        new ResponseRelay(downstreams, 8192, 262144));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    executor.shutdownNow();
+    stub.close();
+  }
+
+  @Test
+  @DisplayName("Test getPostByIdAsync shares the call of a blocking read of the same post")
+  void testGetPostByIdAsync_sharesCall_WhenBlockingReadInFlight() throws Exception {
+    CountDownLatch arrived = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    answerPostAfter(arrived, release);
+
+    Future<ResponseEntity<PostResponse>> blocking =
+        executor.submit(() -> postServiceProxy.getPostById(1L));
+    Assertions.assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<ResponseEntity<PostResponse>> async = postServiceProxy.getPostByIdAsync(1L);
+    release.countDown();
+
+    Assertions.assertThat(blocking.get(5, TimeUnit.SECONDS).getBody().getTitle())
+        .isEqualTo("Title");
+    Assertions.assertThat(async.get(5, TimeUnit.SECONDS).getBody().getTitle())
+        .isEqualTo("Title");
+    Assertions.assertThat(stub.requests()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test getPostById shares the call of an asynchronous read of the same post")
+  void testGetPostById_sharesCall_WhenAsyncReadInFlight() throws Exception {
+    CountDownLatch arrived = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    answerPostAfter(arrived, release);
+
+    CompletableFuture<ResponseEntity<PostResponse>> async = postServiceProxy.getPostByIdAsync(1L);
+    Assertions.assertThat(arrived.await(5, TimeUnit.SECONDS)).isTrue();
+    Future<ResponseEntity<PostResponse>> blocking =
+        executor.submit(() -> postServiceProxy.getPostById(1L));
+    while (registry.get("proxy.coalesced.calls").tag("resource", SingleFlight.POSTS)
+        .functionCounter().count() < 1) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    Assertions.assertThat(async.get(5, TimeUnit.SECONDS).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+    Assertions.assertThat(blocking.get(5, TimeUnit.SECONDS).getBody())
+        .isSameAs(async.get().getBody());
+    Assertions.assertThat(stub.requests()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test createPost sends the post as JSON on the blocking client")
+  void testCreatePost_sendsJsonBody_WhenBlocking() {
+    AtomicReference<String> received = new AtomicReference<>();
+    stub.answer(exchange -> {
+      received.set(exchange.getRequestMethod() + " "
+          + exchange.getRequestHeaders().getFirst("Content-Type") + " "
+          + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+      DownstreamStub.respond(exchange, 201, POST_JSON, "Content-Type", "application/json");
+    });
+
+    ResponseEntity<PostResponse> response =
+        postServiceProxy.createPost(PostEntity.builder().title("Title").build());
+
+    Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    Assertions.assertThat(response.getBody().getId()).isEqualTo(1L);
+    Assertions.assertThat(received.get())
+        .startsWith("POST application/json; charset=UTF-8 {")
+        .contains("\"title\":\"Title\"");
+  }
+
+  private void answerPostAfter(CountDownLatch arrived, CountDownLatch release) {
+    stub.answer(exchange -> {
+      arrived.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      DownstreamStub.respond(exchange, 200, POST_JSON, "Content-Type", "application/json");
+    });
+  }
+}
@@ -0,0 +1,108 @@
+package com.postblog.dataintegration.service.utils;
+
+import com.postblog.dataintegration.service.resilience.Downstreams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+
+/**
+ * Local HTTP server standing in for a downstream service, with the clients that call it.
+ */
+public class DownstreamStub implements AutoCloseable {
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final AtomicInteger requests = new AtomicInteger();
+  private final CloseableHttpClient httpClient = HttpClients.createDefault();
+  private final CloseableHttpAsyncClient asyncHttpClient = HttpAsyncClients.createDefault();
+  private volatile HttpHandler handler = exchange -> respond(exchange, 200, "");
+
+  public DownstreamStub() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", exchange -> {
+      requests.incrementAndGet();
+      try {
+        handler.handle(exchange);
+      } finally {
+        exchange.close();
+      }
+    });
+    server.setExecutor(executor);
+    server.start();
+    asyncHttpClient.start();
+  }
+
+  /**
+   * Sets how the stub answers every request from now on.
+   *
+   * @param handler The handler writing the answer.
+   */
+  public void answer(HttpHandler handler) {
+    this.handler = handler;
+  }
+
+  public String url(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  public int requests() {
+    return requests.get();
+  }
+
+  /**
+   * Builds the downstreams calling the stub, with a circuit that opens after a single failure.
+   *
+   * @param maxConcurrentCalls      The bulkhead of the blocking calls.
+   * @param maxConcurrentAsyncCalls The bulkhead of the asynchronous calls.
+   * @return The downstreams.
+   */
+  public Downstreams downstreams(int maxConcurrentCalls, int maxConcurrentAsyncCalls) {
+    return new Downstreams(httpClient, asyncHttpClient, 1, 1, 100, 60000, 1,
+        maxConcurrentCalls, maxConcurrentAsyncCalls);
+  }
+
+  /**
+   * Writes a response. A body is sent unless the status forbids one.
+   *
+   * @param exchange The exchange to answer.
+   * @param status   The status of the response.
+   * @param body     The body of the response.
+   * @param headers  The names and values of the headers of the response, in pairs.
+   * @throws IOException if the response cannot be written.
+   */
+  public static void respond(HttpExchange exchange, int status, String body, String... headers)
+      throws IOException {
+    for (int i = 0; i < headers.length; i += 2) {
+      exchange.getResponseHeaders().add(headers[i], headers[i + 1]);
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    if (status == 204 || status == 304) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    server.stop(0);
+    executor.shutdownNow();
+    httpClient.close();
+    asyncHttpClient.close();
+  }
+}
@@ -0,0 +1,82 @@
+package com.postblog.postservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.utils.Transactions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process read-through cache of post responses by post ID, bounded by size and time to live.
+ * Hit, miss and eviction counters are published as metrics under the posts cache name.
+ */
+@Component
+public class PostResponseCache implements MeterBinder {
+
+  private final Cache<Long, PostResponse> cache;
+
+  public PostResponseCache(@Value("${posts.cache.maximum-size:10000}") long maximumSize,
+      @Value("${posts.cache.ttl-seconds:300}") long ttlSeconds) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the cached post or loads it. Concurrent misses for the same ID wait for a single
+   * load. Nothing is cached when the loader returns null or throws.
+   *
+   * @param postId The ID of the post.
+   * @param loader Loads the post on a miss.
+   * @return The post, or null if the loader returned null.
+   */
+  public PostResponse get(Long postId, Function<Long, PostResponse> loader) {
+    return cache.get(postId, loader);
+  }
+
+  /**
+   * Returns the cached posts and loads the missing ones with a single call to the loader. Posts the
+   * loader does not return are left out of the result and not cached.
+   *
+   * @param postIds The IDs of the posts.
+   * @param loader  Loads the posts missing from the cache, by ID.
+   * @return The posts found, by ID.
+   */
+  public Map<Long, PostResponse> getAll(Iterable<Long> postIds,
+      Function<Set<? extends Long>, Map<Long, PostResponse>> loader) {
+    return cache.getAll(postIds, loader);
+  }
+
+  /**
+   * Removes a post from the cache. Inside a transaction the removal happens after commit, so a
+   * concurrent read cannot cache the row as it was before the change.
+   *
+   * @param postId The ID of the post that changed.
+   */
+  public void invalidate(Long postId) {
+    if (postId == null) {
+      return;
+    }
+    Transactions.afterCommit(() -> cache.invalidate(postId));
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "posts");
+  }
+}
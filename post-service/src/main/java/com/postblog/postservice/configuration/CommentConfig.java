@@ -1,7 +1,8 @@
 package com.postblog.postservice.configuration;
 
+import com.postblog.postservice.mapper.CommentMapper;
+import com.postblog.postservice.mapper.PostMapper;
 import com.postblog.postservice.service.CommentService;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,8 +10,8 @@ import org.springframework.context.annotation.Configuration;
 public class CommentConfig {
 
   @Bean
-  public ModelMapper modelMapperBeanComments() {
-    return new ModelMapper();
+  public CommentMapper commentMapperBean() {
+    return new CommentMapper(new PostMapper());
   }
 
   @Bean
@@ -1,7 +1,7 @@
 package com.postblog.postservice.configuration;
 
+import com.postblog.postservice.mapper.PostMapper;
 import com.postblog.postservice.service.PostService;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
@@ -11,13 +11,8 @@ import org.springframework.context.annotation.PropertySource;
 public class PostConfig {
 
   @Bean
-  public ModelMapper modelMapperBeanComment() {
-    return new ModelMapper();
-  }
-
-  @Bean
-  public ModelMapper modelMapperBeanPost() {
-    return new ModelMapper();
+  public PostMapper postMapperBean() {
+    return new PostMapper();
   }
 
   @Bean
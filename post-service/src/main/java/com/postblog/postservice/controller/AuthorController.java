@@ -0,0 +1,58 @@
+package com.postblog.postservice.controller;
+
+import static com.postblog.postservice.utils.Constants.NEXT_CURSOR_HEADER;
+
+import com.postblog.postservice.entities.PostPage;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.service.PostService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/authors")
+public class AuthorController {
+
+  @Autowired
+  private PostService postService;
+
+  /**
+   * Retrieves a page of the posts of an author, newest first.
+   *
+   * @param author The author.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size   The number of posts wanted.
+   * @return The posts, with the cursor of the next page in the X-Next-Cursor header.
+   */
+  @GetMapping("/{author}/posts")
+  @Operation(summary = "Get a page of the posts of an author, newest first",
+      description = "The cursor of the next page, if any, is returned in the X-Next-Cursor header")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Posts found, possibly none"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor")
+  })
+  public ResponseEntity<List<PostResponse>> getPostsByAuthor(
+      @PathVariable("author") String author,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = "20") int size) {
+    try {
+      PostPage page = postService.getPostsByAuthor(author, cursor, size);
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+      if (page.getNextCursor() != null) {
+        response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+      }
+      return response.body(page.getPosts());
+    } catch (HttpException e) {
+      return ResponseEntity.status(e.getStatusCode()).build();
+    }
+  }
+}
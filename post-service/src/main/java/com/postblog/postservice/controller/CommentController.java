@@ -4,6 +4,7 @@ import com.postblog.postservice.entities.CommentEntity;
 import com.postblog.postservice.entities.CommentResponse;
 import com.postblog.postservice.exceptions.HttpException;
 import com.postblog.postservice.service.CommentService;
+import com.postblog.postservice.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -38,13 +39,14 @@ public class CommentController {
   @Operation(summary = "Get comment details by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Comment found"),
+      @ApiResponse(responseCode = "304", description = "Comment not modified since If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Comment not found")
   })
   public ResponseEntity<CommentResponse> getCommentDetails(
       @PathVariable("commentId") Long commentId) {
     try {
       CommentResponse commentResponse = commentService.getCommentById(commentId);
-      return ResponseEntity.ok(commentResponse);
+      return ResponseEntity.ok().eTag(ETags.of(commentResponse)).body(commentResponse);
     } catch (HttpException e) {
       return ResponseEntity.status(e.getStatusCode()).build();
     }
@@ -0,0 +1,144 @@
+package com.postblog.postservice.controller;
+
+import static com.postblog.postservice.utils.Constants.NDJSON;
+
+import com.postblog.postservice.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams exports on the MVC async executor. Each export runs as a {@link WebAsyncTask} with the
+ * export timeout, so long exports are not held to the request timeout of the other endpoints.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+  private static final String GZIP = "gzip";
+  private static final String X_GZIP = "x-gzip";
+  private static final String ANY_CODING = "*";
+  private static final String QUALITY = "q=";
+
+  @Autowired
+  private ExportService exportService;
+
+  @Value("${export.timeout-ms:3600000}")
+  private long timeoutMs;
+
+  /**
+   * Streams all posts as newline-delimited JSON, in ID order.
+   *
+   * @param afterId        The ID of the last post already received, to resume an export.
+   * @param acceptEncoding The encodings accepted by the client; the export is gzipped if it
+   *                       accepts gzip.
+   * @param response       The response the posts are written to.
+   * @return The task streaming the posts.
+   */
+  @GetMapping(value = "/posts", produces = NDJSON)
+  @Operation(summary = "Export posts as newline-delimited JSON, in ID order",
+      description = "Pass the ID of the last post received as afterId to resume an export")
+  @ApiResponse(responseCode = "200", description = "Posts streamed")
+  public WebAsyncTask<Void> exportPosts(
+      @RequestParam(value = "afterId", required = false) Long afterId,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding, HttpServletResponse response) {
+    return stream(acceptEncoding, response, out -> exportService.exportPosts(afterId, out));
+  }
+
+  /**
+   * Streams all comments as newline-delimited JSON, in ID order.
+   *
+   * @param afterId        The ID of the last comment already received, to resume an export.
+   * @param acceptEncoding The encodings accepted by the client; the export is gzipped if it
+   *                       accepts gzip.
+   * @param response       The response the comments are written to.
+   * @return The task streaming the comments.
+   */
+  @GetMapping(value = "/comments", produces = NDJSON)
+  @Operation(summary = "Export comments as newline-delimited JSON, in ID order",
+      description = "Pass the ID of the last comment received as afterId to resume an export")
+  @ApiResponse(responseCode = "200", description = "Comments streamed")
+  public WebAsyncTask<Void> exportComments(
+      @RequestParam(value = "afterId", required = false) Long afterId,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding, HttpServletResponse response) {
+    return stream(acceptEncoding, response, out -> exportService.exportComments(afterId, out));
+  }
+
+  private WebAsyncTask<Void> stream(String acceptEncoding, HttpServletResponse response,
+      StreamingResponseBody body) {
+    boolean gzip = acceptsGzip(acceptEncoding);
+    response.setContentType(NDJSON);
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+    return new WebAsyncTask<>(timeoutMs, () -> {
+      OutputStream out = response.getOutputStream();
+      if (gzip) {
+        gzip(out, body);
+      } else {
+        body.writeTo(out);
+      }
+      out.flush();
+      return null;
+    });
+  }
+
+  /**
+   * Tells whether an Accept-Encoding header accepts gzip. Its q-value is taken from the gzip
+   * coding if listed, else from the wildcard; a q-value of zero refuses it.
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    double gzipQuality = -1;
+    double anyQuality = -1;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      if (name.equals(GZIP) || name.equals(X_GZIP)) {
+        gzipQuality = Math.max(gzipQuality, quality(parts));
+      } else if (name.equals(ANY_CODING)) {
+        anyQuality = Math.max(anyQuality, quality(parts));
+      }
+    }
+    return (gzipQuality >= 0 ? gzipQuality : anyQuality) > 0;
+  }
+
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+      if (parameter.startsWith(QUALITY)) {
+        try {
+          return Double.parseDouble(parameter.substring(QUALITY.length()).trim());
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private void gzip(OutputStream out, StreamingResponseBody body) throws IOException {
+    GZIPOutputStream gzip = new GZIPOutputStream(out, true);
+    body.writeTo(gzip);
+    gzip.finish();
+  }
+}
@@ -1,14 +1,30 @@
 package com.postblog.postservice.controller;
 
+import static com.postblog.postservice.utils.Constants.CATEGORY_COUNTS_HEADER;
+import static com.postblog.postservice.utils.Constants.CREATED;
+import static com.postblog.postservice.utils.Constants.NEXT_CURSOR_HEADER;
+import static com.postblog.postservice.utils.Constants.TOTAL_COUNT_HEADER;
+
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CategoryMatch;
+import com.postblog.postservice.entities.CategoryPage;
+import com.postblog.postservice.entities.CommentPage;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostBatchItemResult;
 import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostPage;
 import com.postblog.postservice.entities.PostResponse;
 import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.service.CommentService;
 import com.postblog.postservice.service.PostService;
+import com.postblog.postservice.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +35,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -27,17 +44,45 @@ public class PostController {
 
   @Autowired
   private PostService postService;
-  
+
+  @Autowired
+  private CommentService commentService;
+
+  @GetMapping("/search")
+  @Operation(summary = "Search posts by title and content, best matches first")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Matching posts, possibly none"),
+      @ApiResponse(responseCode = "400", description = "Empty query")
+  })
+  public ResponseEntity<List<PostResponse>> searchPosts(@RequestParam("q") String query,
+      @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    try {
+      return ResponseEntity.ok(postService.searchPosts(query, limit));
+    } catch (HttpException e) {
+      return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
+    }
+  }
+
+  @GetMapping("/trending")
+  @Operation(summary = "Get the trending posts, most trending first",
+      description = "Posts are ranked by their recent comments, views and creation")
+  @ApiResponse(responseCode = "200", description = "Trending posts, possibly none")
+  public ResponseEntity<List<PostResponse>> getTrendingPosts(
+      @RequestParam(value = "limit", defaultValue = "10") int limit) {
+    return ResponseEntity.ok(postService.getTrendingPosts(limit));
+  }
+
   @GetMapping("/{postId}")
   @Operation(summary = "Get post details by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Post found"),
+      @ApiResponse(responseCode = "304", description = "Post not modified since If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Post not found")
   })
   public ResponseEntity<PostResponse> getPostDetails(@PathVariable("postId") Long postId) {
     try {
       PostResponse postResponse = postService.getPostById(postId);
-      return ResponseEntity.status(HttpStatus.OK).body(postResponse);
+      return ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(postResponse)).body(postResponse);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
     }
@@ -58,6 +103,28 @@ public class PostController {
     }
   }
 
+  @PostMapping("/batch")
+  @Operation(summary = "Create many posts at once",
+      description = "Returns one result per post, in request order, with the ID of the created "
+          + "post or the reason it was not created")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "All posts created"),
+      @ApiResponse(responseCode = "207", description = "Some posts not created"),
+      @ApiResponse(responseCode = "400", description = "Empty batch"),
+      @ApiResponse(responseCode = "413", description = "Batch too large")
+  })
+  public ResponseEntity<List<PostBatchItemResult>> savePosts(
+      @RequestBody List<PostEntity> posts) {
+    try {
+      List<PostBatchItemResult> results = postService.createPosts(posts);
+      boolean allCreated = results.stream().allMatch(result -> result.getStatus() == CREATED);
+      return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+          .body(results);
+    } catch (HttpException e) {
+      return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
+    }
+  }
+
   @PutMapping("/{postId}")
   @Operation(summary = "Update an existing post by ID")
   @ApiResponses(value = {
@@ -75,15 +142,70 @@ public class PostController {
   }
 
   @GetMapping
-  @Operation(summary = "Get all posts")
+  @Operation(summary = "Get a page of posts, newest first",
+      description = "Posts are ordered by creation date, then ID, newest first, whether or not "
+          + "they are filtered by category. "
+          + "The cursor of the next page, if any, is returned in the X-Next-Cursor header. "
+          + "When filtering by category, the number of matching posts is returned in the "
+          + "X-Total-Count header and their number per category in the X-Category-Counts header")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Posts found"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor"),
       @ApiResponse(responseCode = "404", description = "No posts found")
   })
-  public ResponseEntity<List<PostResponse>> getAllPosts() {
+  public ResponseEntity<List<PostResponse>> getAllPosts(
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = "20") int size,
+      @RequestParam(value = "category", required = false) Set<Category> categories,
+      @RequestParam(value = "match", defaultValue = "ANY") CategoryMatch match) {
+    try {
+      if (categories != null && !categories.isEmpty()) {
+        return getPostsByCategories(categories, match, cursor, size);
+      }
+      PostPage page = postService.getPosts(cursor, size);
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+      if (page.getNextCursor() != null) {
+        response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+      }
+      return response.body(page.getPosts());
+    } catch (HttpException e) {
+      return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
+    }
+  }
+
+  private ResponseEntity<List<PostResponse>> getPostsByCategories(Set<Category> categories,
+      CategoryMatch match, String cursor, int size) {
+    CategoryPage page = postService.getPostsByCategories(categories, match, cursor, size);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotal()))
+        .header(CATEGORY_COUNTS_HEADER, page.getCategoryCounts().entrySet().stream()
+            .map(count -> count.getKey() + "=" + count.getValue())
+            .collect(Collectors.joining(",")));
+    if (page.getNextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(page.getPosts());
+  }
+
+  @GetMapping("/{postId}/comments")
+  @Operation(summary = "Get a page of the comments of a post, oldest first",
+      description = "The cursor of the next page, if any, is returned in the X-Next-Cursor header")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Comments found"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+      @ApiResponse(responseCode = "404", description = "Post not found")
+  })
+  public ResponseEntity<List<CommentResponse>> getCommentsByPostId(
+      @PathVariable("postId") Long postId,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = "20") int size) {
     try {
-      List<PostResponse> postResponses = postService.getAllPosts();
-      return ResponseEntity.ok(postResponses);
+      CommentPage page = commentService.getCommentsByPostId(postId, cursor, size);
+      ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+      if (page.getNextCursor() != null) {
+        response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+      }
+      return response.body(page.getComments());
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
     }
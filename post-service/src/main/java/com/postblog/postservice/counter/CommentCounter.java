@@ -0,0 +1,174 @@
+package com.postblog.postservice.counter;
+
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.utils.Transactions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the denormalized comment count of each post.
+ *
+ * <p>Comment writes add a delta to an in-memory map keyed by post ID; the map locks per bin, so
+ * writers to different posts do not contend. {@link #flush()} drains the deltas every flush
+ * interval and applies them to the comment_count column in JDBC batches, and once more on
+ * shutdown. {@link #reconcile()} periodically recounts the comments of every post to correct any
+ * drift, for example deltas lost when the service is killed between two flushes.
+ */
+@Component
+public class CommentCounter implements MeterBinder {
+
+  private static final String ADD_COMMENT_COUNT =
+      "update posts_db set comment_count = comment_count + ? where id = ?";
+
+  private final Map<Long, Long> deltas = new ConcurrentHashMap<>();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PostRepository postRepository;
+  private final PostResponseCache postCache;
+  private final int flushBatchSize;
+  private final int reconcileChunkSize;
+
+  public CommentCounter(JdbcTemplate jdbcTemplate, PostRepository postRepository,
+      PostResponseCache postCache,
+      @Value("${comments.count.flush-batch-size:500}") int flushBatchSize,
+      @Value("${comments.count.reconcile-chunk-size:1000}") int reconcileChunkSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.postRepository = postRepository;
+    this.postCache = postCache;
+    this.flushBatchSize = flushBatchSize;
+    this.reconcileChunkSize = reconcileChunkSize;
+  }
+
+  /**
+   * Counts a comment added to a post. Inside a transaction the change is counted after commit.
+   *
+   * @param postId The ID of the post.
+   */
+  public void increment(Long postId) {
+    add(postId, 1);
+  }
+
+  /**
+   * Counts a comment removed from a post. Inside a transaction the change is counted after commit.
+   *
+   * @param postId The ID of the post.
+   */
+  public void decrement(Long postId) {
+    add(postId, -1);
+  }
+
+  /**
+   * Applies the pending changes to the comment_count column in batches and evicts the posts
+   * changed from the response cache. If the update fails the changes are put back, to be retried
+   * by the next flush.
+   */
+  @Scheduled(fixedDelayString = "${comments.count.flush-interval-ms:1000}")
+  public synchronized void flush() {
+    List<Object[]> updates = new ArrayList<>();
+    for (Long postId : deltas.keySet()) {
+      Long delta = deltas.remove(postId);
+      if (delta != null && delta != 0) {
+        updates.add(new Object[]{delta, postId});
+      }
+    }
+    if (updates.isEmpty()) {
+      return;
+    }
+    try {
+      jdbcTemplate.batchUpdate(ADD_COMMENT_COUNT, updates, flushBatchSize,
+          (statement, update) -> {
+            statement.setLong(1, (Long) update[0]);
+            statement.setLong(2, (Long) update[1]);
+          });
+    } catch (RuntimeException e) {
+      for (Object[] update : updates) {
+        deltas.merge((Long) update[1], (Long) update[0], Long::sum);
+      }
+      throw e;
+    }
+    for (Object[] update : updates) {
+      postCache.invalidate((Long) update[1]);
+    }
+  }
+
+  /**
+   * Recounts the comments of every post and corrects the counts that drifted, one range of post
+   * IDs at a time so no update holds many row locks for long. The posts corrected are evicted from
+   * the response cache.
+   *
+   * @return The number of posts whose count was corrected.
+   */
+  @Scheduled(fixedDelayString = "${comments.count.reconcile-interval-ms:3600000}",
+      initialDelayString = "${comments.count.reconcile-interval-ms:3600000}")
+  public int reconcile() {
+    Long maxId = postRepository.findMaxId();
+    int corrected = 0;
+    for (long afterId = 0; maxId != null && afterId < maxId; afterId += reconcileChunkSize) {
+      corrected += reconcile(afterId, afterId + reconcileChunkSize);
+    }
+    return corrected;
+  }
+
+  /**
+   * Writes the pending changes before the service stops.
+   */
+  @PreDestroy
+  public void close() {
+    flush();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("comments.count.pending.posts", deltas, Map::size)
+        .description("Posts whose comment count changed since the last flush")
+        .register(registry);
+  }
+
+  /**
+   * Recounts the posts of a range whose count drifted. A change is pending only once its comment
+   * committed, so the changes pending before the recount are already in it and are taken out;
+   * holding the lock keeps a flush from applying them in between. The changes of comments
+   * committed while the recount runs stay pending for the next flush. If the recount fails, the
+   * changes taken out are put back.
+   */
+  private synchronized int reconcile(long afterId, long toId) {
+    List<Long> drifted = postRepository.findIdsWithDriftedCommentCount(afterId, toId);
+    if (drifted.isEmpty()) {
+      return 0;
+    }
+    Map<Long, Long> counted = new HashMap<>();
+    for (Long postId : drifted) {
+      Long delta = deltas.remove(postId);
+      if (delta != null) {
+        counted.put(postId, delta);
+      }
+    }
+    int corrected;
+    try {
+      corrected = postRepository.recountComments(drifted);
+    } catch (RuntimeException e) {
+      counted.forEach((postId, delta) -> deltas.merge(postId, delta, Long::sum));
+      throw e;
+    }
+    drifted.forEach(postCache::invalidate);
+    return corrected;
+  }
+
+  private void add(Long postId, long delta) {
+    if (postId != null) {
+      Transactions.afterCommit(() -> deltas.merge(postId, delta, Long::sum));
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.postblog.postservice.counter;
+
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.ranking.TrendingRanking;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts post views in memory and writes them behind to the view_count column.
+ *
+ * <p>Each post has a {@link LongAdder}, so recording a view is a map lookup and an increment on a
+ * cell striped by thread, with no lock and no database access. Views are flushed in JDBC batches
+ * once the flush interval has elapsed or the number of unflushed views reaches the maximum,
+ * whichever comes first, and once more on shutdown. Adders are drained with
+ * {@link LongAdder#sumThenReset()}, which never drops a concurrent increment, adders of posts no
+ * longer viewed are retired so that a view racing with the retirement is counted again, and a
+ * failed flush puts its views back: every view is written at least once.
+ */
+@Component
+public class ViewCounter implements MeterBinder {
+
+  private static final String ADD_VIEW_COUNT =
+      "update posts_db set view_count = view_count + ? where id = ?";
+
+  private final Map<Long, Views> views = new ConcurrentHashMap<>();
+  private final LongAdder unflushed = new LongAdder();
+  private volatile long lastFlush = System.nanoTime();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TrendingRanking trendingRanking;
+  private final PostResponseCache postCache;
+  private final long flushIntervalNanos;
+  private final long maxUnflushed;
+  private final int flushBatchSize;
+
+  public ViewCounter(JdbcTemplate jdbcTemplate, TrendingRanking trendingRanking,
+      PostResponseCache postCache,
+      @Value("${posts.views.flush-interval-ms:5000}") long flushIntervalMs,
+      @Value("${posts.views.max-unflushed:10000}") long maxUnflushed,
+      @Value("${posts.views.flush-batch-size:500}") int flushBatchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.trendingRanking = trendingRanking;
+    this.postCache = postCache;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    this.maxUnflushed = maxUnflushed;
+    this.flushBatchSize = flushBatchSize;
+  }
+
+  /**
+   * Counts a view of a post.
+   *
+   * @param postId The ID of the post viewed.
+   */
+  public void record(Long postId) {
+    Views postViews;
+    do {
+      postViews = views.get(postId);
+      if (postViews == null) {
+        postViews = views.computeIfAbsent(postId, id -> new Views());
+      }
+      postViews.count.increment();
+    } while (postViews.retired);
+    unflushed.increment();
+  }
+
+  /**
+   * Flushes the views if the flush interval has elapsed or too many views are unflushed. Checked
+   * often, so the size threshold is honoured without adding work to {@link #record(Long)}.
+   */
+  @Scheduled(fixedDelayString = "${posts.views.check-interval-ms:100}")
+  public void flushIfDue() {
+    if (unflushed.sum() >= maxUnflushed || System.nanoTime() - lastFlush >= flushIntervalNanos) {
+      flush();
+    }
+  }
+
+  /**
+   * Adds the views counted since the last flush to the view_count column in batches, then scores
+   * them in the trending ranking and evicts the posts viewed from the response cache, so their
+   * next read returns the new count.
+   *
+   * <p>Posts not viewed since the last flush are retired: marked, removed from the map and drained
+   * one last time. A view that finds its counter retired after incrementing it may have missed
+   * that drain, so it is counted again in a fresh counter. Such a view can be written twice, so
+   * the unflushed count restarts from zero at each flush rather than being decremented by the
+   * views written, which would let it drift below zero across flushes.
+   *
+   * @return The number of views written.
+   */
+  public synchronized long flush() {
+    lastFlush = System.nanoTime();
+    unflushed.reset();
+    List<Object[]> updates = new ArrayList<>();
+    for (Map.Entry<Long, Views> entry : views.entrySet()) {
+      Views postViews = entry.getValue();
+      long count = postViews.count.sumThenReset();
+      if (count == 0) {
+        postViews.retired = true;
+        views.remove(entry.getKey(), postViews);
+        count = postViews.count.sumThenReset();
+      }
+      if (count != 0) {
+        updates.add(new Object[]{count, entry.getKey()});
+      }
+    }
+    if (updates.isEmpty()) {
+      return 0;
+    }
+    try {
+      jdbcTemplate.batchUpdate(ADD_VIEW_COUNT, updates, flushBatchSize,
+          (statement, update) -> {
+            statement.setLong(1, (Long) update[0]);
+            statement.setLong(2, (Long) update[1]);
+          });
+    } catch (RuntimeException e) {
+      for (Object[] update : updates) {
+        views.computeIfAbsent((Long) update[1], postId -> new Views()).count
+            .add((Long) update[0]);
+        unflushed.add((Long) update[0]);
+      }
+      throw e;
+    }
+    long total = 0;
+    for (Object[] update : updates) {
+      total += (Long) update[0];
+      trendingRanking.recordViews((Long) update[1], (Long) update[0]);
+      postCache.invalidate((Long) update[1]);
+    }
+    return total;
+  }
+
+  /**
+   * Writes the views still in memory before the service stops.
+   */
+  @PreDestroy
+  public void close() {
+    flush();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("posts.views.unflushed", unflushed, LongAdder::sum)
+        .description("Post views counted but not written to the database yet")
+        .register(registry);
+  }
+
+  private static final class Views {
+
+    private final LongAdder count = new LongAdder();
+    private volatile boolean retired;
+  }
+}
@@ -0,0 +1,15 @@
+package com.postblog.postservice.entities;
+
+/**
+ * How posts are matched against several categories.
+ */
+public enum CategoryMatch {
+  /**
+   * The post has at least one of the categories.
+   */
+  ANY,
+  /**
+   * The post has all of the categories.
+   */
+  ALL
+}
@@ -0,0 +1,22 @@
+package com.postblog.postservice.entities;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryPage {
+
+  private List<PostResponse> posts;
+  private String nextCursor;
+  private long total;
+  private Map<Category, Long> categoryCounts;
+}
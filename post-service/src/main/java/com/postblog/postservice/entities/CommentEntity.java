@@ -6,6 +6,7 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -32,7 +33,9 @@ import org.springframework.web.util.HtmlUtils;
 @EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "comment_db")
+@Table(name = "comment_db", indexes = {
+    @Index(name = "idx_comment_post_id_create_at_id", columnList = "post_id, create_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class CommentEntity {
 
@@ -0,0 +1,19 @@
+package com.postblog.postservice.entities;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentPage {
+
+  private List<CommentResponse> comments;
+  private String nextCursor;
+}
@@ -20,4 +20,5 @@ public class CommentResponse {
   private Long authorId;
   private LocalDateTime createAt;
   private PostResponse post;
+  private LocalDateTime lastModifiedDate;
 }
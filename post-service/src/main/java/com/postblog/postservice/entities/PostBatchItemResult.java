@@ -0,0 +1,20 @@
+package com.postblog.postservice.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@Builder
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostBatchItemResult {
+
+  private int index;
+  private int status;
+  private Long id;
+  private String error;
+}
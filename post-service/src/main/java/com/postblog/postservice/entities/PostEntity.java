@@ -11,6 +11,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
@@ -26,6 +27,11 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -40,11 +46,29 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "posts_db")
+@BatchSize(size = 50)
+@Table(name = "posts_db", indexes = {
+    @Index(name = "idx_posts_create_at_id", columnList = "create_at, id"),
+    @Index(name = "idx_posts_author_create_at_id", columnList = "author, create_at, id")
+})
 public class PostEntity {
 
+  public static final String ID_SEQUENCE = "posts_seq";
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  /**
+   * Pooled ID generator, backed by a one-row table on every database (MySQL has no sequences) so
+   * that {@link com.postblog.postservice.repository.PostIdSequence} can keep it ahead of existing
+   * IDs.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @GenericGenerator(name = ID_SEQUENCE, type = SequenceStyleGenerator.class, parameters = {
+      @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = ID_SEQUENCE),
+      @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+      @Parameter(name = SequenceStyleGenerator.FORCE_TBL_PARAM, value = "true"),
+      @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled")
+  })
   @Column(name = "id")
   private Long id;
 
@@ -64,8 +88,26 @@ public class PostEntity {
 
   @ElementCollection(targetClass = Category.class)
   @Enumerated(EnumType.STRING)
+  @BatchSize(size = 50)
   private Set<Category> categories;
 
+  /**
+   * Number of comments on the post, maintained by
+   * {@link com.postblog.postservice.counter.CommentCounter}. It is never written through the
+   * entity, so saving a post cannot overwrite a concurrent counter flush.
+   */
+  @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+  @ColumnDefault("0")
+  private long commentCount;
+
+  /**
+   * Number of times the post was read, written behind by
+   * {@link com.postblog.postservice.counter.ViewCounter}.
+   */
+  @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+  @ColumnDefault("0")
+  private long viewCount;
+
   @Column(name = "create_at")
   @CreatedDate
   private LocalDateTime createAt;
@@ -80,6 +122,9 @@ public class PostEntity {
   @Temporal(TemporalType.TIMESTAMP)
   private LocalDateTime lastModifiedDate;
 
-  @OneToMany(fetch = FetchType.EAGER, mappedBy = "post", cascade = CascadeType.ALL)
+  @OneToMany(fetch = FetchType.LAZY, mappedBy = "post", cascade = CascadeType.ALL)
+  @BatchSize(size = 50)
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
   private List<CommentEntity> comments;
 }
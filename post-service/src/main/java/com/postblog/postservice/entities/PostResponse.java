@@ -21,6 +21,9 @@ public class PostResponse {
   private String author;
   private Set<Category> categories;
   private LocalDateTime createAt;
+  private long commentCount;
+  private long viewCount;
+  private LocalDateTime lastModifiedDate;
 
 }
 
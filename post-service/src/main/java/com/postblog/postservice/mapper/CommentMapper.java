@@ -0,0 +1,36 @@
+package com.postblog.postservice.mapper;
+
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.CommentResponse;
+
+/**
+ * Maps comment entities to their API responses.
+ */
+public class CommentMapper {
+
+  private final PostMapper postMapper;
+
+  public CommentMapper(PostMapper postMapper) {
+    this.postMapper = postMapper;
+  }
+
+  /**
+   * Maps a comment entity to its response, including the post it belongs to.
+   *
+   * @param comment The comment entity, may be null.
+   * @return The comment response, or null if the comment is null.
+   */
+  public CommentResponse toResponse(CommentEntity comment) {
+    if (comment == null) {
+      return null;
+    }
+    return CommentResponse.builder()
+        .id(comment.getId())
+        .content(comment.getContent())
+        .authorId(comment.getAuthorId())
+        .createAt(comment.getCreateAt())
+        .post(postMapper.toResponse(comment.getPost()))
+        .lastModifiedDate(comment.getLastModifiedDate())
+        .build();
+  }
+}
@@ -0,0 +1,35 @@
+package com.postblog.postservice.mapper;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import java.util.HashSet;
+
+/**
+ * Maps post entities to their API responses.
+ */
+public class PostMapper {
+
+  /**
+   * Maps a post entity to its response. The categories are copied, so the response does not hold
+   * on to the entity's persistent collection.
+   *
+   * @param post The post entity, may be null.
+   * @return The post response, or null if the post is null.
+   */
+  public PostResponse toResponse(PostEntity post) {
+    if (post == null) {
+      return null;
+    }
+    return PostResponse.builder()
+        .id(post.getId())
+        .title(post.getTitle())
+        .content(post.getContent())
+        .author(post.getAuthor())
+        .categories(post.getCategories() == null ? null : new HashSet<>(post.getCategories()))
+        .createAt(post.getCreateAt())
+        .commentCount(post.getCommentCount())
+        .viewCount(post.getViewCount())
+        .lastModifiedDate(post.getLastModifiedDate())
+        .build();
+  }
+}
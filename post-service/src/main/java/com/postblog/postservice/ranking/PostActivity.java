@@ -0,0 +1,15 @@
+package com.postblog.postservice.ranking;
+
+import java.time.LocalDateTime;
+
+/**
+ * The creation date and activity counts of a post, read without loading the post entity.
+ *
+ * @param id           The ID of the post.
+ * @param createAt     The creation date of the post.
+ * @param commentCount The number of comments on the post.
+ * @param viewCount    The number of views of the post.
+ */
+public record PostActivity(Long id, LocalDateTime createAt, long commentCount, long viewCount) {
+
+}
@@ -0,0 +1,266 @@
+package com.postblog.postservice.ranking;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.utils.Transactions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory ranking of trending posts by a time-decayed activity score.
+ *
+ * <p>Every event adds its weight to the score of its post, decayed by half every half-life. Scores
+ * are kept as the logarithm of the weights scaled up to a fixed epoch instead of being decayed in
+ * place: the order of two scores never changes as time passes and an event only touches its own
+ * post. Scores therefore only grow, and a bounded set of the best posts is kept up to date
+ * incrementally: a post enters it when its score passes the lowest one, which is then evicted.
+ * A deleted post leaves the set without a replacement, so the capacity is kept well above the
+ * longest list served.
+ *
+ * <p>Posts score their creation, their comments and their views. The ranking is rebuilt on startup
+ * from the posts created within the rebuild window, their comments and views counted at their
+ * creation date.
+ */
+@Component
+public class TrendingRanking implements MeterBinder {
+
+  private static final ZoneId ZONE = ZoneId.systemDefault();
+
+  private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+  private final NavigableSet<Ranked> top = new TreeSet<>();
+  private final Map<Long, Ranked> topByPost = new HashMap<>();
+  private volatile long version;
+  private volatile Snapshot snapshot = new Snapshot(0, new Long[0]);
+
+  private final PostRepository postRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final double decayMillis;
+  private final int capacity;
+  private final double postWeight;
+  private final double commentWeight;
+  private final double viewWeight;
+  private final Duration rebuildWindow;
+
+  public TrendingRanking(PostRepository postRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${posts.trending.half-life-hours:12}") double halfLifeHours,
+      @Value("${posts.trending.capacity:1000}") int capacity,
+      @Value("${posts.trending.weight.post:10}") double postWeight,
+      @Value("${posts.trending.weight.comment:5}") double commentWeight,
+      @Value("${posts.trending.weight.view:1}") double viewWeight,
+      @Value("${posts.trending.rebuild-window-days:7}") long rebuildWindowDays) {
+    this.postRepository = postRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.decayMillis = Duration.ofMinutes(Math.round(halfLifeHours * 60)).toMillis() / Math.log(2);
+    this.capacity = capacity;
+    this.postWeight = postWeight;
+    this.commentWeight = commentWeight;
+    this.viewWeight = viewWeight;
+    this.rebuildWindow = Duration.ofDays(rebuildWindowDays);
+  }
+
+  /**
+   * Returns the IDs of the trending posts, best first.
+   *
+   * @param limit The maximum number of IDs returned.
+   * @return The IDs of the trending posts.
+   */
+  public List<Long> top(int limit) {
+    Snapshot current = snapshot;
+    if (current.version != version) {
+      current = refreshSnapshot();
+    }
+    Long[] postIds = current.postIds;
+    return List.of(Arrays.copyOf(postIds, Math.min(Math.max(limit, 0), postIds.length)));
+  }
+
+  /**
+   * Scores the creation of a post at its creation date. Inside a transaction the event is scored
+   * after commit.
+   *
+   * @param post The post that was created.
+   */
+  public void recordPost(PostEntity post) {
+    if (post == null || post.getId() == null) {
+      return;
+    }
+    Long postId = post.getId();
+    long createdAt = post.getCreateAt() == null
+        ? System.currentTimeMillis() : toMillis(post.getCreateAt());
+    Transactions.afterCommit(() -> add(postId, postWeight, createdAt));
+  }
+
+  /**
+   * Scores a comment on a post. Inside a transaction the event is scored after commit.
+   *
+   * @param postId The ID of the post commented.
+   */
+  public void recordComment(Long postId) {
+    if (postId != null) {
+      long now = System.currentTimeMillis();
+      Transactions.afterCommit(() -> add(postId, commentWeight, now));
+    }
+  }
+
+  /**
+   * Scores views of a post.
+   *
+   * @param postId The ID of the post viewed.
+   * @param views  The number of views.
+   */
+  public void recordViews(Long postId, long views) {
+    if (postId != null && views > 0) {
+      add(postId, views * viewWeight, System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Removes a post from the ranking. Inside a transaction the post is removed after commit.
+   *
+   * @param postId The ID of the post that was deleted.
+   */
+  public void remove(Long postId) {
+    if (postId != null) {
+      Transactions.afterCommit(() -> {
+        scores.remove(postId);
+        offer(postId);
+      });
+    }
+  }
+
+  /**
+   * Rebuilds the ranking from the posts created within the rebuild window.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    synchronized (this) {
+      scores.clear();
+      top.clear();
+      topByPost.clear();
+      version++;
+    }
+    LocalDateTime since = LocalDateTime.now().minus(rebuildWindow);
+    readOnlyTransaction.executeWithoutResult(status -> {
+      try (Stream<PostActivity> posts = postRepository.streamActivitySince(since)) {
+        posts.forEach(post -> {
+          long createdAt = toMillis(post.createAt());
+          double activity = post.commentCount() * commentWeight + post.viewCount() * viewWeight;
+          add(post.id(), postWeight + activity, createdAt);
+        });
+      }
+    });
+  }
+
+  /**
+   * Forgets the posts outside the ranking whose decayed score fell below a hundredth of a view, so
+   * the scores of old posts do not accumulate. Such a post starts again from its next event.
+   */
+  @Scheduled(fixedDelayString = "${posts.trending.prune-interval-ms:3600000}")
+  public void prune() {
+    double threshold = logWeight(viewWeight / 100, System.currentTimeMillis());
+    synchronized (this) {
+      scores.entrySet().removeIf(entry -> entry.getValue() < threshold
+          && !topByPost.containsKey(entry.getKey()));
+    }
+  }
+
+  public int size() {
+    return scores.size();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("posts.trending.scored", scores, Map::size)
+        .description("Posts with a trending score")
+        .register(registry);
+  }
+
+  private void add(Long postId, double weight, long epochMillis) {
+    if (weight <= 0) {
+      return;
+    }
+    scores.merge(postId, logWeight(weight, epochMillis), TrendingRanking::logSum);
+    offer(postId);
+  }
+
+  private synchronized void offer(Long postId) {
+    Double score = scores.get(postId);
+    Ranked previous = topByPost.remove(postId);
+    if (previous != null) {
+      top.remove(previous);
+    }
+    if (score == null) {
+      version++;
+      return;
+    }
+    if (previous == null && top.size() >= capacity) {
+      Ranked lowest = top.first();
+      if (score <= lowest.score) {
+        return;
+      }
+      top.pollFirst();
+      topByPost.remove(lowest.postId);
+    }
+    Ranked ranked = new Ranked(postId, score);
+    top.add(ranked);
+    topByPost.put(postId, ranked);
+    version++;
+  }
+
+  private synchronized Snapshot refreshSnapshot() {
+    Long[] postIds = new Long[top.size()];
+    Iterator<Ranked> best = top.descendingIterator();
+    for (int i = 0; i < postIds.length; i++) {
+      postIds[i] = best.next().postId;
+    }
+    snapshot = new Snapshot(version, postIds);
+    return snapshot;
+  }
+
+  private double logWeight(double weight, long epochMillis) {
+    return Math.log(weight) + epochMillis / decayMillis;
+  }
+
+  private static double logSum(double a, double b) {
+    double max = Math.max(a, b);
+    return max + Math.log1p(Math.exp(-Math.abs(a - b)));
+  }
+
+  private static long toMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+  }
+
+  private record Snapshot(long version, Long[] postIds) {
+
+  }
+
+  private record Ranked(Long postId, double score) implements Comparable<Ranked> {
+
+    @Override
+    public int compareTo(Ranked other) {
+      int byScore = Double.compare(score, other.score);
+      return byScore != 0 ? byScore : Long.compare(postId, other.postId);
+    }
+  }
+}
@@ -1,9 +1,36 @@
 package com.postblog.postservice.repository;
 
+import static com.postblog.postservice.utils.Constants.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 import com.postblog.postservice.entities.CommentEntity;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
 
+  @Query("select c from CommentEntity c join fetch c.post where c.post.id = :postId "
+      + "order by c.createAt, c.id")
+  List<CommentEntity> findFirstPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+  @Query("select c from CommentEntity c join fetch c.post where c.post.id = :postId "
+      + "and (c.createAt > :createAt or (c.createAt = :createAt and c.id > :id)) "
+      + "order by c.createAt, c.id")
+  List<CommentEntity> findPageByPostIdAfter(@Param("postId") Long postId,
+      @Param("createAt") LocalDateTime createAt, @Param("id") Long id, Pageable pageable);
+
+  @Query("select c from CommentEntity c join fetch c.post where c.id > :afterId order by c.id")
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+      @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<CommentEntity> streamAfter(@Param("afterId") Long afterId);
 }
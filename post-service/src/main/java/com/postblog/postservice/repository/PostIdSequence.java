@@ -0,0 +1,43 @@
+package com.postblog.postservice.repository;
+
+import com.postblog.postservice.entities.PostEntity;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the table backing the post ID generator ahead of the IDs already in posts_db.
+ *
+ * <p>The pooled generator reads next_val from the posts_seq table and hands out the block of
+ * {@link PostEntity#ID_ALLOCATION_SIZE} IDs that ends at the value read. On a database whose
+ * posts were inserted before the generator existed, Hibernate creates the table at 1, so the
+ * first blocks would reuse those IDs. Once the schema is updated and before the first insert,
+ * next_val is therefore raised to a whole block above the highest ID. It is never lowered, so an
+ * instance starting while others already allocate IDs does not hand out their blocks again.
+ */
+@Component
+public class PostIdSequence {
+
+  private static final String RAISE_NEXT_VAL =
+      "update " + PostEntity.ID_SEQUENCE + " set next_val = ? where next_val < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PostRepository postRepository;
+
+  public PostIdSequence(JdbcTemplate jdbcTemplate, PostRepository postRepository) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.postRepository = postRepository;
+  }
+
+  /**
+   * Raises next_val so that the next block of IDs starts after the highest post ID.
+   */
+  @PostConstruct
+  public void seed() {
+    Long maxId = postRepository.findMaxId();
+    if (maxId != null) {
+      long nextVal = maxId + PostEntity.ID_ALLOCATION_SIZE;
+      jdbcTemplate.update(RAISE_NEXT_VAL, nextVal, nextVal);
+    }
+  }
+}
@@ -1,9 +1,80 @@
 package com.postblog.postservice.repository;
 
+import static com.postblog.postservice.utils.Constants.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.ranking.PostActivity;
+import com.postblog.postservice.search.PostCategory;
+import com.postblog.postservice.search.PostText;
+import com.postblog.postservice.timeline.TimelineEntry;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface PostRepository extends JpaRepository<PostEntity, Long> {
 
+  @Query("select p from PostEntity p order by p.createAt desc, p.id desc")
+  List<PostEntity> findFirstPage(Pageable pageable);
+
+  @Query("select p from PostEntity p where p.createAt < :createAt "
+      + "or (p.createAt = :createAt and p.id < :id) order by p.createAt desc, p.id desc")
+  List<PostEntity> findPageAfter(@Param("createAt") LocalDateTime createAt, @Param("id") Long id,
+      Pageable pageable);
+
+  @Query("select new com.postblog.postservice.timeline.TimelineEntry(p.id, p.createAt) "
+      + "from PostEntity p where p.author = :author order by p.createAt desc, p.id desc")
+  List<TimelineEntry> findTimeline(@Param("author") String author, Pageable pageable);
+
+  @Query("select new com.postblog.postservice.timeline.TimelineEntry(p.id, p.createAt) "
+      + "from PostEntity p where p.author = :author and (p.createAt < :createAt "
+      + "or (p.createAt = :createAt and p.id < :id)) order by p.createAt desc, p.id desc")
+  List<TimelineEntry> findTimelineAfter(@Param("author") String author,
+      @Param("createAt") LocalDateTime createAt, @Param("id") Long id, Pageable pageable);
+
+  @Query("select p from PostEntity p where p.id > :afterId order by p.id")
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+      @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<PostEntity> streamAfter(@Param("afterId") Long afterId);
+
+  @Query("select new com.postblog.postservice.search.PostText(p.id, p.title, p.content) "
+      + "from PostEntity p")
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  Stream<PostText> streamTexts();
+
+  @Query("select new com.postblog.postservice.search.PostCategory(p.id, p.createAt, c) "
+      + "from PostEntity p join p.categories c order by p.createAt, p.id")
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  Stream<PostCategory> streamCategories();
+
+  @Query("select new com.postblog.postservice.ranking.PostActivity(p.id, p.createAt, "
+      + "p.commentCount, p.viewCount) from PostEntity p where p.createAt >= :since")
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  Stream<PostActivity> streamActivitySince(@Param("since") LocalDateTime since);
+
+  @Query("select max(p.id) from PostEntity p")
+  Long findMaxId();
+
+  @Query("select p.id from PostEntity p where p.id > :afterId and p.id <= :toId "
+      + "and p.commentCount <> (select count(c) from CommentEntity c where c.post = p)")
+  List<Long> findIdsWithDriftedCommentCount(@Param("afterId") Long afterId,
+      @Param("toId") Long toId);
+
+  @Transactional
+  @Modifying
+  @Query("update PostEntity p set p.commentCount = "
+      + "(select count(c) from CommentEntity c where c.post = p) where p.id in :ids")
+  int recountComments(@Param("ids") Collection<Long> ids);
 }
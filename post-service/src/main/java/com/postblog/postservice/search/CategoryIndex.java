@@ -0,0 +1,196 @@
+package com.postblog.postservice.search;
+
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CategoryMatch;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.timeline.TimelineEntry;
+import com.postblog.postservice.utils.Transactions;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-process index holding, for each category, a compressed bitmap of the IDs of the posts in it.
+ * Filters and facet counts are bitmap intersections and unions instead of joins on the category
+ * table. The index is rebuilt from the database on startup and kept up to date as posts are
+ * written.
+ *
+ * <p>Sequence IDs are allocated in pools, so ID order is not creation order. Pages are listed
+ * from a {@link PostOrder} of the categorized posts by creation date, then ID, as the unfiltered
+ * pages are, walked newest first and filtered by the matching bitmap. Posts that lose all their
+ * categories stay in the order, where no filter matches them, until they make up a quarter of it
+ * and the order is compacted.
+ */
+@Component
+public class CategoryIndex {
+
+  private final Map<Category, Roaring64NavigableMap> bitmaps = new EnumMap<>(Category.class);
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private PostOrder order = new PostOrder();
+  private int uncategorized;
+
+  private final PostRepository postRepository;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public CategoryIndex(PostRepository postRepository,
+      PlatformTransactionManager transactionManager) {
+    this.postRepository = postRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    for (Category category : Category.values()) {
+      bitmaps.put(category, new Roaring64NavigableMap());
+    }
+  }
+
+  /**
+   * Selects a page of the posts matching the given categories, newest first, and counts the
+   * matching posts per category.
+   *
+   * @param categories The categories to filter on, not empty.
+   * @param match      Whether a post needs any or all of the categories.
+   * @param after      The last post of the previous page, or null for the first page.
+   * @param limit      The maximum number of posts in the page.
+   * @return The page of matching posts and their counts.
+   */
+  public CategorySelection select(Set<Category> categories, CategoryMatch match,
+      TimelineEntry after, int limit) {
+    lock.readLock().lock();
+    try {
+      Roaring64NavigableMap matching = null;
+      for (Category category : categories) {
+        if (matching == null) {
+          matching = copy(bitmaps.get(category));
+        } else if (match == CategoryMatch.ALL) {
+          matching.and(bitmaps.get(category));
+        } else {
+          matching.or(bitmaps.get(category));
+        }
+      }
+      if (matching == null) {
+        matching = new Roaring64NavigableMap();
+      }
+      Map<Category, Long> counts = new EnumMap<>(Category.class);
+      for (Category category : Category.values()) {
+        Roaring64NavigableMap inCategory = copy(matching);
+        inCategory.and(bitmaps.get(category));
+        counts.put(category, inCategory.getLongCardinality());
+      }
+      return new CategorySelection(page(matching, after, limit), matching.getLongCardinality(),
+          counts);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Sets the categories of a post. Inside a transaction the change is applied after commit.
+   *
+   * @param post The post that was created or updated.
+   */
+  public void index(PostEntity post) {
+    if (post == null || post.getId() == null) {
+      return;
+    }
+    Long postId = post.getId();
+    long createKey = PostOrder.createKey(post.getCreateAt());
+    Set<Category> categories = post.getCategories() == null || post.getCategories().isEmpty()
+        ? EnumSet.noneOf(Category.class) : EnumSet.copyOf(post.getCategories());
+    Transactions.afterCommit(() -> put(postId, createKey, categories));
+  }
+
+  /**
+   * Removes a post from every category. Inside a transaction the change is applied after commit.
+   *
+   * @param postId The ID of the post that was deleted.
+   */
+  public void remove(Long postId) {
+    if (postId != null) {
+      Transactions.afterCommit(() -> put(postId, 0, EnumSet.noneOf(Category.class)));
+    }
+  }
+
+  /**
+   * Rebuilds the index from the database, reading the category rows as a stream in creation
+   * order.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    Map<Category, Roaring64NavigableMap> rebuilt = new EnumMap<>(Category.class);
+    for (Category category : Category.values()) {
+      rebuilt.put(category, new Roaring64NavigableMap());
+    }
+    PostOrder rebuiltOrder = new PostOrder();
+    readOnlyTransaction.executeWithoutResult(status -> {
+      try (Stream<PostCategory> rows = postRepository.streamCategories()) {
+        rows.forEach(row -> {
+          rebuilt.get(row.category()).addLong(row.postId());
+          rebuiltOrder.add(row.postId(), PostOrder.createKey(row.createAt()));
+        });
+      }
+    });
+    rebuilt.values().forEach(Roaring64NavigableMap::runOptimize);
+
+    lock.writeLock().lock();
+    try {
+      bitmaps.putAll(rebuilt);
+      order = rebuiltOrder;
+      uncategorized = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private List<TimelineEntry> page(Roaring64NavigableMap matching, TimelineEntry after,
+      int limit) {
+    List<TimelineEntry> page = new ArrayList<>(limit);
+    int position = after == null ? order.newestBefore(0, null)
+        : order.newestBefore(PostOrder.createKey(after.createAt()), after.id());
+    for (; position >= 0 && page.size() < limit; position--) {
+      long postId = order.id(position);
+      if (matching.contains(postId)) {
+        page.add(new TimelineEntry(postId, PostOrder.createAt(order.createKey(position))));
+      }
+    }
+    return page;
+  }
+
+  private void put(Long postId, long createKey, Set<Category> categories) {
+    lock.writeLock().lock();
+    try {
+      bitmaps.forEach((category, bitmap) -> {
+        if (categories.contains(category)) {
+          bitmap.addLong(postId);
+        } else {
+          bitmap.removeLong(postId);
+        }
+      });
+      if (!categories.isEmpty()) {
+        order.add(postId, createKey);
+      } else if (++uncategorized * 4 > order.size()) {
+        order.retain(id -> bitmaps.values().stream().anyMatch(bitmap -> bitmap.contains(id)));
+        uncategorized = 0;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static Roaring64NavigableMap copy(Roaring64NavigableMap bitmap) {
+    Roaring64NavigableMap copy = new Roaring64NavigableMap();
+    copy.or(bitmap);
+    return copy;
+  }
+}
@@ -0,0 +1,19 @@
+package com.postblog.postservice.search;
+
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.timeline.TimelineEntry;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of the posts matching a category filter, taken at one point in time, with the number of
+ * matching posts in all and in each category.
+ *
+ * @param posts  The posts of the page, newest first by creation date, then ID.
+ * @param total  The number of matching posts.
+ * @param counts The number of matching posts in each category.
+ */
+public record CategorySelection(List<TimelineEntry> posts, long total,
+    Map<Category, Long> counts) {
+
+}
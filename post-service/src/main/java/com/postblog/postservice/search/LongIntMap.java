@@ -0,0 +1,107 @@
+package com.postblog.postservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long keys to non-negative int values, kept in primitive arrays with
+ * linear probing. Not thread-safe.
+ */
+final class LongIntMap {
+
+  static final int MISSING = -1;
+
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private long[] keys;
+  private int[] values;
+  private int size;
+
+  LongIntMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+    keys = new long[capacity];
+    values = new int[capacity];
+    Arrays.fill(keys, EMPTY);
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key The key.
+   * @return The value, or {@link #MISSING} when the key is absent.
+   */
+  int get(long key) {
+    int mask = keys.length - 1;
+    for (int slot = hash(key) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    return MISSING;
+  }
+
+  void put(long key, int value) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (keys[slot] == EMPTY) {
+      keys[slot] = key;
+      if (++size * 2 > keys.length) {
+        values[slot] = value;
+        resize();
+        return;
+      }
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * Removes a key, shifting back the keys probed past it so that no tombstone is left.
+   *
+   * @param key The key.
+   */
+  void remove(long key) {
+    int mask = keys.length - 1;
+    int gap = hash(key) & mask;
+    while (keys[gap] != key) {
+      if (keys[gap] == EMPTY) {
+        return;
+      }
+      gap = (gap + 1) & mask;
+    }
+    for (int slot = (gap + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      int home = hash(keys[slot]) & mask;
+      if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+        keys[gap] = keys[slot];
+        values[gap] = values[slot];
+        gap = slot;
+      }
+    }
+    keys[gap] = EMPTY;
+    size--;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new int[oldValues.length * 2];
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private static int hash(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
@@ -0,0 +1,15 @@
+package com.postblog.postservice.search;
+
+import com.postblog.postservice.entities.Category;
+import java.time.LocalDateTime;
+
+/**
+ * One category of a post, read without loading the post entity.
+ *
+ * @param postId   The ID of the post.
+ * @param createAt The creation date of the post.
+ * @param category The category.
+ */
+public record PostCategory(Long postId, LocalDateTime createAt, Category category) {
+
+}
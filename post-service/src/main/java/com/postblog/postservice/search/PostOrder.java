@@ -0,0 +1,147 @@
+package com.postblog.postservice.search;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Posts sorted by creation date, then ID, the order in which posts are listed. Entries are kept in
+ * two primitive arrays, the creation dates as nanoseconds since the epoch. Posts are nearly always
+ * created newest, so an entry is usually appended and an insertion shifts few entries.
+ *
+ * <p>Not thread-safe: the category index reads and writes it under its own lock.
+ */
+final class PostOrder {
+
+  private static final int INITIAL_CAPACITY = 16;
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private long[] createKeys;
+  private long[] ids;
+  private int size;
+
+  PostOrder() {
+    this(INITIAL_CAPACITY);
+  }
+
+  PostOrder(int capacity) {
+    createKeys = new long[Math.max(1, capacity)];
+    ids = new long[Math.max(1, capacity)];
+  }
+
+  /**
+   * Returns the sort key of a creation date. Posts without one sort before every other post, as
+   * they do in the database.
+   *
+   * @param createAt The creation date, or null.
+   * @return The key.
+   */
+  static long createKey(LocalDateTime createAt) {
+    if (createAt == null) {
+      return Long.MIN_VALUE;
+    }
+    return createAt.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + createAt.getNano();
+  }
+
+  /**
+   * Returns the creation date of a sort key.
+   *
+   * @param createKey The key.
+   * @return The creation date, or null.
+   */
+  static LocalDateTime createAt(long createKey) {
+    if (createKey == Long.MIN_VALUE) {
+      return null;
+    }
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(createKey, NANOS_PER_SECOND),
+        (int) Math.floorMod(createKey, NANOS_PER_SECOND), ZoneOffset.UTC);
+  }
+
+  /**
+   * Adds a post in its place, unless it is already there.
+   *
+   * @param id        The ID of the post.
+   * @param createKey The sort key of its creation date.
+   */
+  void add(long id, long createKey) {
+    int position = search(createKey, id);
+    if (position >= 0) {
+      return;
+    }
+    position = -position - 1;
+    if (size == ids.length) {
+      int capacity = size + (size >> 1) + 1;
+      createKeys = Arrays.copyOf(createKeys, capacity);
+      ids = Arrays.copyOf(ids, capacity);
+    }
+    System.arraycopy(createKeys, position, createKeys, position + 1, size - position);
+    System.arraycopy(ids, position, ids, position + 1, size - position);
+    createKeys[position] = createKey;
+    ids[position] = id;
+    size++;
+  }
+
+  /**
+   * Drops the posts that are not kept, keeping the others in order.
+   *
+   * @param keep Tells whether the post of an ID is kept.
+   */
+  void retain(LongPredicate keep) {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if (keep.test(ids[i])) {
+        createKeys[kept] = createKeys[i];
+        ids[kept] = ids[i];
+        kept++;
+      }
+    }
+    size = kept;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long id(int position) {
+    return ids[position];
+  }
+
+  long createKey(int position) {
+    return createKeys[position];
+  }
+
+  /**
+   * Returns the position of the newest post created before the given one, or of the newest post
+   * when none is given.
+   *
+   * @param createKey The sort key of the creation date of the given post.
+   * @param id        The ID of the given post, or null.
+   * @return The position, or -1 when no post is older.
+   */
+  int newestBefore(long createKey, Long id) {
+    if (id == null) {
+      return size - 1;
+    }
+    int position = search(createKey, id);
+    return position >= 0 ? position - 1 : -position - 2;
+  }
+
+  private int search(long createKey, long id) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int comparison = createKeys[middle] != createKey
+          ? Long.compare(createKeys[middle], createKey) : Long.compare(ids[middle], id);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -(low + 1);
+  }
+}
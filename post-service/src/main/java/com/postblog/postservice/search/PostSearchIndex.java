@@ -0,0 +1,474 @@
+package com.postblog.postservice.search;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.utils.Transactions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-process inverted index over post titles and contents, ranked with BM25.
+ *
+ * <p>Each indexed version of a post gets the next document number, so a term's {@link PostingList}
+ * only ever appends and stays in document order without sorting. Updating a post marks its
+ * previous document deleted and adds a new one; deleting it only marks it. Once deleted documents
+ * make up a quarter of the index, the next refresh compacts it: the live documents are renumbered
+ * in order and every posting list is rewritten without the deleted ones. Until then a deleted
+ * document still counts in the document frequency of its terms.
+ *
+ * <p>Writes are serialized on the index and mark the terms they touch dirty. Searches read an
+ * immutable {@link Snapshot}, which {@link #refresh()} publishes every refresh interval with new
+ * {@link TermPostings} for the dirty terms. A search therefore never contends with writes and sees
+ * changes after at most one interval. The index is rebuilt from the database on startup.
+ *
+ * <p>Searches use MaxScore to pass over posts that cannot enter the results. Query terms are
+ * ordered by the highest score they can add. Once the lowest kept score exceeds the summed bounds
+ * of the weakest terms, a post found only through those terms cannot make the cut, so candidates
+ * are drawn from the other terms alone and the weak terms are only looked up for them. When a
+ * single term is left to draw from, its blocks whose bound cannot lift a post above the lowest
+ * kept score are skipped without being decoded.
+ */
+@Component
+public class PostSearchIndex implements MeterBinder {
+
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final int INITIAL_DOCUMENTS = 1024;
+  private static final int COMPACTION_RATIO = 4;
+
+  private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+  private final Set<String> dirtyTerms = ConcurrentHashMap.newKeySet();
+  private LongIntMap documents;
+  private long[] postIds;
+  private int[] lengths;
+  private long[] deleted;
+  private int documentCount;
+  private int deletedCount;
+  private long totalLength;
+  private boolean deletionsChanged;
+  private boolean rebuilding;
+  private volatile int liveCount;
+  private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new long[0],
+      new int[0], new long[0], 0, 0, 0);
+
+  private final PostRepository postRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int rebuildChunkSize;
+
+  public PostSearchIndex(PostRepository postRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${posts.search.rebuild-chunk-size:1000}") int rebuildChunkSize) {
+    this.postRepository = postRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.rebuildChunkSize = rebuildChunkSize;
+    clear();
+  }
+
+  /**
+   * Returns the IDs of the posts best matching a query, best first. A post matches when it
+   * contains any of the query terms; ties go to the newest post.
+   *
+   * @param query The query text.
+   * @param limit The maximum number of IDs returned.
+   * @return The IDs of the best matching posts.
+   */
+  public List<Long> search(String query, int limit) {
+    Snapshot index = snapshot;
+    List<TermPostings> found = new ArrayList<>();
+    for (String term : Tokenizer.termFrequencies(query).keySet()) {
+      TermPostings termPostings = index.terms().get(term);
+      if (termPostings != null) {
+        found.add(termPostings);
+      }
+    }
+    if (found.isEmpty() || index.liveCount() == 0 || limit <= 0) {
+      return List.of();
+    }
+    double averageLength = Math.max(1.0, (double) index.totalLength() / index.liveCount());
+    QueryTerm[] terms = new QueryTerm[found.size()];
+    for (int i = 0; i < terms.length; i++) {
+      terms[i] = new QueryTerm(found.get(i), index, averageLength);
+    }
+    Arrays.sort(terms, Comparator.comparingDouble(term -> term.bound));
+    double[] bounds = new double[terms.length];
+    for (int i = 0; i < terms.length; i++) {
+      bounds[i] = (i == 0 ? 0 : bounds[i - 1]) + terms[i].bound;
+    }
+
+    TopHits top = new TopHits(limit);
+    double[] scores = new double[terms.length];
+    int essential = 0;
+    while (true) {
+      double threshold = top.threshold();
+      while (essential < terms.length && bounds[essential] < threshold) {
+        essential++;
+      }
+      if (essential == terms.length) {
+        return top.postIds();
+      }
+      if (essential == terms.length - 1) {
+        terms[essential].skipBlocksBelow(threshold - (essential == 0 ? 0 : bounds[essential - 1]));
+      }
+      int doc = PostingsCursor.END;
+      for (int i = essential; i < terms.length; i++) {
+        doc = Math.min(doc, terms[i].cursor.doc());
+      }
+      if (doc == PostingsCursor.END) {
+        return top.postIds();
+      }
+
+      boolean live = !index.isDeleted(doc);
+      int length = index.lengths()[doc];
+      double score = 0;
+      Arrays.fill(scores, 0);
+      for (int i = essential; i < terms.length; i++) {
+        PostingsCursor cursor = terms[i].cursor;
+        if (cursor.doc() == doc) {
+          if (live) {
+            scores[i] = terms[i].score(cursor.frequency(), length);
+            score += scores[i];
+          }
+          cursor.next();
+        }
+      }
+      if (!live) {
+        continue;
+      }
+      int weak = essential - 1;
+      for (; weak >= 0 && score + bounds[weak] >= threshold; weak--) {
+        PostingsCursor cursor = terms[weak].cursor;
+        cursor.advance(doc);
+        if (cursor.doc() == doc) {
+          scores[weak] = terms[weak].score(cursor.frequency(), length);
+          score += scores[weak];
+        }
+      }
+      if (weak < 0) {
+        double total = 0;
+        for (double termScore : scores) {
+          total += termScore;
+        }
+        top.offer(index.postIds()[doc], total);
+      }
+    }
+  }
+
+  /**
+   * Adds or replaces a post in the index. Inside a transaction the change is applied after commit.
+   *
+   * @param post The post that was created or updated.
+   */
+  public void index(PostEntity post) {
+    if (post == null || post.getId() == null) {
+      return;
+    }
+    Long postId = post.getId();
+    Map<String, Integer> frequencies = Tokenizer.termFrequencies(post.getTitle(),
+        post.getContent());
+    Transactions.afterCommit(() -> put(postId, frequencies));
+  }
+
+  /**
+   * Removes a post from the index. Inside a transaction the change is applied after commit.
+   *
+   * @param postId The ID of the post that was deleted.
+   */
+  public void remove(Long postId) {
+    if (postId != null) {
+      Transactions.afterCommit(() -> put(postId, Map.of()));
+    }
+  }
+
+  /**
+   * Publishes the changes made since the last refresh to searches, by snapshotting every term
+   * whose postings changed, or compacting the index when too many documents are deleted.
+   */
+  @Scheduled(fixedDelayString = "${posts.search.refresh-interval-ms:1000}")
+  public synchronized void refresh() {
+    if (rebuilding) {
+      return;
+    }
+    if (deletedCount > 0 && deletedCount * COMPACTION_RATIO > documentCount) {
+      compact();
+      publish(snapshotAll());
+      return;
+    }
+    Map<String, TermPostings> terms = snapshot.terms();
+    for (String term : dirtyTerms) {
+      terms.put(term, postings.get(term).snapshot());
+    }
+    publish(terms);
+  }
+
+  /**
+   * Rebuilds the index from the database. Posts are read as a stream of their texts and tokenized
+   * in parallel, one chunk at a time, then all term snapshots are taken in parallel. Searches keep
+   * reading the previous index, which refreshes leave alone, until the rebuilt one is published.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    synchronized (this) {
+      clear();
+      rebuilding = true;
+    }
+    try {
+      readOnlyTransaction.executeWithoutResult(status -> {
+        try (Stream<PostText> posts = postRepository.streamTexts()) {
+          List<PostText> chunk = new ArrayList<>(rebuildChunkSize);
+          posts.forEach(post -> {
+            chunk.add(post);
+            if (chunk.size() == rebuildChunkSize) {
+              indexChunk(chunk);
+            }
+          });
+          indexChunk(chunk);
+        }
+      });
+    } finally {
+      synchronized (this) {
+        rebuilding = false;
+        publish(snapshotAll());
+      }
+    }
+  }
+
+  public int size() {
+    return liveCount;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("posts.search.documents", this, PostSearchIndex::size)
+        .description("Posts in the search index")
+        .register(registry);
+    Gauge.builder("posts.search.terms", postings, Map::size)
+        .description("Distinct terms in the search index")
+        .register(registry);
+    Gauge.builder("posts.search.pending.terms", dirtyTerms, Set::size)
+        .description("Terms changed since the last refresh")
+        .register(registry);
+  }
+
+  private void indexChunk(List<PostText> chunk) {
+    List<Map<String, Integer>> frequencies = chunk.parallelStream()
+        .map(post -> Tokenizer.termFrequencies(post.title(), post.content()))
+        .toList();
+    for (int i = 0; i < frequencies.size(); i++) {
+      put(chunk.get(i).id(), frequencies.get(i));
+    }
+    chunk.clear();
+  }
+
+  private synchronized void put(long postId, Map<String, Integer> frequencies) {
+    int previous = documents.get(postId);
+    if (previous != LongIntMap.MISSING) {
+      documents.remove(postId);
+      deleted[previous >>> 6] |= 1L << previous;
+      deletedCount++;
+      totalLength -= lengths[previous];
+      liveCount = liveCount - 1;
+      deletionsChanged = true;
+    }
+    if (frequencies.isEmpty()) {
+      return;
+    }
+    int length = 0;
+    for (int frequency : frequencies.values()) {
+      length += frequency;
+    }
+    int doc = documentCount++;
+    if (doc == postIds.length) {
+      postIds = Arrays.copyOf(postIds, doc * 2);
+      lengths = Arrays.copyOf(lengths, doc * 2);
+      deleted = Arrays.copyOf(deleted, doc * 2 / Long.SIZE);
+    }
+    postIds[doc] = postId;
+    lengths[doc] = length;
+    documents.put(postId, doc);
+    totalLength += length;
+    liveCount = liveCount + 1;
+    for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+      postings.computeIfAbsent(entry.getKey(), term -> new PostingList())
+          .add(doc, entry.getValue(), length);
+      dirtyTerms.add(entry.getKey());
+    }
+  }
+
+  private void clear() {
+    postings.clear();
+    dirtyTerms.clear();
+    documents = new LongIntMap(INITIAL_DOCUMENTS);
+    postIds = new long[INITIAL_DOCUMENTS];
+    lengths = new int[INITIAL_DOCUMENTS];
+    deleted = new long[INITIAL_DOCUMENTS / Long.SIZE];
+    documentCount = 0;
+    deletedCount = 0;
+    totalLength = 0;
+    deletionsChanged = true;
+    liveCount = 0;
+  }
+
+  /**
+   * Renumbers the live documents in order and rewrites every posting list without the deleted
+   * ones, dropping the terms left without postings.
+   */
+  private void compact() {
+    int capacity = Math.max(INITIAL_DOCUMENTS, Integer.highestOneBit(liveCount) << 1);
+    int[] renumbered = new int[documentCount];
+    long[] compactedIds = new long[capacity];
+    int[] compactedLengths = new int[capacity];
+    LongIntMap compactedDocuments = new LongIntMap(liveCount);
+    int live = 0;
+    for (int doc = 0; doc < documentCount; doc++) {
+      if ((deleted[doc >>> 6] & (1L << doc)) != 0) {
+        renumbered[doc] = -1;
+      } else {
+        renumbered[doc] = live;
+        compactedIds[live] = postIds[doc];
+        compactedLengths[live] = lengths[doc];
+        compactedDocuments.put(postIds[doc], live);
+        live++;
+      }
+    }
+    postings.replaceAll((term, list) -> list.renumber(renumbered, compactedLengths));
+    postings.values().removeIf(PostingList::isEmpty);
+    documents = compactedDocuments;
+    postIds = compactedIds;
+    lengths = compactedLengths;
+    deleted = new long[capacity / Long.SIZE];
+    documentCount = live;
+    deletedCount = 0;
+    deletionsChanged = true;
+  }
+
+  private Map<String, TermPostings> snapshotAll() {
+    Map<String, TermPostings> terms = new ConcurrentHashMap<>();
+    postings.entrySet().parallelStream()
+        .forEach(entry -> terms.put(entry.getKey(), entry.getValue().snapshot()));
+    return terms;
+  }
+
+  private void publish(Map<String, TermPostings> terms) {
+    dirtyTerms.clear();
+    long[] deletedSnapshot = deletionsChanged ? deleted.clone() : snapshot.deleted();
+    deletionsChanged = false;
+    snapshot = new Snapshot(terms, postIds, lengths, deletedSnapshot, documentCount, liveCount,
+        totalLength);
+  }
+
+  /**
+   * The index as seen by searches. The document arrays are shared with the writer, which only
+   * appends past {@code documentCount} or replaces them, and the deleted flags are copied. The
+   * term map is updated in place by later refreshes until a compaction replaces it, so a search may
+   * meet documents newer than the snapshot; cursors stop at {@code documentCount}.
+   */
+  private record Snapshot(Map<String, TermPostings> terms, long[] postIds, int[] lengths,
+      long[] deleted, int documentCount, int liveCount, long totalLength) {
+
+    boolean isDeleted(int doc) {
+      int word = doc >>> 6;
+      return word < deleted.length && (deleted[word] & (1L << doc)) != 0;
+    }
+  }
+
+  /**
+   * A query term with its cursor, its inverse document frequency and the highest score it can add
+   * to a post.
+   */
+  private static final class QueryTerm {
+
+    private final PostingsCursor cursor;
+    private final double idf;
+    private final double averageLength;
+    private final double bound;
+
+    QueryTerm(TermPostings postings, Snapshot index, double averageLength) {
+      int frequency = Math.min(postings.size, index.liveCount());
+      this.cursor = new PostingsCursor(postings, index.documentCount());
+      this.idf = Math.log(1 + (index.liveCount() - frequency + 0.5) / (frequency + 0.5));
+      this.averageLength = averageLength;
+      this.bound = score(postings.maxFrequency, postings.minLength);
+    }
+
+    /**
+     * Scores the term in a post. The score grows with the frequency and shrinks with the length,
+     * so the highest frequency and the shortest length of a set of posts bound their scores.
+     */
+    double score(int frequency, int length) {
+      double norm = frequency + K1 * (1 - B + B * length / averageLength);
+      return idf * frequency * (K1 + 1) / norm;
+    }
+
+    void skipBlocksBelow(double threshold) {
+      while (!cursor.exhausted()
+          && score(cursor.blockMaxFrequency(), cursor.blockMinLength()) < threshold) {
+        cursor.skipBlock();
+      }
+    }
+  }
+
+  /**
+   * Bounded min-heap keeping the best hits seen so far. A hit only allocates when it makes the
+   * cut.
+   */
+  private static final class TopHits {
+
+    private final int limit;
+    private final PriorityQueue<Hit> heap;
+
+    TopHits(int limit) {
+      this.limit = limit;
+      this.heap = new PriorityQueue<>(limit + 1);
+    }
+
+    void offer(long postId, double score) {
+      if (heap.size() == limit) {
+        Hit worst = heap.peek();
+        if (score < worst.score || (score == worst.score && postId < worst.postId)) {
+          return;
+        }
+        heap.poll();
+      }
+      heap.offer(new Hit(postId, score));
+    }
+
+    double threshold() {
+      return heap.size() == limit ? heap.peek().score : Double.NEGATIVE_INFINITY;
+    }
+
+    List<Long> postIds() {
+      Long[] postIds = new Long[heap.size()];
+      for (int i = postIds.length - 1; i >= 0; i--) {
+        postIds[i] = heap.poll().postId;
+      }
+      return List.of(postIds);
+    }
+  }
+
+  private record Hit(long postId, double score) implements Comparable<Hit> {
+
+    @Override
+    public int compareTo(Hit other) {
+      int byScore = Double.compare(score, other.score);
+      return byScore != 0 ? byScore : Long.compare(postId, other.postId);
+    }
+  }
+}
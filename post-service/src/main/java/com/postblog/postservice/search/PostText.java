@@ -0,0 +1,12 @@
+package com.postblog.postservice.search;
+
+/**
+ * The searchable text of a post, read without loading the post entity.
+ *
+ * @param id      The ID of the post.
+ * @param title   The title of the post.
+ * @param content The content of the post.
+ */
+public record PostText(Long id, String title, String content) {
+
+}
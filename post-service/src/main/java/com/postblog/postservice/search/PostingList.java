@@ -0,0 +1,144 @@
+package com.postblog.postservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only posting list of a term: the numbers of the documents containing it, in increasing
+ * order, with the frequency of the term in each.
+ *
+ * <p>Full blocks of {@link #BLOCK_SIZE} postings are encoded as variable-byte deltas between
+ * document numbers followed by the frequency. The last document, the offset and the highest
+ * frequency and shortest document of each block are kept aside, so a search can skip a block or
+ * bound its scores without decoding it. The postings of the last, partial block are kept in small
+ * buffers that grow as it fills. Encoded bytes and block entries are never overwritten once
+ * written, so {@link #snapshot()} shares them and only copies the buffers.
+ *
+ * <p>Not thread-safe: the index writes a list under its own lock.
+ */
+final class PostingList {
+
+  static final int BLOCK_SIZE = 128;
+
+  private static final int INITIAL_BUFFER_SIZE = 2;
+  private static final int MAX_ENCODED_POSTING = 10;
+
+  private byte[] data = new byte[0];
+  private int dataLength;
+  private int[] blockLastDocs = new int[0];
+  private int[] blockOffsets = new int[0];
+  private int[] blockMaxFrequencies = new int[0];
+  private int[] blockMinLengths = new int[0];
+  private int blocks;
+
+  private int[] bufferDocs = new int[INITIAL_BUFFER_SIZE];
+  private int[] bufferFrequencies = new int[INITIAL_BUFFER_SIZE];
+  private int bufferSize;
+  private int bufferMaxFrequency;
+  private int bufferMinLength = Integer.MAX_VALUE;
+
+  private int size;
+  private int maxFrequency;
+  private int minLength = Integer.MAX_VALUE;
+
+  /**
+   * Appends a posting. Documents must be appended in increasing order.
+   *
+   * @param doc       The number of the document containing the term.
+   * @param frequency The frequency of the term in the document.
+   * @param length    The length of the document, used to bound the scores of the term.
+   */
+  void add(int doc, int frequency, int length) {
+    if (bufferSize == bufferDocs.length) {
+      int capacity = Math.min(BLOCK_SIZE, bufferSize * 2);
+      bufferDocs = Arrays.copyOf(bufferDocs, capacity);
+      bufferFrequencies = Arrays.copyOf(bufferFrequencies, capacity);
+    }
+    bufferDocs[bufferSize] = doc;
+    bufferFrequencies[bufferSize] = frequency;
+    bufferSize++;
+    bufferMaxFrequency = Math.max(bufferMaxFrequency, frequency);
+    bufferMinLength = Math.min(bufferMinLength, length);
+    size++;
+    maxFrequency = Math.max(maxFrequency, frequency);
+    minLength = Math.min(minLength, length);
+    if (bufferSize == BLOCK_SIZE) {
+      encodeBuffer();
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns an immutable view of the postings appended so far.
+   *
+   * @return The snapshot.
+   */
+  TermPostings snapshot() {
+    return new TermPostings(data, blockLastDocs, blockOffsets, blockMaxFrequencies,
+        blockMinLengths, blocks, Arrays.copyOf(bufferDocs, bufferSize),
+        Arrays.copyOf(bufferFrequencies, bufferSize), bufferMaxFrequency, bufferMinLength, size,
+        maxFrequency, minLength);
+  }
+
+  /**
+   * Copies the postings of the documents that are kept, under their new numbers.
+   *
+   * @param renumbered The new number of each document, or -1 for a document dropped.
+   * @param lengths    The length of each document by its new number.
+   * @return The renumbered list, empty when no document was kept.
+   */
+  PostingList renumber(int[] renumbered, int[] lengths) {
+    PostingList list = new PostingList();
+    PostingsCursor cursor = new PostingsCursor(snapshot(), renumbered.length);
+    for (; cursor.doc() != PostingsCursor.END; cursor.next()) {
+      int doc = renumbered[cursor.doc()];
+      if (doc >= 0) {
+        list.add(doc, cursor.frequency(), lengths[doc]);
+      }
+    }
+    return list;
+  }
+
+  private void encodeBuffer() {
+    if (blocks == blockLastDocs.length) {
+      int capacity = Math.max(4, blocks + (blocks >> 1));
+      blockLastDocs = Arrays.copyOf(blockLastDocs, capacity);
+      blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+      blockMaxFrequencies = Arrays.copyOf(blockMaxFrequencies, capacity);
+      blockMinLengths = Arrays.copyOf(blockMinLengths, capacity);
+    }
+    int required = dataLength + BLOCK_SIZE * MAX_ENCODED_POSTING;
+    if (required > data.length) {
+      data = Arrays.copyOf(data, Math.max(required, data.length + (data.length >> 1)));
+    }
+    int previous = blocks == 0 ? -1 : blockLastDocs[blocks - 1];
+    blockOffsets[blocks] = dataLength;
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      dataLength = writeVarInt(bufferDocs[i] - previous, dataLength);
+      dataLength = writeVarInt(bufferFrequencies[i], dataLength);
+      previous = bufferDocs[i];
+    }
+    blockLastDocs[blocks] = previous;
+    blockMaxFrequencies[blocks] = bufferMaxFrequency;
+    blockMinLengths[blocks] = bufferMinLength;
+    blocks++;
+    bufferSize = 0;
+    bufferMaxFrequency = 0;
+    bufferMinLength = Integer.MAX_VALUE;
+  }
+
+  private int writeVarInt(int value, int offset) {
+    while ((value & ~0x7F) != 0) {
+      data[offset++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    data[offset++] = (byte) value;
+    return offset;
+  }
+}
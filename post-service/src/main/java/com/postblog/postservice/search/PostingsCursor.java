@@ -0,0 +1,167 @@
+package com.postblog.postservice.search;
+
+import java.util.Arrays;
+
+/**
+ * Forward-only cursor over a {@link TermPostings} snapshot. A block is decoded whole, and only when
+ * one of its postings is read; {@link #advance(int)} and {@link #skipBlock()} pass over blocks by
+ * their last document and bounds alone. Documents numbered from the given limit on are treated as
+ * the end of the list.
+ */
+final class PostingsCursor {
+
+  static final int END = Integer.MAX_VALUE;
+
+  private final TermPostings postings;
+  private final int limit;
+  private final int[] docs = new int[PostingList.BLOCK_SIZE];
+  private final int[] frequencies = new int[PostingList.BLOCK_SIZE];
+  private int block;
+  private boolean decoded;
+  private int blockSize;
+  private int position;
+  private int doc;
+
+  PostingsCursor(TermPostings postings, int limit) {
+    this.postings = postings;
+    this.limit = limit;
+    moveTo(0);
+  }
+
+  /**
+   * Returns the current document, or {@link #END} once the postings are exhausted.
+   *
+   * @return The current document.
+   */
+  int doc() {
+    if (!decoded) {
+      decode();
+    }
+    return doc;
+  }
+
+  int frequency() {
+    return frequencies[position];
+  }
+
+  /**
+   * Tells whether the postings are exhausted, without decoding the current block.
+   *
+   * @return True when no posting is left.
+   */
+  boolean exhausted() {
+    return doc == END;
+  }
+
+  /**
+   * Returns the highest frequency in the current block.
+   *
+   * @return The highest frequency.
+   */
+  int blockMaxFrequency() {
+    return block < postings.blocks
+        ? postings.blockMaxFrequencies[block] : postings.bufferMaxFrequency;
+  }
+
+  /**
+   * Returns the length of the shortest document in the current block.
+   *
+   * @return The shortest length.
+   */
+  int blockMinLength() {
+    return block < postings.blocks ? postings.blockMinLengths[block] : postings.bufferMinLength;
+  }
+
+  void next() {
+    if (!decoded) {
+      decode();
+    }
+    if (++position < blockSize) {
+      setDoc(docs[position]);
+    } else {
+      moveTo(block + 1);
+    }
+  }
+
+  /**
+   * Moves to the first document at or after the target, skipping blocks that end before it.
+   *
+   * @param target The document to move to.
+   */
+  void advance(int target) {
+    if (decoded && doc >= target) {
+      return;
+    }
+    if (block < postings.blocks && postings.blockLastDocs[block] < target) {
+      int found = Arrays.binarySearch(postings.blockLastDocs, block + 1, postings.blocks, target);
+      moveTo(found >= 0 ? found : -found - 1);
+    }
+    while (doc() < target) {
+      next();
+    }
+  }
+
+  /**
+   * Moves to the first document of the next block.
+   */
+  void skipBlock() {
+    moveTo(block + 1);
+  }
+
+  private void moveTo(int next) {
+    block = next;
+    position = 0;
+    blockSize = 0;
+    if (next < postings.blocks || (next == postings.blocks && postings.bufferDocs.length > 0)) {
+      decoded = false;
+      doc = -1;
+    } else {
+      decoded = true;
+      doc = END;
+    }
+  }
+
+  private void decode() {
+    decoded = true;
+    if (block == postings.blocks) {
+      blockSize = postings.bufferDocs.length;
+      System.arraycopy(postings.bufferDocs, 0, docs, 0, blockSize);
+      System.arraycopy(postings.bufferFrequencies, 0, frequencies, 0, blockSize);
+      setDoc(docs[0]);
+      return;
+    }
+    byte[] data = postings.data;
+    int offset = postings.blockOffsets[block];
+    int previous = block == 0 ? -1 : postings.blockLastDocs[block - 1];
+    for (int i = 0; i < PostingList.BLOCK_SIZE; i++) {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[offset++];
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      previous += value;
+      docs[i] = previous;
+      value = 0;
+      shift = 0;
+      do {
+        b = data[offset++];
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      frequencies[i] = value;
+    }
+    blockSize = PostingList.BLOCK_SIZE;
+    setDoc(docs[0]);
+  }
+
+  private void setDoc(int next) {
+    if (next < limit) {
+      doc = next;
+    } else {
+      moveTo(postings.blocks + 1);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.postblog.postservice.search;
+
+/**
+ * Immutable snapshot of a {@link PostingList}: the encoded blocks written so far, shared with the
+ * list, and a copy of its partial last block. Read through a {@link PostingsCursor}.
+ */
+final class TermPostings {
+
+  final byte[] data;
+  final int[] blockLastDocs;
+  final int[] blockOffsets;
+  final int[] blockMaxFrequencies;
+  final int[] blockMinLengths;
+  final int blocks;
+  final int[] bufferDocs;
+  final int[] bufferFrequencies;
+  final int bufferMaxFrequency;
+  final int bufferMinLength;
+  final int size;
+  final int maxFrequency;
+  final int minLength;
+
+  TermPostings(byte[] data, int[] blockLastDocs, int[] blockOffsets, int[] blockMaxFrequencies,
+      int[] blockMinLengths, int blocks, int[] bufferDocs, int[] bufferFrequencies,
+      int bufferMaxFrequency, int bufferMinLength, int size, int maxFrequency, int minLength) {
+    this.data = data;
+    this.blockLastDocs = blockLastDocs;
+    this.blockOffsets = blockOffsets;
+    this.blockMaxFrequencies = blockMaxFrequencies;
+    this.blockMinLengths = blockMinLengths;
+    this.blocks = blocks;
+    this.bufferDocs = bufferDocs;
+    this.bufferFrequencies = bufferFrequencies;
+    this.bufferMaxFrequency = bufferMaxFrequency;
+    this.bufferMinLength = bufferMinLength;
+    this.size = size;
+    this.maxFrequency = maxFrequency;
+    this.minLength = minLength;
+  }
+}
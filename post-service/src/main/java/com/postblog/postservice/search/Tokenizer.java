@@ -0,0 +1,60 @@
+package com.postblog.postservice.search;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case terms made of letters and digits. Very short or very long tokens and
+ * common English stop words are dropped, since they would only make posting lists longer.
+ */
+public final class Tokenizer {
+
+  private static final int MIN_TERM_LENGTH = 2;
+  private static final int MAX_TERM_LENGTH = 40;
+
+  private static final Set<String> STOP_WORDS = Set.of(
+      "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+      "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+      "they", "this", "to", "was", "will", "with");
+
+  private Tokenizer() {
+  }
+
+  /**
+   * Counts the occurrences of each term in the given texts.
+   *
+   * @param texts The texts to tokenize, null texts are skipped.
+   * @return The frequency of each term.
+   */
+  public static Map<String, Integer> termFrequencies(String... texts) {
+    Map<String, Integer> frequencies = new HashMap<>();
+    for (String text : texts) {
+      if (text == null) {
+        continue;
+      }
+      int start = -1;
+      for (int i = 0; i <= text.length(); i++) {
+        boolean termChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+        if (termChar && start < 0) {
+          start = i;
+        } else if (!termChar && start >= 0) {
+          addTerm(frequencies, text.substring(start, i));
+          start = -1;
+        }
+      }
+    }
+    return frequencies;
+  }
+
+  private static void addTerm(Map<String, Integer> frequencies, String token) {
+    if (token.length() < MIN_TERM_LENGTH || token.length() > MAX_TERM_LENGTH) {
+      return;
+    }
+    String term = token.toLowerCase(Locale.ROOT);
+    if (!STOP_WORDS.contains(term)) {
+      frequencies.merge(term, 1, Integer::sum);
+    }
+  }
+}
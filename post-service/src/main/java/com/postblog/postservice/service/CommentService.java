@@ -6,16 +6,25 @@ import static com.postblog.postservice.utils.Constants.FAILED_TO_GET_COMMENTS;
 import static com.postblog.postservice.utils.Constants.FAILED_TO_UPDATE_COMMENT;
 import static com.postblog.postservice.utils.Constants.INTERNAL_SERVER_ERROR;
 import static com.postblog.postservice.utils.Constants.NOT_FOUND;
+import static com.postblog.postservice.utils.Constants.POST_NOT_FOUND;
 
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.counter.CommentCounter;
 import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.CommentPage;
 import com.postblog.postservice.entities.CommentResponse;
 import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.mapper.CommentMapper;
+import com.postblog.postservice.ranking.TrendingRanking;
 import com.postblog.postservice.repository.CommentRepository;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.utils.KeysetCursor;
 import java.util.List;
 import java.util.Optional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 /**
@@ -28,8 +37,22 @@ public class CommentService {
   private CommentRepository commentRepository;
 
   @Autowired
-  @Qualifier("modelMapperBeanComments")
-  private ModelMapper mapper;
+  private PostRepository postRepository;
+
+  @Autowired
+  private CommentMapper mapper;
+
+  @Autowired
+  private PostResponseCache postCache;
+
+  @Autowired
+  private CommentCounter commentCounter;
+
+  @Autowired
+  private TrendingRanking trendingRanking;
+
+  @Value("${comments.page.max-size:100}")
+  private int maxPageSize;
 
   /**
    * Retrieves a comment by its ID.
@@ -40,7 +63,7 @@ public class CommentService {
    */
   public CommentResponse getCommentById(Long commentId) {
     Optional<CommentEntity> comment = commentRepository.findById(commentId);
-    return comment.map(p -> mapper.map(p, CommentResponse.class))
+    return comment.map(mapper::toResponse)
         .orElseThrow(() -> new HttpException(COMMENT_NOT_FOUND, NOT_FOUND));
   }
 
@@ -57,6 +80,11 @@ public class CommentService {
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_CREATE_COMMENT, INTERNAL_SERVER_ERROR);
     }
+    if (commentEntity.getPost() != null) {
+      commentCounter.increment(commentEntity.getPost().getId());
+      trendingRanking.recordComment(commentEntity.getPost().getId());
+    }
+    invalidatePost(commentEntity);
   }
 
   /**
@@ -74,10 +102,10 @@ public class CommentService {
     comment.setContent(commentToUpdate.getContent());
     try {
       commentRepository.save(comment);
-      mapper.map(comment, CommentResponse.class);
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_UPDATE_COMMENT, INTERNAL_SERVER_ERROR);
     }
+    invalidatePost(comment);
   }
 
   /**
@@ -89,13 +117,52 @@ public class CommentService {
   public List<CommentResponse> getAllComments() {
     try {
       List<CommentEntity> commentEntityList = commentRepository.findAll();
-      return commentEntityList.stream().map(comments -> mapper.map(comments, CommentResponse.class))
+      return commentEntityList.stream().map(mapper::toResponse)
           .toList();
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_GET_COMMENTS, INTERNAL_SERVER_ERROR);
     }
   }
 
+  /**
+   * Retrieves a page of the comments of a post, oldest first. Pages are addressed by a keyset
+   * cursor on the creation date and ID and read through the (post_id, create_at, id) index, so
+   * every page costs the same whatever the size of the thread or of the comments table.
+   *
+   * @param postId The ID of the post.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size   The number of comments wanted, capped by the maximum page size.
+   * @return The page of comments and the cursor of the next page, null when there is none.
+   * @throws HttpException If the cursor is invalid, the post is not found or an error occurs while
+   *                       retrieving the comments.
+   */
+  public CommentPage getCommentsByPostId(Long postId, String cursor, int size) {
+    int pageSize = Math.max(1, Math.min(size, maxPageSize));
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+    List<CommentEntity> commentList;
+    try {
+      commentList = after == null
+          ? commentRepository.findFirstPageByPostId(postId, limit)
+          : commentRepository.findPageByPostIdAfter(postId, after.createAt(), after.id(), limit);
+    } catch (Exception e) {
+      throw new HttpException(FAILED_TO_GET_COMMENTS, INTERNAL_SERVER_ERROR);
+    }
+    if (commentList.isEmpty() && after == null && !postRepository.existsById(postId)) {
+      throw new HttpException(POST_NOT_FOUND, NOT_FOUND);
+    }
+
+    String nextCursor = null;
+    if (commentList.size() > pageSize) {
+      commentList = commentList.subList(0, pageSize);
+      CommentEntity last = commentList.get(pageSize - 1);
+      nextCursor = new KeysetCursor(last.getCreateAt(), last.getId()).encode();
+    }
+    List<CommentResponse> comments = commentList.stream().map(mapper::toResponse)
+        .toList();
+    return CommentPage.builder().comments(comments).nextCursor(nextCursor).build();
+  }
+
   /**
    * Deletes a comment by its ID.
    *
@@ -104,9 +171,18 @@ public class CommentService {
    */
 
   public void deleteCommentById(Long commentId) {
-    if (!commentRepository.existsById(commentId)) {
-      throw new HttpException(COMMENT_NOT_FOUND, NOT_FOUND);
+    CommentEntity comment = commentRepository.findById(commentId)
+        .orElseThrow(() -> new HttpException(COMMENT_NOT_FOUND, NOT_FOUND));
+    commentRepository.delete(comment);
+    if (comment.getPost() != null) {
+      commentCounter.decrement(comment.getPost().getId());
+    }
+    invalidatePost(comment);
+  }
+
+  private void invalidatePost(CommentEntity comment) {
+    if (comment.getPost() != null) {
+      postCache.invalidate(comment.getPost().getId());
     }
-    commentRepository.deleteById(commentId);
   }
 }
@@ -0,0 +1,113 @@
+package com.postblog.postservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.mapper.CommentMapper;
+import com.postblog.postservice.mapper.PostMapper;
+import com.postblog.postservice.repository.CommentRepository;
+import com.postblog.postservice.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing posts and comments as newline-delimited JSON, one object per line in ID order.
+ * Rows are read from a forward-only cursor and written in chunks, and the persistence context is
+ * cleared after every chunk, so memory use does not depend on the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+  private static final byte NEWLINE = '\n';
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private PostMapper postMapper;
+
+  @Autowired
+  private CommentMapper commentMapper;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${export.chunk-size:50}")
+  private int chunkSize;
+
+  /**
+   * Writes the posts with an ID greater than the given one.
+   *
+   * @param afterId The ID of the last post already exported, or null to export all posts.
+   * @param out     The stream the posts are written to.
+   * @throws IOException if the posts cannot be written.
+   */
+  @Transactional(readOnly = true)
+  public void exportPosts(Long afterId, OutputStream out) throws IOException {
+    try (Stream<PostEntity> posts = postRepository.streamAfter(afterId == null ? 0L : afterId)) {
+      write(posts, postMapper::toResponse, out);
+    }
+  }
+
+  /**
+   * Writes the comments with an ID greater than the given one.
+   *
+   * @param afterId The ID of the last comment already exported, or null to export all comments.
+   * @param out     The stream the comments are written to.
+   * @throws IOException if the comments cannot be written.
+   */
+  @Transactional(readOnly = true)
+  public void exportComments(Long afterId, OutputStream out) throws IOException {
+    try (Stream<CommentEntity> comments = commentRepository.streamAfter(
+        afterId == null ? 0L : afterId)) {
+      write(comments, commentMapper::toResponse, out);
+    }
+  }
+
+  private <T> void write(Stream<T> rows, Function<T, ?> mapper, OutputStream out)
+      throws IOException {
+    List<T> chunk = new ArrayList<>(chunkSize);
+    try {
+      rows.forEach(row -> {
+        chunk.add(row);
+        if (chunk.size() == chunkSize) {
+          writeChunk(chunk, mapper, out);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writeChunk(chunk, mapper, out);
+    out.flush();
+  }
+
+  private <T> void writeChunk(List<T> chunk, Function<T, ?> mapper, OutputStream out) {
+    try {
+      for (T row : chunk) {
+        out.write(objectMapper.writeValueAsBytes(mapper.apply(row)));
+        out.write(NEWLINE);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    chunk.clear();
+    entityManager.clear();
+  }
+}
@@ -1,23 +1,54 @@
 package com.postblog.postservice.service;
 
+import static com.postblog.postservice.utils.Constants.BAD_REQUEST;
+import static com.postblog.postservice.utils.Constants.CREATED;
+import static com.postblog.postservice.utils.Constants.EMPTY_POST_BATCH;
+import static com.postblog.postservice.utils.Constants.EMPTY_SEARCH_QUERY;
 import static com.postblog.postservice.utils.Constants.FAILED_TO_CREATE_POST;
 import static com.postblog.postservice.utils.Constants.FAILED_TO_GET_POSTS;
 import static com.postblog.postservice.utils.Constants.FAILED_TO_UPDATE_POST;
 import static com.postblog.postservice.utils.Constants.INTERNAL_SERVER_ERROR;
 import static com.postblog.postservice.utils.Constants.NOT_FOUND;
+import static com.postblog.postservice.utils.Constants.PAYLOAD_TOO_LARGE;
+import static com.postblog.postservice.utils.Constants.POST_BATCH_TOO_LARGE;
 import static com.postblog.postservice.utils.Constants.POST_NOT_FOUND;
 
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.counter.ViewCounter;
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CategoryMatch;
+import com.postblog.postservice.entities.CategoryPage;
+import com.postblog.postservice.entities.PostBatchItemResult;
 import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostPage;
 import com.postblog.postservice.entities.PostResponse;
 import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.mapper.PostMapper;
+import com.postblog.postservice.ranking.TrendingRanking;
 import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.search.CategoryIndex;
+import com.postblog.postservice.search.CategorySelection;
+import com.postblog.postservice.search.PostSearchIndex;
+import com.postblog.postservice.timeline.AuthorTimelines;
+import com.postblog.postservice.timeline.TimelineEntry;
+import com.postblog.postservice.utils.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import org.modelmapper.ModelMapper;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service for operations related to posts.
@@ -29,21 +60,67 @@ public class PostService {
   private PostRepository postRepository;
 
   @Autowired
-  @Qualifier("modelMapperBeanPost")
-  private ModelMapper mapper;
+  private PostMapper mapper;
+
+  @Autowired
+  private PostResponseCache postCache;
+
+  @Autowired
+  private ViewCounter viewCounter;
+
+  @Autowired
+  private TrendingRanking trendingRanking;
+
+  @Autowired
+  private AuthorTimelines authorTimelines;
+
+  @Autowired
+  private PostSearchIndex searchIndex;
+
+  @Autowired
+  private CategoryIndex categoryIndex;
+
+  @Autowired
+  private Validator validator;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Value("${posts.page.max-size:100}")
+  private int maxPageSize;
+
+  @Value("${posts.search.max-results:50}")
+  private int maxSearchResults;
+
+  @Value("${posts.trending.max-results:50}")
+  private int maxTrendingResults;
+
+  @Value("${posts.batch.size:50}")
+  private int batchSize;
+
+  @Value("${posts.batch.max-items:5000}")
+  private int maxBatchItems;
 
   /**
-   * Get a post by its ID.
+   * Get a post by its ID and count the view. Posts are served from the post cache and loaded from
+   * the database on a miss; the view is counted in memory and written to the database later.
    *
    * @param id The ID of the post.
    * @return The corresponding post.
    * @throws HttpException if the post is not found.
    */
   public PostResponse getPostById(Long id) {
-    Optional<PostEntity> post = postRepository.findById(id);
-
-    return post.map(p -> mapper.map(p, PostResponse.class))
-        .orElseThrow(() -> new HttpException(POST_NOT_FOUND, NOT_FOUND));
+    PostResponse post = postCache.get(id, postId -> postRepository.findById(postId)
+        .map(mapper::toResponse)
+        .orElse(null));
+    if (post == null) {
+      throw new HttpException(POST_NOT_FOUND, NOT_FOUND);
+    }
+    viewCounter.record(id);
+    return post;
   }
 
   /**
@@ -59,10 +136,105 @@ public class PostService {
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_CREATE_POST, INTERNAL_SERVER_ERROR);
     }
+    index(postEntity);
   }
 
   /**
-   * Update a post by its ID.
+   * Create many posts at once. Invalid posts are reported and skipped, the valid ones are inserted
+   * in chunks of the batch size, each chunk in its own transaction and sent to the database as
+   * batched statements. A chunk that fails to insert only fails its own posts.
+   *
+   * @param posts The posts to be created.
+   * @return One result per post, in request order, with the ID of the created post or the error.
+   * @throws HttpException if the batch is empty or larger than the maximum batch size.
+   */
+  public List<PostBatchItemResult> createPosts(List<PostEntity> posts) {
+    if (posts == null || posts.isEmpty()) {
+      throw new HttpException(EMPTY_POST_BATCH, BAD_REQUEST);
+    }
+    if (posts.size() > maxBatchItems) {
+      throw new HttpException(POST_BATCH_TOO_LARGE, PAYLOAD_TOO_LARGE);
+    }
+
+    List<PostBatchItemResult> results = new ArrayList<>(posts.size());
+    List<PostBatchItemResult> chunkResults = new ArrayList<>(batchSize);
+    List<PostEntity> chunk = new ArrayList<>(batchSize);
+    for (int i = 0; i < posts.size(); i++) {
+      PostEntity post = posts.get(i);
+      PostBatchItemResult result = PostBatchItemResult.builder().index(i).build();
+      results.add(result);
+
+      String error = validate(post);
+      if (error != null) {
+        result.setStatus(BAD_REQUEST);
+        result.setError(error);
+        continue;
+      }
+      post.setId(null);
+      chunk.add(post);
+      chunkResults.add(result);
+      if (chunk.size() == batchSize) {
+        insertChunk(chunk, chunkResults);
+      }
+    }
+    if (!chunk.isEmpty()) {
+      insertChunk(chunk, chunkResults);
+    }
+    return results;
+  }
+
+  private String validate(PostEntity post) {
+    if (post == null) {
+      return "must not be null";
+    }
+    Set<ConstraintViolation<PostEntity>> violations = validator.validate(post);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining(", "));
+  }
+
+  private void insertChunk(List<PostEntity> chunk, List<PostBatchItemResult> chunkResults) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        postRepository.saveAll(chunk);
+        postRepository.flush();
+      });
+    } catch (Exception e) {
+      chunkResults.forEach(result -> {
+        result.setStatus(INTERNAL_SERVER_ERROR);
+        result.setError(FAILED_TO_CREATE_POST);
+      });
+      chunk.clear();
+      chunkResults.clear();
+      return;
+    } finally {
+      entityManager.clear();
+    }
+    // The chunk is committed from here on, its results are final whatever the indexes do.
+    for (int i = 0; i < chunk.size(); i++) {
+      chunkResults.get(i).setStatus(CREATED);
+      chunkResults.get(i).setId(chunk.get(i).getId());
+    }
+    chunkResults.clear();
+    chunk.forEach(this::index);
+    chunk.clear();
+  }
+
+  private void index(PostEntity post) {
+    searchIndex.index(post);
+    categoryIndex.index(post);
+    trendingRanking.recordPost(post);
+    authorTimelines.add(post);
+  }
+
+  /**
+   * Update a post by its ID. The changes are flushed here, so a rejected update fails the call;
+   * the cache, indexes and timelines pick them up once the transaction commits, and never if it
+   * rolls back.
    *
    * @param postId       The ID of the post to be updated.
    * @param postToUpdate The updated data of the post.
@@ -72,6 +244,7 @@ public class PostService {
   public void updatePostById(Long postId, PostEntity postToUpdate) {
     PostEntity post = postRepository.findById(postId)
         .orElseThrow(() -> new HttpException(POST_NOT_FOUND, NOT_FOUND));
+    String previousAuthor = post.getAuthor();
 
     post.setAuthor(postToUpdate.getAuthor());
     post.setCategories(postToUpdate.getCategories());
@@ -80,29 +253,146 @@ public class PostService {
     post.setContent(postToUpdate.getContent());
 
     try {
-      postRepository.save(post);
-      mapper.map(post, PostResponse.class);
+      postRepository.saveAndFlush(post);
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_UPDATE_POST, INTERNAL_SERVER_ERROR);
     }
+    postCache.invalidate(postId);
+    searchIndex.index(post);
+    categoryIndex.index(post);
+    authorTimelines.move(previousAuthor, post);
   }
 
   /**
-   * Get all posts.
+   * Get a page of posts, newest first. Pages are addressed by a keyset cursor on the creation date
+   * and ID, so every page costs the same whatever its depth.
    *
-   * @return A list of all posts.
-   * @throws HttpException if there is a failure to get the posts.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size   The number of posts wanted, capped by the maximum page size.
+   * @return The page of posts and the cursor of the next page, null when there is none.
+   * @throws HttpException if the cursor is invalid or there is a failure to get the posts.
    */
-  public List<PostResponse> getAllPosts() {
+  public PostPage getPosts(String cursor, int size) {
+    int pageSize = Math.max(1, Math.min(size, maxPageSize));
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
     try {
-      List<PostEntity> postList = postRepository.findAll();
-      return postList.stream().map(post -> mapper.map(post, PostResponse.class))
+      List<PostEntity> postList = after == null
+          ? postRepository.findFirstPage(limit)
+          : postRepository.findPageAfter(after.createAt(), after.id(), limit);
+
+      String nextCursor = null;
+      if (postList.size() > pageSize) {
+        postList = postList.subList(0, pageSize);
+        PostEntity last = postList.get(pageSize - 1);
+        nextCursor = new KeysetCursor(last.getCreateAt(), last.getId()).encode();
+      }
+      List<PostResponse> posts = postList.stream().map(mapper::toResponse)
           .toList();
+      return PostPage.builder().posts(posts).nextCursor(nextCursor).build();
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_GET_POSTS, INTERNAL_SERVER_ERROR);
     }
   }
 
+  /**
+   * Get a page of the posts in the given categories, newest first by creation date, then ID, as
+   * {@link #getPosts(String, int)} orders them, with the number of matching posts in each
+   * category. Posts are selected from the in-memory category index and read through the post
+   * cache, so no join on the category table is needed.
+   *
+   * @param categories The categories to filter on.
+   * @param match      Whether a post needs any or all of the categories.
+   * @param cursor     The cursor returned with the previous page, or null for the first page.
+   * @param size       The number of posts wanted, capped by the maximum page size.
+   * @return The page of posts, the cursor of the next page and the counts per category.
+   * @throws HttpException if the cursor is invalid.
+   */
+  public CategoryPage getPostsByCategories(Set<Category> categories, CategoryMatch match,
+      String cursor, int size) {
+    int pageSize = Math.max(1, Math.min(size, maxPageSize));
+    KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+    CategorySelection selection = categoryIndex.select(categories,
+        match == null ? CategoryMatch.ANY : match,
+        after == null ? null : new TimelineEntry(after.id(), after.createAt()), pageSize + 1);
+
+    List<TimelineEntry> entries = selection.posts();
+    String nextCursor = null;
+    if (entries.size() > pageSize) {
+      entries = entries.subList(0, pageSize);
+      TimelineEntry last = entries.get(pageSize - 1);
+      nextCursor = new KeysetCursor(last.createAt(), last.id()).encode();
+    }
+    return CategoryPage.builder()
+        .posts(loadPosts(entries.stream().map(TimelineEntry::id).toList()))
+        .nextCursor(nextCursor)
+        .total(selection.total())
+        .categoryCounts(selection.counts())
+        .build();
+  }
+
+  /**
+   * Search posts by title and content. Matching posts are found and ranked by the in-process
+   * search index, then read through the post cache.
+   *
+   * @param query The search terms.
+   * @param limit The number of posts wanted, capped by the maximum number of search results.
+   * @return The best matching posts, best first.
+   * @throws HttpException if the query is empty.
+   */
+  public List<PostResponse> searchPosts(String query, int limit) {
+    if (query == null || query.isBlank()) {
+      throw new HttpException(EMPTY_SEARCH_QUERY, BAD_REQUEST);
+    }
+    int resultSize = Math.max(1, Math.min(limit, maxSearchResults));
+    return searchIndex.search(query, resultSize).stream()
+        .map(id -> postCache.get(id, postId -> postRepository.findById(postId)
+            .map(mapper::toResponse)
+            .orElse(null)))
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  /**
+   * Get a page of the posts of an author, newest first. Posts are listed from the (author,
+   * create_at, id) index and read through the post cache; the first page of a prolific author is
+   * listed from the author's in-memory timeline instead.
+   *
+   * @param author The author.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size   The number of posts wanted, capped by the maximum page size.
+   * @return The page of posts and the cursor of the next page, null when there is none.
+   * @throws HttpException if the cursor is invalid.
+   */
+  public PostPage getPostsByAuthor(String author, String cursor, int size) {
+    int pageSize = Math.max(1, Math.min(size, maxPageSize));
+    KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+    List<TimelineEntry> entries = after == null
+        ? authorTimelines.firstPage(author, pageSize + 1)
+        : authorTimelines.pageAfter(author, after.createAt(), after.id(), pageSize + 1);
+
+    String nextCursor = null;
+    if (entries.size() > pageSize) {
+      entries = entries.subList(0, pageSize);
+      TimelineEntry last = entries.get(pageSize - 1);
+      nextCursor = new KeysetCursor(last.createAt(), last.id()).encode();
+    }
+    List<PostResponse> posts = loadPosts(entries.stream().map(TimelineEntry::id).toList());
+    return PostPage.builder().posts(posts).nextCursor(nextCursor).build();
+  }
+
+  /**
+   * Get the trending posts, ranked in memory by their recent activity and read through the post
+   * cache.
+   *
+   * @param limit The number of posts wanted, capped by the maximum number of trending posts.
+   * @return The trending posts, most trending first.
+   */
+  public List<PostResponse> getTrendingPosts(int limit) {
+    int resultSize = Math.max(1, Math.min(limit, maxTrendingResults));
+    return loadPosts(trendingRanking.top(resultSize));
+  }
+
   /**
    * Delete a post by its ID.
    *
@@ -111,9 +401,23 @@ public class PostService {
    */
 
   public void deletePostById(Long postId) {
-    if (!postRepository.existsById(postId)) {
-      throw new HttpException(POST_NOT_FOUND, NOT_FOUND);
-    }
-    postRepository.deleteById(postId);
+    PostEntity post = postRepository.findById(postId)
+        .orElseThrow(() -> new HttpException(POST_NOT_FOUND, NOT_FOUND));
+    postRepository.delete(post);
+    postCache.invalidate(postId);
+    searchIndex.remove(postId);
+    categoryIndex.remove(postId);
+    trendingRanking.remove(postId);
+    authorTimelines.remove(post.getAuthor(), postId);
+  }
+
+  private List<PostResponse> loadPosts(List<Long> ids) {
+    Map<Long, PostResponse> found = postCache.getAll(ids, missing ->
+        postRepository.findAllById(List.copyOf(missing)).stream()
+            .collect(Collectors.toMap(PostEntity::getId, mapper::toResponse)));
+    return ids.stream()
+        .map(found::get)
+        .filter(Objects::nonNull)
+        .toList();
   }
 }
@@ -0,0 +1,158 @@
+package com.postblog.postservice.timeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.utils.Transactions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory timelines of prolific authors: the IDs of their most recent posts, newest first,
+ * capped at the timeline capacity.
+ *
+ * <p>A timeline is read from the author index on first use and kept only if the author has at
+ * least the minimum number of posts; other authors are read from the index every time. Kept
+ * timelines are updated after commit as posts are created, moved to another author or deleted,
+ * so the first page of a prolific author's posts needs no query.
+ */
+@Component
+public class AuthorTimelines implements MeterBinder {
+
+  private final Cache<String, Timeline> timelines;
+
+  private final PostRepository postRepository;
+  private final int capacity;
+  private final int minPosts;
+
+  public AuthorTimelines(PostRepository postRepository,
+      @Value("${posts.timeline.capacity:100}") int capacity,
+      @Value("${posts.timeline.min-posts:20}") int minPosts,
+      @Value("${posts.timeline.maximum-authors:10000}") long maximumAuthors) {
+    this.postRepository = postRepository;
+    this.capacity = capacity;
+    this.minPosts = minPosts;
+    this.timelines = Caffeine.newBuilder()
+        .maximumSize(maximumAuthors)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Returns the most recent posts of an author, newest first, from the author's timeline if it is
+   * kept.
+   *
+   * @param author The author.
+   * @param limit  The maximum number of posts returned.
+   * @return The posts of the author.
+   */
+  public List<TimelineEntry> firstPage(String author, int limit) {
+    Timeline[] loaded = new Timeline[1];
+    Timeline timeline = timelines.get(author, key -> {
+      loaded[0] = load(key);
+      return loaded[0].entries().size() >= minPosts ? loaded[0] : null;
+    });
+    if (timeline == null) {
+      timeline = loaded[0];
+    }
+    List<TimelineEntry> entries = timeline.entries();
+    if (entries.size() < limit && !timeline.complete()) {
+      return postRepository.findTimeline(author, PageRequest.of(0, limit));
+    }
+    return entries.subList(0, Math.min(limit, entries.size()));
+  }
+
+  /**
+   * Returns the posts of an author created before the given post, newest first, from the author
+   * index.
+   *
+   * @param author   The author.
+   * @param createAt The creation date of the last post already returned.
+   * @param id       The ID of the last post already returned.
+   * @param limit    The maximum number of posts returned.
+   * @return The posts of the author.
+   */
+  public List<TimelineEntry> pageAfter(String author, LocalDateTime createAt, Long id,
+      int limit) {
+    return postRepository.findTimelineAfter(author, createAt, id, PageRequest.of(0, limit));
+  }
+
+  /**
+   * Adds a post to the timeline of its author if it is kept. Inside a transaction the post is
+   * added after commit.
+   *
+   * @param post The post that was created.
+   */
+  public void add(PostEntity post) {
+    if (post == null || post.getId() == null || post.getAuthor() == null) {
+      return;
+    }
+    String author = post.getAuthor();
+    TimelineEntry entry = new TimelineEntry(post.getId(), post.getCreateAt());
+    Transactions.afterCommit(() -> timelines.asMap()
+        .computeIfPresent(author, (key, timeline) -> timeline.add(entry, capacity)));
+  }
+
+  /**
+   * Removes a post from the timeline of an author if it is kept. Inside a transaction the post is
+   * removed after commit.
+   *
+   * @param author The author the post belonged to.
+   * @param postId The ID of the post.
+   */
+  public void remove(String author, Long postId) {
+    if (author == null || postId == null) {
+      return;
+    }
+    Transactions.afterCommit(() -> timelines.asMap()
+        .computeIfPresent(author, (key, timeline) -> timeline.remove(postId)));
+  }
+
+  /**
+   * Moves a post from the timeline of its previous author to the timeline of its author, each if
+   * it is kept. Inside a transaction the post is moved after commit, in one step.
+   *
+   * @param previousAuthor The author the post belonged to.
+   * @param post           The post that was updated.
+   */
+  public void move(String previousAuthor, PostEntity post) {
+    if (post == null || post.getId() == null || Objects.equals(previousAuthor, post.getAuthor())) {
+      return;
+    }
+    Long postId = post.getId();
+    String author = post.getAuthor();
+    TimelineEntry entry = new TimelineEntry(postId, post.getCreateAt());
+    Transactions.afterCommit(() -> {
+      if (previousAuthor != null) {
+        timelines.asMap()
+            .computeIfPresent(previousAuthor, (key, timeline) -> timeline.remove(postId));
+      }
+      if (author != null) {
+        timelines.asMap()
+            .computeIfPresent(author, (key, timeline) -> timeline.add(entry, capacity));
+      }
+    });
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, timelines, "author-timelines");
+  }
+
+  private Timeline load(String author) {
+    List<TimelineEntry> entries = postRepository.findTimeline(author,
+        PageRequest.of(0, capacity + 1));
+    if (entries.size() > capacity) {
+      return new Timeline(List.copyOf(entries.subList(0, capacity)), false);
+    }
+    return new Timeline(List.copyOf(entries), true);
+  }
+}
@@ -0,0 +1,60 @@
+package com.postblog.postservice.timeline;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, capped list of the most recent posts of an author, newest first. A timeline is
+ * complete when it holds every post of the author.
+ *
+ * @param entries  The posts, newest first.
+ * @param complete Whether the timeline holds every post of the author.
+ */
+record Timeline(List<TimelineEntry> entries, boolean complete) {
+
+  static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+      .comparing(TimelineEntry::createAt, Comparator.nullsLast(Comparator.reverseOrder()))
+      .thenComparing(TimelineEntry::id, Comparator.reverseOrder());
+
+  /**
+   * Returns this timeline with a post added in its place, dropping the oldest post if the
+   * capacity is exceeded. A post older than every post of an incomplete timeline is left out.
+   */
+  Timeline add(TimelineEntry entry, int capacity) {
+    List<TimelineEntry> updated = new ArrayList<>(entries.size() + 1);
+    for (TimelineEntry existing : entries) {
+      if (!existing.id().equals(entry.id())) {
+        updated.add(existing);
+      }
+    }
+    if (!complete && !updated.isEmpty()
+        && NEWEST_FIRST.compare(entry, updated.get(updated.size() - 1)) > 0) {
+      return this;
+    }
+    updated.add(entry);
+    updated.sort(NEWEST_FIRST);
+    boolean stillComplete = complete;
+    if (updated.size() > capacity) {
+      updated = updated.subList(0, capacity);
+      stillComplete = false;
+    }
+    return new Timeline(List.copyOf(updated), stillComplete);
+  }
+
+  /**
+   * Returns this timeline without a post, or null if the timeline is incomplete and no longer
+   * knows which post follows its last one.
+   */
+  Timeline remove(Long postId) {
+    if (entries.stream().noneMatch(entry -> entry.id().equals(postId))) {
+      return this;
+    }
+    if (!complete) {
+      return null;
+    }
+    return new Timeline(entries.stream()
+        .filter(entry -> !entry.id().equals(postId))
+        .toList(), true);
+  }
+}
@@ -0,0 +1,13 @@
+package com.postblog.postservice.timeline;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post in an author's timeline, read from the author index without loading the post entity.
+ *
+ * @param id       The ID of the post.
+ * @param createAt The creation date of the post.
+ */
+public record TimelineEntry(Long id, LocalDateTime createAt) {
+
+}
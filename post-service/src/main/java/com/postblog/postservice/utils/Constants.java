@@ -2,7 +2,10 @@ package com.postblog.postservice.utils;
 
 public class Constants {
 
+  public static final int CREATED = 201;
+  public static final int BAD_REQUEST = 400;
   public static final int NOT_FOUND = 404;
+  public static final int PAYLOAD_TOO_LARGE = 413;
   public static final int INTERNAL_SERVER_ERROR = 500;
   public static final String POST_NOT_FOUND = "Post not found";
   public static final String COMMENT_NOT_FOUND = "Comment not found";
@@ -12,6 +15,15 @@ public class Constants {
   public static final String FAILED_TO_GET_COMMENTS = "Failed to get comments";
   public static final String FAILED_TO_UPDATE_POST = "Failed to update post";
   public static final String FAILED_TO_UPDATE_COMMENT = "Failed to update post";
+  public static final String EMPTY_POST_BATCH = "Post batch is empty";
+  public static final String POST_BATCH_TOO_LARGE = "Post batch is too large";
+  public static final String EMPTY_SEARCH_QUERY = "Search query is empty";
+  public static final String INVALID_CURSOR = "Invalid cursor";
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+  public static final String CATEGORY_COUNTS_HEADER = "X-Category-Counts";
+  public static final String NDJSON = "application/x-ndjson";
+  public static final String EXPORT_FETCH_SIZE = "500";
 
   private Constants() {
   }
@@ -0,0 +1,55 @@
+package com.postblog.postservice.utils;
+
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostResponse;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strong entity tags of post and comment responses. A tag is derived from the ID and last
+ * modification date of the entity, plus the counters of a post, which change without modifying
+ * it, so it changes whenever the response body does.
+ */
+public final class ETags {
+
+  private ETags() {
+  }
+
+  /**
+   * Returns the entity tag of a post.
+   *
+   * @param post The post response.
+   * @return The quoted entity tag.
+   */
+  public static String of(PostResponse post) {
+    return '"' + version(post) + '"';
+  }
+
+  /**
+   * Returns the entity tag of a comment, which includes the tag of the post it belongs to.
+   *
+   * @param comment The comment response.
+   * @return The quoted entity tag.
+   */
+  public static String of(CommentResponse comment) {
+    String version = "c" + comment.getId() + '-'
+        + stamp(comment.getLastModifiedDate(), comment.getCreateAt());
+    if (comment.getPost() != null) {
+      version += '-' + version(comment.getPost());
+    }
+    return '"' + version + '"';
+  }
+
+  private static String version(PostResponse post) {
+    return "p" + post.getId() + '-' + stamp(post.getLastModifiedDate(), post.getCreateAt()) + '-'
+        + post.getCommentCount() + '-' + post.getViewCount();
+  }
+
+  private static long stamp(LocalDateTime lastModified, LocalDateTime created) {
+    LocalDateTime date = lastModified != null ? lastModified : created;
+    if (date == null) {
+      return 0;
+    }
+    return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + date.getNano();
+  }
+}
@@ -0,0 +1,50 @@
+package com.postblog.postservice.utils;
+
+import static com.postblog.postservice.utils.Constants.BAD_REQUEST;
+import static com.postblog.postservice.utils.Constants.INVALID_CURSOR;
+
+import com.postblog.postservice.exceptions.HttpException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page, ordered by creation date and ID. Clients only ever see it as
+ * an opaque token.
+ *
+ * @param createAt The creation date of the last row returned.
+ * @param id       The ID of the last row returned.
+ */
+public record KeysetCursor(LocalDateTime createAt, Long id) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Encodes this cursor as an opaque URL-safe token.
+   *
+   * @return The token.
+   */
+  public String encode() {
+    String raw = createAt + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token The token sent by the client.
+   * @return The decoded cursor.
+   * @throws HttpException if the token is malformed.
+   */
+  public static KeysetCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+          Long.valueOf(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new HttpException(INVALID_CURSOR, BAD_REQUEST);
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.postblog.postservice.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class Transactions {
+
+  private Transactions() {
+  }
+
+  /**
+   * Runs an action after the current transaction commits, or immediately outside a transaction.
+   * Actions registered in a transaction that rolls back never run.
+   *
+   * @param action The action to run.
+   */
+  public static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
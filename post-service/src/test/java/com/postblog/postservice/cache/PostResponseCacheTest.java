@@ -0,0 +1,98 @@
+package com.postblog.postservice.cache;
+
+import com.postblog.postservice.entities.PostResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PostResponseCacheTest {
+
+  private PostResponseCache postCache;
+
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    postCache = new PostResponseCache(100, 60);
+    loads = new AtomicInteger();
+  }
+
+  private PostResponse load(Long postId) {
+    loads.incrementAndGet();
+    return PostResponse.builder().id(postId).title("Post " + postId).build();
+  }
+
+  @Test
+  @DisplayName("Test get loads a post once and then serves it from the cache")
+  void testGet_loadsOnce_WhenCalledTwice() {
+    postCache.get(1L, this::load);
+    PostResponse post = postCache.get(1L, this::load);
+
+    Assertions.assertThat(post.getId()).isEqualTo(1L);
+    Assertions.assertThat(loads).hasValue(1);
+    Assertions.assertThat(postCache.stats().hitCount()).isEqualTo(1);
+    Assertions.assertThat(postCache.stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test invalidate forces the next get to reload the post")
+  void testGet_reloads_WhenInvalidated() {
+    postCache.get(1L, this::load);
+
+    postCache.invalidate(1L);
+    postCache.get(1L, this::load);
+
+    Assertions.assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Test get caches nothing when the loader returns null")
+  void testGet_doesNotCache_WhenLoaderReturnsNull() {
+    Assertions.assertThat(postCache.get(1L, postId -> null)).isNull();
+
+    postCache.get(1L, this::load);
+
+    Assertions.assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Test concurrent misses for the same post run a single load")
+  void testGet_loadsOnce_WhenMissedConcurrently() throws Exception {
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<PostResponse>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return postCache.get(1L, postId -> {
+            try {
+              Thread.sleep(50);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return load(postId);
+          });
+        }));
+      }
+      start.countDown();
+      for (Future<PostResponse> result : results) {
+        Assertions.assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assertions.assertThat(loads).hasValue(1);
+  }
+}
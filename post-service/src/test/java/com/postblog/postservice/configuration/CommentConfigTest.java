@@ -1,11 +1,11 @@
 package com.postblog.postservice.configuration;
 
+import com.postblog.postservice.mapper.CommentMapper;
 import com.postblog.postservice.service.CommentService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -14,12 +14,12 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 class CommentConfigTest {
 
   @Test
-  @DisplayName("Test modelMapperBean creation")
-  void testModelMapperBeanCreationPosts_ReturnsOk_WhenSuccessful() {
+  @DisplayName("Test commentMapperBean creation")
+  void testCommentMapperBeanCreation_ReturnsOk_WhenSuccessful() {
     CommentConfig commentConfig = new CommentConfig();
-    ModelMapper modelMapper = commentConfig.modelMapperBeanComments();
+    CommentMapper commentMapper = commentConfig.commentMapperBean();
 
-    Assertions.assertThat(modelMapper).isNotNull();
+    Assertions.assertThat(commentMapper).isNotNull();
   }
 
   @Test
@@ -1,11 +1,11 @@
 package com.postblog.postservice.configuration;
 
+import com.postblog.postservice.mapper.PostMapper;
 import com.postblog.postservice.service.PostService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -27,10 +27,10 @@ class PostConfigTest {
   }
 
   @Test
-  @DisplayName("Test modelMapperBean creation")
-  void testModelMapperBeanCreationPosts_ReturnsOk_WhenSuccessful() {
-    ModelMapper modelMapper = postConfig.modelMapperBeanPost();
+  @DisplayName("Test postMapperBean creation")
+  void testPostMapperBeanCreation_ReturnsOk_WhenSuccessful() {
+    PostMapper postMapper = postConfig.postMapperBean();
 
-    Assertions.assertThat(modelMapper).isNotNull();
+    Assertions.assertThat(postMapper).isNotNull();
   }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.postblog.postservice.controller;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import com.postblog.postservice.entities.PostPage;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.service.PostService;
+import com.postblog.postservice.utils.EntityCreator;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorControllerTest {
+
+  @InjectMocks
+  private AuthorController authorController;
+
+  @Mock
+  private PostService postServiceMock;
+
+  @Test
+  @DisplayName("Test for retrieving the posts of an author returns the page and next cursor")
+  void testGetPostsByAuthor_returnsPostsAndCursor_WhenSuccessful() {
+    PostResponse post = EntityCreator.createValidSamplePost();
+    when(postServiceMock.getPostsByAuthor("jUnit", null, 20))
+        .thenReturn(PostPage.builder().posts(List.of(post)).nextCursor("next").build());
+
+    ResponseEntity<List<PostResponse>> response =
+        authorController.getPostsByAuthor("jUnit", null, 20);
+
+    Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assertions.assertEquals(List.of(post), response.getBody());
+    Assertions.assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
+  }
+
+  @Test
+  @DisplayName("Test retrieving the posts of an author with an invalid cursor returns bad request")
+  void testGetPostsByAuthor_returnsBadRequest_WhenCursorInvalid() {
+    doThrow(new HttpException("Invalid cursor", HttpStatus.BAD_REQUEST.value()))
+        .when(postServiceMock).getPostsByAuthor("jUnit", "bad", 20);
+
+    ResponseEntity<List<PostResponse>> response =
+        authorController.getPostsByAuthor("jUnit", "bad", 20);
+
+    Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+  }
+}
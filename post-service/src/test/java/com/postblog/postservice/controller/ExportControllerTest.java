@@ -0,0 +1,149 @@
+package com.postblog.postservice.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.postblog.postservice.service.ExportService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+@ExtendWith(MockitoExtension.class)
+class ExportControllerTest {
+
+  private static final String LINE = "{\"id\":1}\n";
+
+  @InjectMocks
+  private ExportController exportController;
+
+  @Mock
+  private ExportService exportServiceMock;
+
+  private void writeLine() throws IOException {
+    doAnswer(invocation -> {
+      invocation.getArgument(1, OutputStream.class)
+          .write(LINE.getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(exportServiceMock).exportComments(eq(null), any());
+  }
+
+  private MockHttpServletResponse exportComments(String acceptEncoding) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    exportController.exportComments(null, acceptEncoding, response).getCallable().call();
+    return response;
+  }
+
+  @Test
+  @DisplayName("Test for exporting posts streams the lines written by the service")
+  void testExportPosts_streamsNdjson_WhenSuccessful() throws Exception {
+    doAnswer(invocation -> {
+      invocation.getArgument(1, OutputStream.class).write(LINE.getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(exportServiceMock).exportPosts(eq(5L), any());
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    WebAsyncTask<Void> task = exportController.exportPosts(5L, null, response);
+    task.getCallable().call();
+
+    Assertions.assertEquals(200, response.getStatus());
+    Assertions.assertEquals("application/x-ndjson", response.getContentType());
+    Assertions.assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(LINE, response.getContentAsString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Test for exporting runs as a task with the export timeout")
+  void testExportPosts_usesExportTimeout_WhenStarted() throws Exception {
+    Field timeoutField = ExportController.class.getDeclaredField("timeoutMs");
+    timeoutField.setAccessible(true);
+    timeoutField.set(exportController, 60_000L);
+
+    WebAsyncTask<Void> task = exportController.exportPosts(null, null,
+        new MockHttpServletResponse());
+
+    Assertions.assertEquals(60_000L, task.getTimeout());
+  }
+
+  @Test
+  @DisplayName("Test for exporting comments gzips the stream when the client accepts gzip")
+  void testExportComments_streamsGzippedNdjson_WhenGzipAccepted() throws Exception {
+    writeLine();
+
+    MockHttpServletResponse response = exportComments("gzip, deflate");
+
+    Assertions.assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+    try (GZIPInputStream in = new GZIPInputStream(
+        new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      Assertions.assertEquals(LINE, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+    verify(exportServiceMock).exportComments(eq(null), any());
+  }
+
+  @Test
+  @DisplayName("Test for exporting completes the async request with the streamed lines")
+  void testExportComments_completesRequest_WhenDispatched() throws Exception {
+    writeLine();
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+
+    MvcResult result = mockMvc.perform(get("/api/export/comments")
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(content().string(LINE));
+  }
+
+  @Test
+  @DisplayName("Test for exporting does not gzip when the client refuses gzip with q=0")
+  void testExportComments_streamsPlainNdjson_WhenGzipRefused() throws Exception {
+    writeLine();
+
+    MockHttpServletResponse refused = exportComments("deflate, gzip;q=0");
+    MockHttpServletResponse refusedOverWildcard = exportComments("*;q=1, GZIP; Q=0.0");
+    MockHttpServletResponse onlyIdentity = exportComments("identity");
+
+    Assertions.assertNull(refused.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals(LINE, refused.getContentAsString(StandardCharsets.UTF_8));
+    Assertions.assertNull(refusedOverWildcard.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertNull(onlyIdentity.getHeader(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  @DisplayName("Test for exporting gzips when gzip or the wildcard has a non-zero q-value")
+  void testExportComments_streamsGzippedNdjson_WhenQualityPositive() throws Exception {
+    writeLine();
+
+    MockHttpServletResponse weighted = exportComments("br;q=1.0, gzip;q=0.5");
+    MockHttpServletResponse wildcard = exportComments("identity, *;q=0.1");
+
+    Assertions.assertEquals("gzip", weighted.getHeader(HttpHeaders.CONTENT_ENCODING));
+    Assertions.assertEquals("gzip", wildcard.getHeader(HttpHeaders.CONTENT_ENCODING));
+  }
+}
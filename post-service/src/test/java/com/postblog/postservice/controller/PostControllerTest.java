@@ -1,18 +1,35 @@
 package com.postblog.postservice.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CategoryMatch;
+import com.postblog.postservice.entities.CategoryPage;
+import com.postblog.postservice.entities.CommentPage;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostBatchItemResult;
 import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostPage;
 import com.postblog.postservice.entities.PostResponse;
 import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.service.CommentService;
 import com.postblog.postservice.service.PostService;
+import com.postblog.postservice.utils.ETags;
 import com.postblog.postservice.utils.EntityCreator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,8 +37,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 @ExtendWith(MockitoExtension.class)
 class PostControllerTest {
@@ -32,23 +52,42 @@ class PostControllerTest {
   @Mock
   private PostService postServiceMock;
 
+  @Mock
+  private CommentService commentServiceMock;
+
   @Test
   @DisplayName("Test for retrieving all posts returns list of posts when successful")
   void testGetAllPosts_returnsListOfPosts_WhenSuccessful() {
-    ResponseEntity<List<PostResponse>> responseEntity = postController.getAllPosts();
+    when(postServiceMock.getPosts(null, 20)).thenReturn(new PostPage(List.of(), null));
+    ResponseEntity<List<PostResponse>> responseEntity =
+        postController.getAllPosts(null, 20, null, CategoryMatch.ANY);
     Assertions.assertNotNull(responseEntity);
     Assertions.assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     List<PostResponse> postResponses = responseEntity.getBody();
     Assertions.assertNotNull(postResponses);
     Assertions.assertTrue(postResponses.isEmpty());
+    Assertions.assertFalse(responseEntity.getHeaders().containsKey("X-Next-Cursor"));
+  }
+
+  @Test
+  @DisplayName("Test for retrieving a page of posts returns the next cursor header")
+  void testGetAllPosts_returnsNextCursorHeader_WhenMorePostsExist() {
+    PostResponse post = EntityCreator.createValidSamplePost();
+    when(postServiceMock.getPosts("cursor", 1)).thenReturn(new PostPage(List.of(post), "next"));
+    ResponseEntity<List<PostResponse>> responseEntity =
+        postController.getAllPosts("cursor", 1, null, CategoryMatch.ANY);
+    Assertions.assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    Assertions.assertEquals(List.of(post), responseEntity.getBody());
+    Assertions.assertEquals("next", responseEntity.getHeaders().getFirst("X-Next-Cursor"));
   }
 
   @Test
   @DisplayName("Test controller returns correct status code when HttpException is thrown during getAllPosts ")
   void testGetAllPosts_ReturnsCorrectStatusCode_WhenHttpExceptionThrown() {
     doThrow(new HttpException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR.value()))
-        .when(postServiceMock).getAllPosts();
-    ResponseEntity<List<PostResponse>> response = postController.getAllPosts();
+        .when(postServiceMock).getPosts(null, 20);
+    ResponseEntity<List<PostResponse>> response =
+        postController.getAllPosts(null, 20, null, CategoryMatch.ANY);
     Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
   }
 
@@ -65,6 +104,20 @@ class PostControllerTest {
     Assertions.assertEquals("Sample Post", postResponse.getTitle());
     Assertions.assertEquals("This is test.", postResponse.getContent());
     Assertions.assertEquals(1L, postResponse.getId());
+    Assertions.assertEquals(ETags.of(postResponse), responseEntity.getHeaders().getETag());
+  }
+
+  @Test
+  @DisplayName("Test for retrieving post by ID returns not modified when the tag matches")
+  void testGetPostById_returnsNotModified_WhenTagMatches() throws Exception {
+    PostResponse post = EntityCreator.createValidSamplePost();
+    when(postServiceMock.getPostById(1L)).thenReturn(post);
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(postController).build();
+
+    mockMvc.perform(get("/api/posts/1").header(HttpHeaders.IF_NONE_MATCH, ETags.of(post)))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, ETags.of(post)))
+        .andExpect(content().string(""));
   }
 
   @Test
@@ -134,4 +187,109 @@ class PostControllerTest {
     ResponseEntity<Void> response = postController.deleteUser(1L);
     Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
   }
+
+  @Test
+  @DisplayName("Test for creating a batch of posts returns created when all posts are created")
+  void testSavePosts_returnsCreated_WhenAllPostsCreated() {
+    List<PostEntity> posts = List.of(EntityCreator.createSamplePost());
+    List<PostBatchItemResult> results = List.of(new PostBatchItemResult(0, 201, 1L, null));
+    when(postServiceMock.createPosts(posts)).thenReturn(results);
+    ResponseEntity<List<PostBatchItemResult>> response = postController.savePosts(posts);
+    Assertions.assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    Assertions.assertEquals(results, response.getBody());
+  }
+
+  @Test
+  @DisplayName("Test for creating a batch of posts returns multi-status when some posts fail")
+  void testSavePosts_returnsMultiStatus_WhenSomePostsNotCreated() {
+    List<PostEntity> posts = List.of(EntityCreator.createSamplePost(),
+        EntityCreator.createSamplePost2());
+    List<PostBatchItemResult> results = List.of(new PostBatchItemResult(0, 201, 1L, null),
+        new PostBatchItemResult(1, 400, null, "title must not be null"));
+    when(postServiceMock.createPosts(posts)).thenReturn(results);
+    ResponseEntity<List<PostBatchItemResult>> response = postController.savePosts(posts);
+    Assertions.assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+    Assertions.assertEquals(results, response.getBody());
+  }
+
+  @Test
+  @DisplayName("Test for creating a batch of posts returns the status of the HttpException")
+  void testSavePosts_ReturnsCorrectStatusCode_WhenHttpExceptionThrown() {
+    doThrow(new HttpException("Post batch is too large", HttpStatus.PAYLOAD_TOO_LARGE.value()))
+        .when(postServiceMock).createPosts(List.of());
+    ResponseEntity<List<PostBatchItemResult>> response = postController.savePosts(List.of());
+    Assertions.assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Test for retrieving the comments of a post returns a page and the next cursor")
+  void testGetCommentsByPostId_returnsComments_WhenSuccessful() {
+    CommentResponse comment = EntityCreator.createValidTestComment();
+    when(commentServiceMock.getCommentsByPostId(1L, null, 20))
+        .thenReturn(new CommentPage(List.of(comment), "next"));
+    ResponseEntity<List<CommentResponse>> response =
+        postController.getCommentsByPostId(1L, null, 20);
+    Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assertions.assertEquals(List.of(comment), response.getBody());
+    Assertions.assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
+  }
+
+  @Test
+  @DisplayName("Test for retrieving the comments of a missing post returns not found")
+  void testGetCommentsByPostId_returnsNotFound_WhenPostNotFound() {
+    doThrow(new HttpException("Post not found", HttpStatus.NOT_FOUND.value()))
+        .when(commentServiceMock).getCommentsByPostId(1L, null, 20);
+    ResponseEntity<List<CommentResponse>> response =
+        postController.getCommentsByPostId(1L, null, 20);
+    Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Test for searching posts returns the matching posts")
+  void testSearchPosts_returnsPosts_WhenSuccessful() {
+    PostResponse post = EntityCreator.createValidSamplePost();
+    when(postServiceMock.searchPosts("sample", 10)).thenReturn(List.of(post));
+    ResponseEntity<List<PostResponse>> response = postController.searchPosts("sample", 10);
+    Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assertions.assertEquals(List.of(post), response.getBody());
+  }
+
+  @Test
+  @DisplayName("Test for searching posts with an empty query returns bad request")
+  void testSearchPosts_returnsBadRequest_WhenQueryEmpty() {
+    doThrow(new HttpException("Search query is empty", HttpStatus.BAD_REQUEST.value()))
+        .when(postServiceMock).searchPosts("", 10);
+    ResponseEntity<List<PostResponse>> response = postController.searchPosts("", 10);
+    Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Test for retrieving trending posts returns the ranked posts")
+  void testGetTrendingPosts_returnsPosts_WhenSuccessful() {
+    PostResponse post = EntityCreator.createValidSamplePost();
+    when(postServiceMock.getTrendingPosts(10)).thenReturn(List.of(post));
+    ResponseEntity<List<PostResponse>> response = postController.getTrendingPosts(10);
+    Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assertions.assertEquals(List.of(post), response.getBody());
+  }
+
+  @Test
+  @DisplayName("Test for retrieving posts by category returns the posts and the category counts")
+  void testGetAllPosts_returnsPostsAndCounts_WhenFilteredByCategory() {
+    PostResponse post = EntityCreator.createValidSamplePost();
+    Set<Category> categories = Set.of(Category.TECHNOLOGY, Category.SPORTS);
+    Map<Category, Long> counts = new EnumMap<>(Map.of(Category.TECHNOLOGY, 1L,
+        Category.SPORTS, 0L));
+    when(postServiceMock.getPostsByCategories(categories, CategoryMatch.ALL, null, 20))
+        .thenReturn(new CategoryPage(List.of(post), "next", 1L, counts));
+    ResponseEntity<List<PostResponse>> response =
+        postController.getAllPosts(null, 20, categories, CategoryMatch.ALL);
+    Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assertions.assertEquals(List.of(post), response.getBody());
+    Assertions.assertEquals("next", response.getHeaders().getFirst("X-Next-Cursor"));
+    Assertions.assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+    Assertions.assertEquals("TECHNOLOGY=1,SPORTS=0",
+        response.getHeaders().getFirst("X-Category-Counts"));
+    verify(postServiceMock, times(0)).getPosts(any(), anyInt());
+  }
 }
@@ -0,0 +1,185 @@
+package com.postblog.postservice.counter;
+
+import static org.mockito.Mockito.doAnswer;
+
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.repository.CommentRepository;
+import com.postblog.postservice.repository.PostRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import({CommentCounter.class, PostResponseCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Test for the comment counter")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "comments.count.flush-batch-size=2",
+    "comments.count.reconcile-chunk-size=2"
+})
+class CommentCounterTest {
+
+  @Autowired
+  private CommentCounter commentCounter;
+
+  @SpyBean
+  private PostRepository postRepository;
+
+  @Autowired
+  private PostResponseCache postCache;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  private Long postId;
+
+  private Long otherPostId;
+
+  @BeforeEach
+  void setUp() {
+    postId = savePost("Post").getId();
+    otherPostId = savePost("Other post").getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    commentRepository.deleteAll();
+    postRepository.deleteAll();
+  }
+
+  private PostEntity savePost(String title) {
+    return postRepository.save(PostEntity.builder()
+        .title(title)
+        .content("Content")
+        .author("jUnit")
+        .build());
+  }
+
+  private long commentCount(Long id) {
+    return postRepository.findById(id).orElseThrow().getCommentCount();
+  }
+
+  @Test
+  @DisplayName("Test new posts start with no comments")
+  void testCommentCount_isZero_WhenPostCreated() {
+    Assertions.assertThat(commentCount(postId)).isZero();
+  }
+
+  @Test
+  @DisplayName("Test flush adds the pending changes of every post to its count")
+  void testFlush_updatesCounts_WhenChangesPending() {
+    commentCounter.increment(postId);
+    commentCounter.increment(postId);
+    commentCounter.increment(postId);
+    commentCounter.decrement(postId);
+    commentCounter.increment(otherPostId);
+
+    commentCounter.flush();
+
+    Assertions.assertThat(commentCount(postId)).isEqualTo(2);
+    Assertions.assertThat(commentCount(otherPostId)).isEqualTo(1);
+
+    commentCounter.flush();
+
+    Assertions.assertThat(commentCount(postId)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test reconcile recounts the comments of posts whose count drifted")
+  void testReconcile_correctsCounts_WhenCountsDrifted() {
+    PostEntity post = postRepository.findById(postId).orElseThrow();
+    for (int i = 0; i < 3; i++) {
+      commentRepository.save(CommentEntity.builder().content("Comment " + i).authorId(1L)
+          .post(post).build());
+    }
+    commentCounter.increment(otherPostId);
+    commentCounter.flush();
+
+    int corrected = commentCounter.reconcile();
+
+    Assertions.assertThat(corrected).isEqualTo(2);
+    Assertions.assertThat(commentCount(postId)).isEqualTo(3);
+    Assertions.assertThat(commentCount(otherPostId)).isZero();
+    Assertions.assertThat(commentCounter.reconcile()).isZero();
+  }
+
+  @Test
+  @DisplayName("Test reconcile drops the pending change of a comment it already counted")
+  void testReconcile_countsCommentOnce_WhenChangePendingDuringRecount() {
+    PostEntity post = postRepository.findById(postId).orElseThrow();
+    commentRepository.save(CommentEntity.builder().content("Comment").authorId(1L).post(post)
+        .build());
+    doAnswer(invocation -> {
+      commentCounter.increment(postId);
+      return Math.max(postId, otherPostId);
+    }).when(postRepository).findMaxId();
+
+    Assertions.assertThat(commentCounter.reconcile()).isEqualTo(1);
+    commentCounter.flush();
+
+    Assertions.assertThat(commentCount(postId)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test reconcile keeps the pending change of a comment committed during the recount")
+  void testReconcile_keepsChange_WhenCommentCommittedDuringRecount() {
+    PostEntity post = postRepository.findById(postId).orElseThrow();
+    commentRepository.save(CommentEntity.builder().content("Comment").authorId(1L).post(post)
+        .build());
+    Answer<?> repository = Mockito.mockingDetails(postRepository).getMockCreationSettings()
+        .getDefaultAnswer();
+    doAnswer(invocation -> {
+      Object corrected = repository.answer(invocation);
+      commentRepository.save(CommentEntity.builder().content("Late comment").authorId(1L)
+          .post(post).build());
+      commentCounter.increment(postId);
+      return corrected;
+    }).when(postRepository).recountComments(ArgumentMatchers.anyCollection());
+
+    Assertions.assertThat(commentCounter.reconcile()).isEqualTo(1);
+    commentCounter.flush();
+
+    Assertions.assertThat(commentCount(postId)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test reconcile evicts the posts it corrected from the response cache")
+  void testReconcile_evictsCorrectedPosts_WhenCountsDrifted() {
+    postCache.get(postId, id -> PostResponse.builder().id(id).build());
+    postCache.get(otherPostId, id -> PostResponse.builder().id(id).build());
+    commentCounter.increment(postId);
+    commentCounter.flush();
+    postCache.get(postId, id -> PostResponse.builder().id(id).build());
+
+    commentCounter.reconcile();
+
+    Assertions.assertThat(postCache.get(postId, id -> null)).isNull();
+    Assertions.assertThat(postCache.get(otherPostId, id -> null)).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Test close writes the pending changes")
+  void testClose_flushesCounts_WhenChangesPending() {
+    commentCounter.increment(postId);
+
+    commentCounter.close();
+
+    Assertions.assertThat(commentCount(postId)).isEqualTo(1);
+  }
+}
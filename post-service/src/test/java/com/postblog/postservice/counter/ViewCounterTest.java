@@ -0,0 +1,150 @@
+package com.postblog.postservice.counter;
+
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.ranking.TrendingRanking;
+import com.postblog.postservice.repository.PostRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import({ViewCounter.class, TrendingRanking.class, PostResponseCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Test for the view counter")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "posts.views.flush-interval-ms=3600000",
+    "posts.views.max-unflushed=5",
+    "posts.views.flush-batch-size=2"
+})
+class ViewCounterTest {
+
+  @Autowired
+  private ViewCounter viewCounter;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private PostResponseCache postCache;
+
+  private Long postId;
+
+  private Long otherPostId;
+
+  @BeforeEach
+  void setUp() {
+    viewCounter.flush();
+    postId = savePost("Post").getId();
+    otherPostId = savePost("Other post").getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    postRepository.deleteAll();
+  }
+
+  private PostEntity savePost(String title) {
+    return postRepository.save(PostEntity.builder()
+        .title(title)
+        .content("Content")
+        .author("jUnit")
+        .build());
+  }
+
+  private long viewCount(Long id) {
+    return postRepository.findById(id).orElseThrow().getViewCount();
+  }
+
+  @Test
+  @DisplayName("Test flush writes the views of every post and nothing twice")
+  void testFlush_writesViews_WhenViewsRecorded() {
+    viewCounter.record(postId);
+    viewCounter.record(postId);
+    viewCounter.record(otherPostId);
+
+    Assertions.assertThat(viewCount(postId)).isZero();
+    Assertions.assertThat(viewCounter.flush()).isEqualTo(3);
+    Assertions.assertThat(viewCount(postId)).isEqualTo(2);
+    Assertions.assertThat(viewCount(otherPostId)).isEqualTo(1);
+    Assertions.assertThat(viewCounter.flush()).isZero();
+    Assertions.assertThat(viewCounter.flush()).isZero();
+    Assertions.assertThat(viewCount(postId)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test flushIfDue flushes only once the maximum of unflushed views is reached")
+  void testFlushIfDue_flushes_WhenMaxUnflushedReached() {
+    for (int i = 0; i < 4; i++) {
+      viewCounter.record(postId);
+    }
+    viewCounter.flushIfDue();
+
+    Assertions.assertThat(viewCount(postId)).isZero();
+
+    viewCounter.record(otherPostId);
+    viewCounter.flushIfDue();
+
+    Assertions.assertThat(viewCount(postId)).isEqualTo(4);
+    Assertions.assertThat(viewCount(otherPostId)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test flushIfDue evicts the posts viewed from the response cache")
+  void testFlushIfDue_evictsViewedPosts_WhenViewsFlushed() {
+    postCache.get(postId, id -> PostResponse.builder().id(id).viewCount(0L).build());
+    postCache.get(otherPostId, id -> PostResponse.builder().id(id).viewCount(0L).build());
+    for (int i = 0; i < 5; i++) {
+      viewCounter.record(postId);
+    }
+
+    viewCounter.flushIfDue();
+
+    Assertions.assertThat(postCache.get(postId, id -> null)).isNull();
+    Assertions.assertThat(postCache.get(otherPostId, id -> null)).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Test no view is lost when views are recorded while flushing")
+  void testFlush_losesNoViews_WhenRecordedConcurrently() throws Exception {
+    int threads = 4;
+    int viewsPerThread = 10_000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Long id = t % 2 == 0 ? postId : otherPostId;
+      futures.add(executor.submit(() -> {
+        for (int i = 0; i < viewsPerThread; i++) {
+          viewCounter.record(id);
+        }
+      }));
+    }
+    while (futures.stream().anyMatch(future -> !future.isDone())) {
+      viewCounter.flush();
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    viewCounter.flush();
+    viewCounter.flush();
+
+    Assertions.assertThat(viewCount(postId) + viewCount(otherPostId))
+        .isGreaterThanOrEqualTo((long) threads * viewsPerThread);
+  }
+}
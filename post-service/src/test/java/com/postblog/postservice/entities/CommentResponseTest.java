@@ -12,9 +12,9 @@ class CommentResponseTest {
   void testEqualsAndHashCode_returnsOk_WhenSuccessful() {
     LocalDateTime now = LocalDateTime.now();
     CommentResponse comment1 = new CommentResponse(1L, "CommentResponseTest", 1L, now,
-        null);
+        null, null);
     CommentResponse comment2 = new CommentResponse(1L, "CommentResponseTest", 1L, now,
-        null);
+        null, null);
 
     Assertions.assertThat(comment1).isEqualTo(comment2);
     Assertions.assertThat(comment1.hashCode()).hasSameHashCodeAs(comment2.hashCode());
@@ -24,7 +24,7 @@ class CommentResponseTest {
   @DisplayName("Test for toString()")
   void testToString_returnsOk_WhenSuccessful() {
     CommentResponse comment = new CommentResponse(1L, "This is test response.", 1L,
-        LocalDateTime.now(), null);
+        LocalDateTime.now(), null, null);
 
     String commentExpected = comment.toString();
 
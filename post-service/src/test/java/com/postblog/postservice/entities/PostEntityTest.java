@@ -34,7 +34,7 @@ class PostEntityTest {
     LocalDateTime now = LocalDateTime.now();
     Set<Category> categories = EnumSet.of(Category.ENTERTAINMENT);
     PostEntity postEntity = new PostEntity(1L, "Test post", "Content of the post", "Author1",
-        categories, now, "CreatorName", "LastModifierName", now, null
+        categories, 0L, 0L, now, "CreatorName", "LastModifierName", now, null
     );
   }
 
@@ -100,7 +100,7 @@ class PostEntityTest {
     LocalDateTime now = LocalDateTime.now();
     Set<Category> categories = EnumSet.of(Category.ENTERTAINMENT);
     PostEntity postEntity2 = new PostEntity(1L, "Test post", "Content of the post", "Author1",
-        categories, now, "CreatorName", "LastModifierName", now, null
+        categories, 0L, 0L, now, "CreatorName", "LastModifierName", now, null
     );
 
     when(postRepository.findAll()).thenReturn(Arrays.asList(postEntity, postEntity2));
@@ -118,14 +118,14 @@ class PostEntityTest {
     LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
     Set<Category> categories = EnumSet.of(Category.ENTERTAINMENT);
     PostEntity post1 = new PostEntity(1L, "Test post", "Content of the post", "Author1",
-        categories, now, "CreatorName", "LastModifierName", now, null
+        categories, 0L, 0L, now, "CreatorName", "LastModifierName", now, null
     );
     PostEntity post2 = new PostEntity(1L, "Test post", "Content of the post", "Author1",
-        categories, now, "CreatorName", "LastModifierName", now, null
+        categories, 0L, 0L, now, "CreatorName", "LastModifierName", now, null
     );
 
     PostEntity post3 = new PostEntity(2L, "Test post", "Content of the post", "Author1",
-        categories, now, "CreatorName", "LastModifierName", now, null
+        categories, 0L, 0L, now, "CreatorName", "LastModifierName", now, null
     );
 
     Assertions.assertThat(post1).isEqualTo(post2);
@@ -141,7 +141,7 @@ class PostEntityTest {
     LocalDateTime now = LocalDateTime.now();
     Set<Category> categories = EnumSet.of(Category.ENTERTAINMENT);
     PostEntity post = new PostEntity(1L, "Test post", "Content of the post", "Author1",
-        categories, now, "CreatorName", "LastModifierName", now, null
+        categories, 0L, 0L, now, "CreatorName", "LastModifierName", now, null
     );
     Assertions.assertThat(post.toString())
         .contains("PostEntity")
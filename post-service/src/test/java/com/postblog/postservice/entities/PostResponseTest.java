@@ -17,9 +17,12 @@ class PostResponseTest {
     LocalDateTime now = LocalDateTime.now();
     Set<Category> categories = EnumSet.of(Category.ENTERTAINMENT);
 
-    PostResponse post1 = new PostResponse(1L, "Title", "Content", "Author", categories, now);
-    PostResponse post2 = new PostResponse(1L, "Title", "Content", "Author", categories, now);
-    PostResponse post3 = new PostResponse(1L, "Test", "Content", "Author", categories, now);
+    PostResponse post1 =
+        new PostResponse(1L, "Title", "Content", "Author", categories, now, 0L, 0L, null);
+    PostResponse post2 =
+        new PostResponse(1L, "Title", "Content", "Author", categories, now, 0L, 0L, null);
+    PostResponse post3 =
+        new PostResponse(1L, "Test", "Content", "Author", categories, now, 0L, 0L, null);
 
     boolean equals1to2 = post1.equals(post2);
     boolean equals2to1 = post2.equals(post1);
@@ -0,0 +1,37 @@
+package com.postblog.postservice.mapper;
+
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.utils.EntityCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CommentMapperTest {
+
+  private final CommentMapper commentMapper = new CommentMapper(new PostMapper());
+
+  @Test
+  @DisplayName("Test toResponse copies every field of the comment and its post")
+  void testToResponse_returnsCommentResponse_WhenSuccessful() {
+    CommentEntity comment = EntityCreator.createSampleCommentToBeSaved();
+
+    CommentResponse response = commentMapper.toResponse(comment);
+
+    Assertions.assertThat(response.getId()).isEqualTo(comment.getId());
+    Assertions.assertThat(response.getContent()).isEqualTo(comment.getContent());
+    Assertions.assertThat(response.getAuthorId()).isEqualTo(comment.getAuthorId());
+    Assertions.assertThat(response.getCreateAt()).isEqualTo(comment.getCreateAt());
+    Assertions.assertThat(response.getPost().getId()).isEqualTo(comment.getPost().getId());
+    Assertions.assertThat(response.getPost().getTitle()).isEqualTo(comment.getPost().getTitle());
+  }
+
+  @Test
+  @DisplayName("Test toResponse leaves the post empty when the comment has no post")
+  void testToResponse_returnsNullPost_WhenCommentHasNoPost() {
+    CommentEntity comment = EntityCreator.createSampleCommentToBeSaved();
+    comment.setPost(null);
+
+    Assertions.assertThat(commentMapper.toResponse(comment).getPost()).isNull();
+  }
+}
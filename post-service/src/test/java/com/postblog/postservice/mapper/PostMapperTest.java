@@ -0,0 +1,35 @@
+package com.postblog.postservice.mapper;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.utils.EntityCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PostMapperTest {
+
+  private final PostMapper postMapper = new PostMapper();
+
+  @Test
+  @DisplayName("Test toResponse copies every field of the post")
+  void testToResponse_returnsPostResponse_WhenSuccessful() {
+    PostEntity post = EntityCreator.createSamplePost();
+
+    PostResponse response = postMapper.toResponse(post);
+
+    Assertions.assertThat(response.getId()).isEqualTo(post.getId());
+    Assertions.assertThat(response.getTitle()).isEqualTo(post.getTitle());
+    Assertions.assertThat(response.getContent()).isEqualTo(post.getContent());
+    Assertions.assertThat(response.getAuthor()).isEqualTo(post.getAuthor());
+    Assertions.assertThat(response.getCreateAt()).isEqualTo(post.getCreateAt());
+    Assertions.assertThat(response.getCategories()).isEqualTo(post.getCategories())
+        .isNotSameAs(post.getCategories());
+  }
+
+  @Test
+  @DisplayName("Test toResponse returns null when the post is null")
+  void testToResponse_returnsNull_WhenPostIsNull() {
+    Assertions.assertThat(postMapper.toResponse(null)).isNull();
+  }
+}
@@ -0,0 +1,116 @@
+package com.postblog.postservice.ranking;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DisplayName("Test for the trending ranking")
+class TrendingRankingTest {
+
+  private static final int CAPACITY = 3;
+
+  private PostRepository postRepository;
+
+  private TrendingRanking trendingRanking;
+
+  private LocalDateTime now;
+
+  @BeforeEach
+  void setUp() {
+    postRepository = mock(PostRepository.class);
+    trendingRanking = new TrendingRanking(postRepository, mock(PlatformTransactionManager.class),
+        12, CAPACITY, 10, 5, 1, 7);
+    now = LocalDateTime.now();
+  }
+
+  private void createPost(Long id, LocalDateTime createAt) {
+    trendingRanking.recordPost(PostEntity.builder().id(id).createAt(createAt).build());
+  }
+
+  @Test
+  @DisplayName("Test top ranks newer posts first when there is no activity")
+  void testTop_ranksNewestFirst_WhenNoActivity() {
+    createPost(1L, now.minusHours(24));
+    createPost(2L, now);
+    createPost(3L, now.minusHours(1));
+
+    Assertions.assertThat(trendingRanking.top(10)).containsExactly(2L, 3L, 1L);
+    Assertions.assertThat(trendingRanking.top(1)).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("Test comments and views lift an older post above newer ones")
+  void testTop_ranksActivePostFirst_WhenCommentedAndViewed() {
+    createPost(1L, now.minusHours(12));
+    createPost(2L, now);
+
+    trendingRanking.recordComment(1L);
+    trendingRanking.recordViews(1L, 10);
+
+    Assertions.assertThat(trendingRanking.top(10)).containsExactly(1L, 2L);
+  }
+
+  @Test
+  @DisplayName("Test the ranking keeps only the best posts up to its capacity")
+  void testTop_evictsLowestPost_WhenCapacityReached() {
+    for (long id = 1; id <= CAPACITY + 1; id++) {
+      createPost(id, now.minusHours(10 - id));
+    }
+
+    Assertions.assertThat(trendingRanking.top(10)).containsExactly(4L, 3L, 2L);
+
+    trendingRanking.recordViews(1L, 1_000);
+
+    Assertions.assertThat(trendingRanking.top(10)).containsExactly(1L, 4L, 3L);
+  }
+
+  @Test
+  @DisplayName("Test remove drops a deleted post from the ranking")
+  void testTop_skipsPost_WhenRemoved() {
+    createPost(1L, now);
+    createPost(2L, now.minusHours(1));
+
+    trendingRanking.remove(1L);
+
+    Assertions.assertThat(trendingRanking.top(10)).containsExactly(2L);
+    Assertions.assertThat(trendingRanking.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test rebuild ranks recent posts by their creation and activity")
+  void testRebuild_ranksPostsByActivity_WhenSuccessful() {
+    createPost(9L, now);
+    when(postRepository.streamActivitySince(any())).thenReturn(Stream.of(
+        new PostActivity(1L, now.minusHours(2), 0, 0),
+        new PostActivity(2L, now.minusHours(3), 20, 100),
+        new PostActivity(3L, now.minusHours(1), 0, 0)));
+
+    trendingRanking.rebuild();
+
+    Assertions.assertThat(trendingRanking.top(10)).containsExactly(2L, 3L, 1L);
+  }
+
+  @Test
+  @DisplayName("Test prune forgets old posts outside the ranking")
+  void testPrune_forgetsOldPosts_WhenScoresDecayed() {
+    for (long id = 1; id <= CAPACITY; id++) {
+      createPost(id, now);
+    }
+    createPost(4L, now.minusDays(30));
+
+    trendingRanking.prune();
+
+    Assertions.assertThat(trendingRanking.size()).isEqualTo(CAPACITY);
+    Assertions.assertThat(trendingRanking.top(10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+  }
+}
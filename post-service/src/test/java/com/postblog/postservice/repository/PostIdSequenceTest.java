@@ -0,0 +1,95 @@
+package com.postblog.postservice.repository;
+
+import com.postblog.postservice.entities.PostEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import(PostIdSequence.class)
+@DisplayName("Test for the post ID sequence")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties =
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class PostIdSequenceTest {
+
+  private static final String INSERT_POST =
+      "insert into posts_db (id, title, content, author) values (?, 'Title', 'Content', 'author')";
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private PostIdSequence postIdSequence;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  @DisplayName("Test for save post after existing rows when the sequence is seeded")
+  void testSave_continuesAfterExistingIds_WhenSeeded() {
+    insertPostsUpTo(75);
+
+    postIdSequence.seed();
+    PostEntity first = postRepository.save(newPost());
+    PostEntity second = postRepository.save(newPost());
+
+    Assertions.assertThat(first.getId()).isEqualTo(76L);
+    Assertions.assertThat(second.getId()).isEqualTo(77L);
+    Assertions.assertThat(postRepository.count()).isEqualTo(77L);
+  }
+
+  @Test
+  @DisplayName("Test for save post after existing rows when the sequence is not seeded")
+  void testSave_throwsDataIntegrityViolation_WhenNotSeeded() {
+    insertPostsUpTo(75);
+
+    Assertions.assertThatThrownBy(() -> postRepository.save(newPost()))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("Test for seed when another instance already moved the sequence further")
+  void testSeed_keepsNextVal_WhenAlreadyAhead() {
+    insertPostsUpTo(75);
+    jdbcTemplate.update("update posts_seq set next_val = 1000");
+
+    postIdSequence.seed();
+
+    Assertions.assertThat(jdbcTemplate.queryForObject("select next_val from posts_seq", Long.class))
+        .isEqualTo(1000L);
+  }
+
+  @Test
+  @DisplayName("Test for seed when there are no posts")
+  void testSeed_keepsInitialValue_WhenNoPosts() {
+    postIdSequence.seed();
+    PostEntity saved = postRepository.save(newPost());
+
+    Assertions.assertThat(saved.getId()).isEqualTo(1L);
+  }
+
+  private static PostEntity newPost() {
+    return PostEntity.builder()
+        .title("jUnit")
+        .content("test")
+        .author("junit")
+        .build();
+  }
+
+  private void insertPostsUpTo(long maxId) {
+    for (long id = 1; id <= maxId; id++) {
+      jdbcTemplate.update(INSERT_POST, id);
+    }
+  }
+}
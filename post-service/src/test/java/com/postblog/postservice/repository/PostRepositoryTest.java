@@ -3,6 +3,8 @@ package com.postblog.postservice.repository;
 
 import com.postblog.postservice.entities.PostEntity;
 import com.postblog.postservice.utils.EntityCreator;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import org.assertj.core.api.Assertions;
@@ -10,11 +12,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
 
 @DataJpaTest
 @DisplayName("Test for Post repository")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@TestPropertySource(
+    properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
 class PostRepositoryTest {
 
   @Autowired
@@ -89,4 +95,30 @@ class PostRepositoryTest {
 
     Assertions.assertThat(posts).isNotNull().hasSize(2).contains(postSaved1, postSaved2);
   }
+
+  @Test
+  @DisplayName("Test for keyset pages are newest first and do not overlap")
+  void findPageAfter_returnsNextPage_WhenSuccessful() {
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    PostEntity oldest = this.postRepository.save(createPostAt(now.minusMinutes(2)));
+    PostEntity middle = this.postRepository.save(createPostAt(now.minusMinutes(1)));
+    PostEntity newest = this.postRepository.save(createPostAt(now.minusMinutes(1)));
+
+    List<PostEntity> firstPage = this.postRepository.findFirstPage(PageRequest.of(0, 2));
+    PostEntity last = firstPage.get(1);
+    List<PostEntity> secondPage = this.postRepository.findPageAfter(last.getCreateAt(),
+        last.getId(), PageRequest.of(0, 2));
+
+    Assertions.assertThat(firstPage).extracting(PostEntity::getId)
+        .containsExactly(newest.getId(), middle.getId());
+    Assertions.assertThat(secondPage).extracting(PostEntity::getId)
+        .containsExactly(oldest.getId());
+  }
+
+  private PostEntity createPostAt(LocalDateTime createAt) {
+    PostEntity post = EntityCreator.createSamplePostToBeSaved();
+    post.setId(null);
+    post.setCreateAt(createAt);
+    return post;
+  }
 }
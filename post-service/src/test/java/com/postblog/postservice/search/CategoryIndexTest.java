@@ -0,0 +1,156 @@
+package com.postblog.postservice.search;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CategoryMatch;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.timeline.TimelineEntry;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DisplayName("Test for the category index")
+class CategoryIndexTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  private PostRepository postRepository;
+
+  private CategoryIndex categoryIndex;
+
+  @BeforeEach
+  void setUp() {
+    postRepository = mock(PostRepository.class);
+    categoryIndex = new CategoryIndex(postRepository, mock(PlatformTransactionManager.class));
+    categoryIndex.index(post(1L, Category.TECHNOLOGY));
+    categoryIndex.index(post(2L, Category.TECHNOLOGY, Category.SPORTS));
+    categoryIndex.index(post(3L, Category.SPORTS));
+    categoryIndex.index(post(4L, Category.TRAVEL));
+  }
+
+  private static PostEntity post(Long id, Category... categories) {
+    return post(id, NOW.plusMinutes(id), categories);
+  }
+
+  private static PostEntity post(Long id, LocalDateTime createAt, Category... categories) {
+    return PostEntity.builder().id(id).createAt(createAt).categories(Set.of(categories)).build();
+  }
+
+  private static List<Long> ids(CategorySelection selection) {
+    return selection.posts().stream().map(TimelineEntry::id).toList();
+  }
+
+  @Test
+  @DisplayName("Test select with ANY returns the posts having any category, newest first")
+  void testSelect_returnsUnion_WhenMatchAny() {
+    CategorySelection selection = categoryIndex.select(
+        EnumSet.of(Category.TECHNOLOGY, Category.SPORTS), CategoryMatch.ANY, null, 10);
+
+    Assertions.assertThat(ids(selection)).containsExactly(3L, 2L, 1L);
+    Assertions.assertThat(selection.total()).isEqualTo(3);
+    Assertions.assertThat(selection.counts())
+        .containsEntry(Category.TECHNOLOGY, 2L)
+        .containsEntry(Category.SPORTS, 2L)
+        .containsEntry(Category.TRAVEL, 0L);
+  }
+
+  @Test
+  @DisplayName("Test select with ALL returns the posts having every category")
+  void testSelect_returnsIntersection_WhenMatchAll() {
+    CategorySelection selection = categoryIndex.select(
+        EnumSet.of(Category.TECHNOLOGY, Category.SPORTS), CategoryMatch.ALL, null, 10);
+
+    Assertions.assertThat(ids(selection)).containsExactly(2L);
+    Assertions.assertThat(selection.counts()).containsEntry(Category.TECHNOLOGY, 1L);
+  }
+
+  @Test
+  @DisplayName("Test select pages through the matching posts created before the cursor")
+  void testSelect_returnsNextPage_WhenCursorGiven() {
+    Set<Category> categories = EnumSet.of(Category.TECHNOLOGY, Category.SPORTS, Category.TRAVEL);
+
+    CategorySelection first = categoryIndex.select(categories, CategoryMatch.ANY, null, 2);
+    CategorySelection second = categoryIndex.select(categories, CategoryMatch.ANY,
+        first.posts().get(1), 2);
+
+    Assertions.assertThat(ids(first)).containsExactly(4L, 3L);
+    Assertions.assertThat(second.posts()).containsExactly(
+        new TimelineEntry(2L, NOW.plusMinutes(2)), new TimelineEntry(1L, NOW.plusMinutes(1)));
+    Assertions.assertThat(categoryIndex.select(categories, CategoryMatch.ANY,
+        second.posts().get(1), 2).posts()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Test select orders posts by creation date, then ID, not by ID alone")
+  void testSelect_ordersByCreationDate_WhenIdsOutOfOrder() {
+    categoryIndex.index(post(5L, NOW, Category.TECHNOLOGY));
+    categoryIndex.index(post(6L, NOW.plusMinutes(2), Category.TECHNOLOGY));
+
+    CategorySelection selection = categoryIndex.select(EnumSet.of(Category.TECHNOLOGY),
+        CategoryMatch.ANY, null, 10);
+    CategorySelection afterTie = categoryIndex.select(EnumSet.of(Category.TECHNOLOGY),
+        CategoryMatch.ANY, new TimelineEntry(6L, NOW.plusMinutes(2)), 10);
+
+    Assertions.assertThat(ids(selection)).containsExactly(6L, 2L, 1L, 5L);
+    Assertions.assertThat(ids(afterTie)).containsExactly(2L, 1L, 5L);
+  }
+
+  @Test
+  @DisplayName("Test select leaves out removed posts before and after the order is compacted")
+  void testSelect_skipsRemovedPosts_WhenPostsRemoved() {
+    Set<Category> categories = EnumSet.of(Category.TECHNOLOGY, Category.SPORTS, Category.TRAVEL);
+
+    categoryIndex.remove(4L);
+
+    Assertions.assertThat(ids(categoryIndex.select(categories, CategoryMatch.ANY, null, 10)))
+        .containsExactly(3L, 2L, 1L);
+
+    categoryIndex.remove(2L);
+    categoryIndex.index(post(4L, Category.TRAVEL));
+
+    Assertions.assertThat(ids(categoryIndex.select(categories, CategoryMatch.ANY, null, 10)))
+        .containsExactly(4L, 3L, 1L);
+  }
+
+  @Test
+  @DisplayName("Test a selection is not changed by later writes to the index")
+  void testSelect_isSnapshot_WhenIndexChanges() {
+    CategorySelection selection = categoryIndex.select(EnumSet.of(Category.TECHNOLOGY),
+        CategoryMatch.ANY, null, 10);
+
+    categoryIndex.index(post(2L, Category.SPORTS));
+    categoryIndex.remove(1L);
+
+    Assertions.assertThat(ids(selection)).containsExactly(2L, 1L);
+    Assertions.assertThat(categoryIndex.select(EnumSet.of(Category.TECHNOLOGY), CategoryMatch.ANY,
+        null, 10).total()).isZero();
+  }
+
+  @Test
+  @DisplayName("Test rebuild replaces the index with the categories in the database")
+  void testRebuild_indexesAllCategories_WhenSuccessful() {
+    when(postRepository.streamCategories()).thenReturn(Stream.of(
+        new PostCategory(8L, NOW, Category.POLITICS),
+        new PostCategory(8L, NOW, Category.TRAVEL),
+        new PostCategory(7L, NOW.plusMinutes(1), Category.POLITICS)));
+
+    categoryIndex.rebuild();
+
+    Assertions.assertThat(ids(categoryIndex.select(EnumSet.of(Category.POLITICS, Category.TRAVEL),
+        CategoryMatch.ALL, null, 10))).containsExactly(8L);
+    Assertions.assertThat(ids(categoryIndex.select(EnumSet.of(Category.POLITICS),
+        CategoryMatch.ANY, null, 10))).containsExactly(7L, 8L);
+    Assertions.assertThat(categoryIndex.select(EnumSet.of(Category.TECHNOLOGY),
+        CategoryMatch.ANY, null, 10).total()).isZero();
+  }
+}
@@ -0,0 +1,142 @@
+package com.postblog.postservice.search;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DisplayName("Test for the post search index")
+class PostSearchIndexTest {
+
+  private PostRepository postRepository;
+
+  private PostSearchIndex searchIndex;
+
+  @BeforeEach
+  void setUp() {
+    postRepository = mock(PostRepository.class);
+    searchIndex = new PostSearchIndex(postRepository, mock(PlatformTransactionManager.class), 2);
+    searchIndex.index(post(1L, "Spring Boot", "Caching with Caffeine in Spring"));
+    searchIndex.index(post(2L, "Java records", "Records are compact data carriers"));
+    searchIndex.index(post(3L, "Spring Data", "Keyset pagination with Spring Data JPA"));
+    searchIndex.refresh();
+  }
+
+  private static PostEntity post(Long id, String title, String content) {
+    return PostEntity.builder().id(id).title(title).content(content).build();
+  }
+
+  @Test
+  @DisplayName("Test search ranks the posts with the most matching terms first")
+  void testSearch_ranksByRelevance_WhenPostsMatch() {
+    Assertions.assertThat(searchIndex.search("spring caffeine", 10)).containsExactly(1L, 3L);
+    Assertions.assertThat(searchIndex.search("RECORDS", 10)).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("Test search returns at most the requested number of posts")
+  void testSearch_returnsTopK_WhenMorePostsMatch() {
+    Assertions.assertThat(searchIndex.search("spring", 1)).containsExactly(1L);
+    Assertions.assertThat(searchIndex.search("unknown", 10)).isEmpty();
+    Assertions.assertThat(searchIndex.search("the", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Test index replaces the terms of an updated post and remove drops it on refresh")
+  void testIndexAndRemove_updateTheIndex_WhenRefreshed() {
+    searchIndex.index(post(2L, "Kotlin", "Data classes"));
+
+    Assertions.assertThat(searchIndex.search("kotlin", 10)).isEmpty();
+
+    searchIndex.refresh();
+
+    Assertions.assertThat(searchIndex.search("records", 10)).isEmpty();
+    Assertions.assertThat(searchIndex.search("kotlin", 10)).containsExactly(2L);
+
+    searchIndex.remove(2L);
+    searchIndex.refresh();
+
+    Assertions.assertThat(searchIndex.search("kotlin", 10)).isEmpty();
+    Assertions.assertThat(searchIndex.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test rebuild replaces the index with the posts in the database")
+  void testRebuild_indexesAllPosts_WhenSuccessful() {
+    when(postRepository.streamTexts()).thenReturn(Stream.of(
+        new PostText(4L, "Virtual threads", "Loom"),
+        new PostText(5L, "Structured concurrency", "Loom preview"),
+        new PostText(6L, "Scoped values", "Loom preview")));
+
+    searchIndex.rebuild();
+
+    Assertions.assertThat(searchIndex.size()).isEqualTo(3);
+    Assertions.assertThat(searchIndex.search("spring", 10)).isEmpty();
+    Assertions.assertThat(searchIndex.search("loom", 10)).containsExactlyInAnyOrder(4L, 5L, 6L);
+  }
+
+  @Test
+  @DisplayName("Test search returns the same posts with pruning as a full scan")
+  void testSearch_matchesFullScan_WhenResultsPruned() {
+    Random random = new Random(42);
+    for (long id = 10; id < 5010; id++) {
+      searchIndex.index(post(id, word(random), words(random, 20)));
+    }
+    searchIndex.refresh();
+
+    for (String query : List.of("w1", "w2 w40", "w3 w7 w90", "w150 w1", "w0 w5")) {
+      List<Long> all = searchIndex.search(query, 10_000);
+      for (int limit : new int[] {1, 5, 10, 50}) {
+        Assertions.assertThat(searchIndex.search(query, limit))
+            .as("%s, top %d", query, limit)
+            .containsExactlyElementsOf(all.subList(0, Math.min(limit, all.size())));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Test refresh keeps the latest version of every post across a compaction")
+  void testRefresh_keepsLatestPosts_WhenIndexCompacted() {
+    for (long id = 10; id < 1010; id++) {
+      searchIndex.index(post(id, "first" + id, "shared"));
+    }
+    searchIndex.refresh();
+    for (long id = 10; id < 1010; id += 2) {
+      searchIndex.index(post(id, "second" + id, "shared"));
+    }
+    for (long id = 11; id < 1010; id += 4) {
+      searchIndex.remove(id);
+    }
+    searchIndex.refresh();
+
+    Assertions.assertThat(searchIndex.size()).isEqualTo(3 + 750);
+    Assertions.assertThat(searchIndex.search("first10", 10)).isEmpty();
+    Assertions.assertThat(searchIndex.search("second10", 10)).containsExactly(10L);
+    Assertions.assertThat(searchIndex.search("first11", 10)).isEmpty();
+    Assertions.assertThat(searchIndex.search("first13", 10)).containsExactly(13L);
+    Assertions.assertThat(searchIndex.search("shared", 1000)).hasSize(750)
+        .doesNotContain(11L, 15L);
+    Assertions.assertThat(searchIndex.search("spring", 10)).containsExactly(1L, 3L);
+  }
+
+  private static String word(Random random) {
+    return "w" + (int) Math.floor(Math.pow(200, random.nextDouble()));
+  }
+
+  private static String words(Random random, int count) {
+    StringBuilder words = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      words.append(word(random)).append(' ');
+    }
+    return words.toString();
+  }
+}
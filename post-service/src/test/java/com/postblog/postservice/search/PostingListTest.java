@@ -0,0 +1,98 @@
+package com.postblog.postservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Test for the encoded posting lists and their cursors")
+class PostingListTest {
+
+  private static final int POSTINGS = 1000;
+
+  private PostingList postingList;
+
+  @BeforeEach
+  void setUp() {
+    postingList = new PostingList();
+    for (int i = 0; i < POSTINGS; i++) {
+      postingList.add(i * 300, i % 7 + 1, 10 + i % 50);
+    }
+  }
+
+  @Test
+  @DisplayName("Test cursor reads back every posting of the full blocks and of the buffer")
+  void testNext_readsAllPostings_WhenListSpansBlocks() {
+    List<Integer> docs = new ArrayList<>();
+    PostingsCursor cursor = new PostingsCursor(postingList.snapshot(), PostingsCursor.END);
+    for (; cursor.doc() != PostingsCursor.END; cursor.next()) {
+      Assertions.assertThat(cursor.frequency()).isEqualTo(docs.size() % 7 + 1);
+      docs.add(cursor.doc());
+    }
+
+    Assertions.assertThat(docs).hasSize(POSTINGS).startsWith(0, 300).endsWith(999 * 300);
+    Assertions.assertThat(postingList.size()).isEqualTo(POSTINGS);
+  }
+
+  @Test
+  @DisplayName("Test advance and skipBlock move to the right posting")
+  void testAdvance_movesToFirstPostingAtOrAfterTarget_WhenTargetAhead() {
+    PostingsCursor cursor = new PostingsCursor(postingList.snapshot(), PostingsCursor.END);
+
+    cursor.advance(301);
+    Assertions.assertThat(cursor.doc()).isEqualTo(600);
+    cursor.advance(500 * 300);
+    Assertions.assertThat(cursor.doc()).isEqualTo(500 * 300);
+    Assertions.assertThat(cursor.frequency()).isEqualTo(500 % 7 + 1);
+    cursor.skipBlock();
+    Assertions.assertThat(cursor.doc()).isEqualTo(512 * 300);
+    Assertions.assertThat(cursor.blockMaxFrequency()).isEqualTo(7);
+    Assertions.assertThat(cursor.blockMinLength()).isEqualTo(10);
+    cursor.advance(999 * 300 - 1);
+    Assertions.assertThat(cursor.doc()).isEqualTo(999 * 300);
+    cursor.advance(999 * 300 + 1);
+    Assertions.assertThat(cursor.doc()).isEqualTo(PostingsCursor.END);
+  }
+
+  @Test
+  @DisplayName("Test snapshot keeps its postings while the list grows and stops at the limit")
+  void testSnapshot_isUnchanged_WhenPostingsAppendedLater() {
+    TermPostings snapshot = postingList.snapshot();
+    for (int i = POSTINGS; i < 2 * POSTINGS; i++) {
+      postingList.add(i * 300, 1, 10);
+    }
+
+    Assertions.assertThat(count(new PostingsCursor(snapshot, PostingsCursor.END)))
+        .isEqualTo(POSTINGS);
+    Assertions.assertThat(count(new PostingsCursor(postingList.snapshot(), 300 * 1500)))
+        .isEqualTo(1500);
+  }
+
+  @Test
+  @DisplayName("Test renumber keeps the postings of the kept documents under their new numbers")
+  void testRenumber_dropsPostings_WhenDocumentsDropped() {
+    int[] renumbered = new int[POSTINGS * 300];
+    int[] lengths = new int[POSTINGS];
+    Arrays.fill(renumbered, -1);
+    for (int i = 0; i < POSTINGS; i += 2) {
+      renumbered[i * 300] = i / 2;
+    }
+
+    PostingsCursor cursor = new PostingsCursor(postingList.renumber(renumbered, lengths)
+        .snapshot(), PostingsCursor.END);
+
+    Assertions.assertThat(count(cursor)).isEqualTo(POSTINGS / 2);
+    Assertions.assertThat(new PostingList().renumber(renumbered, lengths).isEmpty()).isTrue();
+  }
+
+  private static int count(PostingsCursor cursor) {
+    int count = 0;
+    for (; cursor.doc() != PostingsCursor.END; cursor.next()) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,28 @@
+package com.postblog.postservice.search;
+
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Test for the search tokenizer")
+class TokenizerTest {
+
+  @Test
+  @DisplayName("Test termFrequencies lower-cases terms and counts them across texts")
+  void testTermFrequencies_countsLowerCaseTerms_WhenSuccessful() {
+    Map<String, Integer> frequencies = Tokenizer.termFrequencies("Java Streams",
+        "java, JAVA and streams-2024!");
+
+    Assertions.assertThat(frequencies)
+        .containsExactlyInAnyOrderEntriesOf(Map.of("java", 3, "streams", 2, "2024", 1));
+  }
+
+  @Test
+  @DisplayName("Test termFrequencies drops stop words, single characters and null texts")
+  void testTermFrequencies_dropsNoise_WhenPresent() {
+    Map<String, Integer> frequencies = Tokenizer.termFrequencies("The a of x", null, "café");
+
+    Assertions.assertThat(frequencies).containsExactly(Map.entry("café", 1));
+  }
+}
@@ -0,0 +1,129 @@
+package com.postblog.postservice.service;
+
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.configuration.CommentConfig;
+import com.postblog.postservice.counter.CommentCounter;
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.CommentPage;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.ranking.TrendingRanking;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import({CommentConfig.class, PostResponseCache.class, CommentCounter.class,
+    TrendingRanking.class})
+@DisplayName("Test for Comment service")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CommentServiceTest {
+
+  private static final int COMMENTS = 5;
+
+  @Autowired
+  private CommentService commentService;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private Long postId;
+
+  private Long otherPostId;
+
+  @BeforeEach
+  void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    PostEntity post = persistPost("Post");
+    PostEntity otherPost = persistPost("Other post");
+    for (int i = 0; i < COMMENTS; i++) {
+      entityManager.persist(CommentEntity.builder()
+          .content("Comment " + i)
+          .authorId(1L)
+          .createAt(now.plusMinutes(i))
+          .post(post)
+          .build());
+      entityManager.persist(CommentEntity.builder()
+          .content("Other comment " + i)
+          .authorId(1L)
+          .createAt(now.plusMinutes(i))
+          .post(otherPost)
+          .build());
+    }
+    postId = post.getId();
+    otherPostId = otherPost.getId();
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private PostEntity persistPost(String title) {
+    return entityManager.persist(PostEntity.builder()
+        .title(title)
+        .content("Content")
+        .author("jUnit")
+        .categories(EnumSet.of(Category.TECHNOLOGY))
+        .build());
+  }
+
+  @Test
+  @DisplayName("Test getCommentsByPostId walks the comments of a post page by page")
+  void testGetCommentsByPostId_returnsAllCommentsOfPost_WhenPaging() {
+    List<CommentResponse> comments = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      CommentPage page = commentService.getCommentsByPostId(postId, cursor, 2);
+      comments.addAll(page.getComments());
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+
+    Assertions.assertThat(pages).isEqualTo(3);
+    Assertions.assertThat(comments).extracting(CommentResponse::getContent)
+        .containsExactly("Comment 0", "Comment 1", "Comment 2", "Comment 3", "Comment 4");
+  }
+
+  @Test
+  @DisplayName("Test getCommentsByPostId loads a page with its post without N+1 queries")
+  void testGetCommentsByPostId_runsTwoStatements_WhenSuccessful() {
+    CommentPage page = commentService.getCommentsByPostId(otherPostId, null, COMMENTS);
+
+    Assertions.assertThat(page.getComments()).hasSize(COMMENTS);
+    Assertions.assertThat(page.getNextCursor()).isNull();
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test getCommentsByPostId throws when the post does not exist")
+  void testGetCommentsByPostId_throwsHttpException_WhenPostNotFound() {
+    Assertions.assertThatThrownBy(() -> commentService.getCommentsByPostId(-1L, null, 2))
+        .isInstanceOf(HttpException.class)
+        .hasMessage("Post not found");
+  }
+}
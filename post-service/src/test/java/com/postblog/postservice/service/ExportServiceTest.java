@@ -0,0 +1,121 @@
+package com.postblog.postservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.mapper.CommentMapper;
+import com.postblog.postservice.mapper.PostMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import({ExportService.class, PostMapper.class, CommentMapper.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DisplayName("Test for Export service")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "export.chunk-size=2"
+})
+class ExportServiceTest {
+
+  private static final int POSTS = 5;
+
+  @Autowired
+  private ExportService exportService;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final List<Long> postIds = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < POSTS; i++) {
+      PostEntity post = entityManager.persist(PostEntity.builder()
+          .title("Post " + i)
+          .content("Content " + i)
+          .author("jUnit")
+          .categories(EnumSet.of(Category.TECHNOLOGY))
+          .build());
+      entityManager.persist(CommentEntity.builder()
+          .content("Comment " + i)
+          .authorId(1L)
+          .post(post)
+          .build());
+      postIds.add(post.getId());
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("Test exportPosts writes one JSON line per post in ID order")
+  void testExportPosts_writesOneLinePerPost_WhenSuccessful() throws IOException {
+    List<PostResponse> posts = readLines(export(null, true), PostResponse.class);
+
+    Assertions.assertThat(posts).extracting(PostResponse::getId).containsExactlyElementsOf(postIds);
+    Assertions.assertThat(posts).allSatisfy(post ->
+        Assertions.assertThat(post.getCategories()).containsExactly(Category.TECHNOLOGY));
+  }
+
+  @Test
+  @DisplayName("Test exportPosts resumes after the given ID")
+  void testExportPosts_writesPostsAfterId_WhenResumed() throws IOException {
+    List<PostResponse> posts = readLines(export(postIds.get(2), true), PostResponse.class);
+
+    Assertions.assertThat(posts).extracting(PostResponse::getId)
+        .containsExactlyElementsOf(postIds.subList(3, POSTS));
+  }
+
+  @Test
+  @DisplayName("Test exportComments writes one JSON line per comment with its post")
+  void testExportComments_writesOneLinePerComment_WhenSuccessful() throws IOException {
+    List<CommentResponse> comments = readLines(export(null, false), CommentResponse.class);
+
+    Assertions.assertThat(comments).extracting(CommentResponse::getContent)
+        .containsExactly("Comment 0", "Comment 1", "Comment 2", "Comment 3", "Comment 4");
+    Assertions.assertThat(comments).extracting(comment -> comment.getPost().getId())
+        .containsExactlyElementsOf(postIds);
+  }
+
+  private String export(Long afterId, boolean posts) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (posts) {
+      exportService.exportPosts(afterId, out);
+    } else {
+      exportService.exportComments(afterId, out);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private <T> List<T> readLines(String ndjson, Class<T> type) throws IOException {
+    List<T> rows = new ArrayList<>();
+    for (String line : ndjson.split("\n")) {
+      if (!line.isEmpty()) {
+        rows.add(objectMapper.readValue(line, type));
+      }
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,405 @@
+package com.postblog.postservice.service;
+
+import com.postblog.postservice.cache.PostResponseCache;
+import com.postblog.postservice.configuration.PostConfig;
+import com.postblog.postservice.counter.ViewCounter;
+import com.postblog.postservice.entities.Category;
+import com.postblog.postservice.entities.CategoryMatch;
+import com.postblog.postservice.entities.CategoryPage;
+import com.postblog.postservice.entities.CommentEntity;
+import com.postblog.postservice.entities.PostBatchItemResult;
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.entities.PostPage;
+import com.postblog.postservice.entities.PostResponse;
+import com.postblog.postservice.exceptions.HttpException;
+import com.postblog.postservice.ranking.TrendingRanking;
+import com.postblog.postservice.repository.PostRepository;
+import com.postblog.postservice.search.CategoryIndex;
+import com.postblog.postservice.search.PostSearchIndex;
+import com.postblog.postservice.timeline.AuthorTimelines;
+import com.postblog.postservice.timeline.TimelineEntry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+
+@DataJpaTest
+@Import({PostConfig.class, PostResponseCache.class, PostSearchIndex.class,
+    CategoryIndex.class, ViewCounter.class, TrendingRanking.class, AuthorTimelines.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@DisplayName("Test for Post service")
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=2",
+    "posts.batch.size=2",
+    "posts.batch.max-items=10",
+    "posts.timeline.min-posts=3"
+})
+class PostServiceTest {
+
+  private static final int POSTS = 5;
+  private static final int COMMENTS_PER_POST = 3;
+
+  @Autowired
+  private PostService postService;
+
+  @Autowired
+  private PostSearchIndex searchIndex;
+
+  @Autowired
+  private CategoryIndex categoryIndex;
+
+  @Autowired
+  private PostRepository postRepository;
+
+  @Autowired
+  private ViewCounter viewCounter;
+
+  @Autowired
+  private TrendingRanking trendingRanking;
+
+  @SpyBean
+  private AuthorTimelines authorTimelines;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private Long postId;
+
+  @BeforeEach
+  void setUp() {
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < POSTS; i++) {
+      PostEntity post = PostEntity.builder()
+          .title("Post " + i)
+          .content("Content " + i)
+          .author("jUnit")
+          .categories(EnumSet.of(Category.TECHNOLOGY, Category.SPORTS))
+          .createAt(now.minusMinutes(i))
+          .build();
+      entityManager.persist(post);
+      for (int j = 0; j < COMMENTS_PER_POST; j++) {
+        entityManager.persist(CommentEntity.builder()
+            .content("Comment " + j)
+            .authorId(1L)
+            .post(post)
+            .build());
+      }
+      postId = post.getId();
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  @DisplayName("Test getPostById does not load the comments of the post")
+  void testGetPostById_runsTwoStatements_WhenSuccessful() {
+    PostResponse post = postService.getPostById(postId);
+
+    Assertions.assertThat(post.getCategories()).hasSize(2);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Test getPostById serves a repeated read from the cache")
+  void testGetPostById_runsNoStatements_WhenCached() {
+    postService.getPostById(postId);
+    statistics.clear();
+
+    PostResponse post = postService.getPostById(postId);
+
+    Assertions.assertThat(post.getId()).isEqualTo(postId);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("Test getPostById counts every view, cached or not, without writing on read")
+  void testGetPostById_countsViews_WhenFlushed() {
+    viewCounter.flush();
+    postService.getPostById(postId);
+    postService.getPostById(postId);
+
+    Assertions.assertThat(statistics.getEntityUpdateCount()).isZero();
+
+    viewCounter.flush();
+    entityManager.clear();
+
+    Assertions.assertThat(postRepository.findById(postId).orElseThrow().getViewCount())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test updatePostById throws and leaves the search index when the flush fails")
+  void testUpdatePostById_throwsHttpException_WhenFlushFails() {
+    searchIndex.rebuild();
+    PostEntity update = PostEntity.builder()
+        .title("x".repeat(101))
+        .content("Rewritten")
+        .author("jUnit")
+        .categories(EnumSet.of(Category.TECHNOLOGY))
+        .build();
+
+    Assertions.assertThatThrownBy(() -> postService.updatePostById(postId, update))
+        .isInstanceOf(HttpException.class)
+        .hasMessage("Failed to update post");
+    TestTransaction.end();
+
+    Assertions.assertThat(searchIndex.search("rewritten", 3)).isEmpty();
+    Assertions.assertThat(searchIndex.search("content", POSTS)).contains(postId);
+  }
+
+  @Test
+  @DisplayName("Test getPosts loads a page and its categories without N+1 queries")
+  void testGetPosts_runsTwoStatements_WhenSuccessful() {
+    PostPage page = postService.getPosts(null, POSTS);
+
+    Assertions.assertThat(page.getPosts()).hasSize(POSTS)
+        .allSatisfy(post -> Assertions.assertThat(post.getCategories()).hasSize(2));
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(POSTS);
+  }
+
+  @Test
+  @DisplayName("Test getPosts returns the comment count of each post without loading comments")
+  void testGetPosts_returnsCommentCounts_WhenCountsReconciled() {
+    postRepository.recountComments(
+        postRepository.findIdsWithDriftedCommentCount(0L, Long.MAX_VALUE));
+    entityManager.clear();
+    statistics.clear();
+
+    PostPage page = postService.getPosts(null, POSTS);
+
+    Assertions.assertThat(page.getPosts()).hasSize(POSTS)
+        .allSatisfy(post -> Assertions.assertThat(post.getCommentCount())
+            .isEqualTo(COMMENTS_PER_POST));
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test createPosts inserts valid posts in batches and reports invalid ones")
+  void testCreatePosts_returnsPerItemResults_WhenSomePostsInvalid() {
+    List<PostEntity> posts = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      posts.add(PostEntity.builder()
+          .title(i == 1 ? null : "Batch " + i)
+          .content("Content " + i)
+          .author("jUnit")
+          .categories(EnumSet.of(Category.TECHNOLOGY))
+          .build());
+    }
+
+    List<PostBatchItemResult> results = postService.createPosts(posts);
+
+    Assertions.assertThat(results).extracting(PostBatchItemResult::getStatus)
+        .containsExactly(201, 400, 201, 201);
+    Assertions.assertThat(results.get(1).getError()).isEqualTo("title must not be null");
+    Assertions.assertThat(results.get(1).getId()).isNull();
+    Assertions.assertThat(List.of(results.get(0), results.get(2), results.get(3)))
+        .allSatisfy(result -> Assertions.assertThat(result.getId()).isNotNull());
+    Assertions.assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isLessThan(6);
+  }
+
+  @Test
+  @DisplayName("Test createPosts keeps the inserted posts when updating an index fails")
+  void testCreatePosts_keepsInsertedPosts_WhenIndexFails() {
+    List<PostEntity> posts = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      posts.add(PostEntity.builder().title("Batch " + i).content("c").author("jUnit").build());
+    }
+    Mockito.doThrow(new IllegalStateException("index down"))
+        .when(authorTimelines).add(ArgumentMatchers.any(PostEntity.class));
+
+    Assertions.assertThatThrownBy(() -> postService.createPosts(posts))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("index down");
+    Assertions.assertThat(postRepository.count()).isEqualTo(POSTS + 2);
+    Assertions.assertThat(posts).allSatisfy(post ->
+        Assertions.assertThat(post.getId()).isNotNull());
+  }
+
+  @Test
+  @DisplayName("Test createPosts throws when the batch is larger than the maximum")
+  void testCreatePosts_throwsHttpException_WhenBatchTooLarge() {
+    List<PostEntity> posts = new ArrayList<>();
+    for (int i = 0; i < 11; i++) {
+      posts.add(PostEntity.builder().title("t").content("c").author("a").build());
+    }
+
+    Assertions.assertThatThrownBy(() -> postService.createPosts(posts))
+        .isInstanceOf(HttpException.class)
+        .hasMessage("Post batch is too large");
+  }
+
+  @Test
+  @DisplayName("Test searchPosts returns the posts matching the query once the index is built")
+  void testSearchPosts_returnsMatchingPosts_WhenIndexRebuilt() {
+    searchIndex.rebuild();
+
+    List<PostResponse> posts = postService.searchPosts("posts", 3);
+
+    Assertions.assertThat(posts).isEmpty();
+
+    posts = postService.searchPosts("post", 3);
+
+    Assertions.assertThat(posts).hasSize(3);
+    Assertions.assertThat(posts.get(0).getId()).isEqualTo(postId);
+  }
+
+  @Test
+  @DisplayName("Test searchPosts throws when the query is blank")
+  void testSearchPosts_throwsHttpException_WhenQueryBlank() {
+    Assertions.assertThatThrownBy(() -> postService.searchPosts(" ", 10))
+        .isInstanceOf(HttpException.class)
+        .hasMessage("Search query is empty");
+  }
+
+  @Test
+  @DisplayName("Test getPostsByCategories pages the posts of a category in the getPosts order")
+  void testGetPostsByCategories_returnsPageAndCounts_WhenIndexRebuilt() {
+    categoryIndex.rebuild();
+    statistics.clear();
+
+    CategoryPage page = postService.getPostsByCategories(
+        EnumSet.of(Category.SPORTS, Category.TRAVEL), CategoryMatch.ALL, null, 2);
+
+    Assertions.assertThat(page.getPosts()).isEmpty();
+    Assertions.assertThat(page.getTotal()).isZero();
+
+    page = postService.getPostsByCategories(EnumSet.of(Category.SPORTS), CategoryMatch.ANY, null,
+        2);
+
+    Assertions.assertThat(page.getPosts()).hasSize(2);
+    Assertions.assertThat(page.getTotal()).isEqualTo(POSTS);
+    Assertions.assertThat(page.getCategoryCounts())
+        .containsEntry(Category.TECHNOLOGY, (long) POSTS)
+        .containsEntry(Category.POLITICS, 0L);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    Assertions.assertThat(page.getPosts()).extracting(PostResponse::getId)
+        .containsExactlyElementsOf(postService.getPosts(null, 2).getPosts().stream()
+            .map(PostResponse::getId).toList());
+
+    CategoryPage last = postService.getPostsByCategories(EnumSet.of(Category.SPORTS),
+        CategoryMatch.ANY, postService.getPostsByCategories(EnumSet.of(Category.SPORTS),
+            CategoryMatch.ANY, page.getNextCursor(), 2).getNextCursor(), 2);
+
+    Assertions.assertThat(last.getPosts()).hasSize(1);
+    Assertions.assertThat(last.getNextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Test updatePostById moves a post between categories only once it commits")
+  void testUpdatePostById_keepsCategoryIndex_WhenRolledBack() {
+    categoryIndex.rebuild();
+    postService.updatePostById(postId, PostEntity.builder()
+        .title("Post")
+        .content("Content")
+        .author("jUnit")
+        .categories(EnumSet.of(Category.POLITICS))
+        .build());
+
+    CategoryPage page = postService.getPostsByCategories(EnumSet.of(Category.POLITICS),
+        CategoryMatch.ANY, null, 2);
+
+    Assertions.assertThat(page.getTotal()).isZero();
+
+    TestTransaction.end();
+    page = postService.getPostsByCategories(EnumSet.of(Category.POLITICS), CategoryMatch.ANY,
+        null, 2);
+
+    Assertions.assertThat(page.getTotal()).isZero();
+    Assertions.assertThat(postService.getPostsByCategories(EnumSet.of(Category.SPORTS),
+        CategoryMatch.ANY, null, 2).getTotal()).isEqualTo(POSTS);
+  }
+
+  @Test
+  @DisplayName("Test getTrendingPosts returns the most active posts first")
+  void testGetTrendingPosts_returnsActivePostsFirst_WhenRanked() {
+    trendingRanking.rebuild();
+    trendingRanking.recordComment(postId);
+    trendingRanking.recordViews(postId, 50);
+
+    List<PostResponse> posts = postService.getTrendingPosts(3);
+
+    Assertions.assertThat(posts).hasSize(3);
+    Assertions.assertThat(posts.get(0).getId()).isEqualTo(postId);
+    Assertions.assertThat(posts.get(1).getCreateAt()).isAfter(posts.get(2).getCreateAt());
+  }
+
+  @Test
+  @DisplayName("Test updatePostById moves a post to its new author only once it commits")
+  void testUpdatePostById_keepsTimelines_WhenRolledBack() {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      PostEntity post = PostEntity.builder().title("Moved " + i).content("c").author("mover")
+          .createAt(LocalDateTime.now().minusMinutes(i)).build();
+      entityManager.persist(post);
+      ids.add(post.getId());
+    }
+    entityManager.flush();
+    authorTimelines.firstPage("mover", 3);
+    postService.updatePostById(ids.get(0), PostEntity.builder()
+        .title("Moved")
+        .content("c")
+        .author("other")
+        .build());
+
+    Assertions.assertThat(authorTimelines.firstPage("mover", 3))
+        .extracting(TimelineEntry::id).containsExactlyElementsOf(ids);
+
+    TestTransaction.end();
+
+    Assertions.assertThat(authorTimelines.firstPage("mover", 3))
+        .extracting(TimelineEntry::id).containsExactlyElementsOf(ids);
+  }
+
+  @Test
+  @DisplayName("Test getPostsByAuthor pages through an author's posts and caches the first page")
+  void testGetPostsByAuthor_pagesNewestFirst_WhenAuthorProlific() {
+    List<Long> ids = new ArrayList<>();
+    PostPage page = postService.getPostsByAuthor("jUnit", null, 2);
+    page.getPosts().forEach(post -> ids.add(post.getId()));
+    while (page.getNextCursor() != null) {
+      page = postService.getPostsByAuthor("jUnit", page.getNextCursor(), 2);
+      page.getPosts().forEach(post -> ids.add(post.getId()));
+    }
+
+    Assertions.assertThat(ids).hasSize(POSTS).doesNotHaveDuplicates().endsWith(postId);
+    Assertions.assertThat(postService.getPostsByAuthor("nobody", null, 2).getPosts()).isEmpty();
+
+    statistics.clear();
+    page = postService.getPostsByAuthor("jUnit", null, 2);
+
+    Assertions.assertThat(page.getPosts()).extracting(PostResponse::getId)
+        .containsExactlyElementsOf(ids.subList(0, 2));
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+}
@@ -0,0 +1,137 @@
+package com.postblog.postservice.timeline;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.postblog.postservice.entities.PostEntity;
+import com.postblog.postservice.repository.PostRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+@DisplayName("Test for the author timelines")
+class AuthorTimelinesTest {
+
+  private static final int CAPACITY = 4;
+  private static final int MIN_POSTS = 3;
+
+  private PostRepository postRepository;
+
+  private AuthorTimelines authorTimelines;
+
+  private LocalDateTime now;
+
+  @BeforeEach
+  void setUp() {
+    postRepository = mock(PostRepository.class);
+    authorTimelines = new AuthorTimelines(postRepository, CAPACITY, MIN_POSTS, 100);
+    now = LocalDateTime.now();
+  }
+
+  private void givenPosts(String author, int posts) {
+    when(postRepository.findTimeline(eq(author), any(Pageable.class))).thenAnswer(invocation -> {
+      int limit = invocation.getArgument(1, Pageable.class).getPageSize();
+      List<TimelineEntry> entries = new ArrayList<>();
+      for (long id = posts; id > 0 && entries.size() < limit; id--) {
+        entries.add(new TimelineEntry(id, now.minusMinutes(posts - id)));
+      }
+      return entries;
+    });
+  }
+
+  private static List<Long> ids(List<TimelineEntry> entries) {
+    return entries.stream().map(TimelineEntry::id).toList();
+  }
+
+  @Test
+  @DisplayName("Test firstPage serves a prolific author from memory after the first read")
+  void testFirstPage_queriesOnce_WhenAuthorProlific() {
+    givenPosts("prolific", 10);
+
+    authorTimelines.firstPage("prolific", 3);
+    List<TimelineEntry> entries = authorTimelines.firstPage("prolific", 3);
+
+    Assertions.assertThat(ids(entries)).containsExactly(10L, 9L, 8L);
+    verify(postRepository, times(1)).findTimeline(eq("prolific"), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Test firstPage reads the index every time for an author with few posts")
+  void testFirstPage_queriesEveryTime_WhenAuthorNotProlific() {
+    givenPosts("occasional", 2);
+
+    authorTimelines.firstPage("occasional", 3);
+    List<TimelineEntry> entries = authorTimelines.firstPage("occasional", 3);
+
+    Assertions.assertThat(ids(entries)).containsExactly(2L, 1L);
+    verify(postRepository, times(2)).findTimeline(eq("occasional"), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Test add puts a new post first and keeps the timeline within its capacity")
+  void testAdd_prependsPost_WhenTimelineKept() {
+    givenPosts("prolific", 3);
+    authorTimelines.firstPage("prolific", 3);
+
+    authorTimelines.add(PostEntity.builder().id(20L).author("prolific").createAt(now).build());
+    authorTimelines.add(PostEntity.builder().id(21L).author("prolific")
+        .createAt(now.plusMinutes(1)).build());
+
+    Assertions.assertThat(ids(authorTimelines.firstPage("prolific", CAPACITY)))
+        .containsExactly(21L, 20L, 3L, 2L);
+    verify(postRepository, times(1)).findTimeline(eq("prolific"), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Test remove drops a post and forgets an incomplete timeline")
+  void testRemove_reloadsTimeline_WhenTimelineIncomplete() {
+    givenPosts("prolific", 10);
+    authorTimelines.firstPage("prolific", 3);
+
+    authorTimelines.remove("prolific", 9L);
+    authorTimelines.firstPage("prolific", 3);
+
+    verify(postRepository, times(2)).findTimeline(eq("prolific"), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Test remove drops a post from a complete timeline without reloading it")
+  void testRemove_dropsPost_WhenTimelineComplete() {
+    givenPosts("prolific", 3);
+    authorTimelines.firstPage("prolific", 3);
+
+    authorTimelines.remove("prolific", 2L);
+
+    Assertions.assertThat(ids(authorTimelines.firstPage("prolific", 3)))
+        .containsExactly(3L, 1L);
+    verify(postRepository, times(1)).findTimeline(eq("prolific"), any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Test move drops a post from its previous author and adds it to its new author")
+  void testMove_movesPost_WhenBothTimelinesKept() {
+    givenPosts("prolific", 3);
+    when(postRepository.findTimeline(eq("other"), any(Pageable.class))).thenReturn(List.of(
+        new TimelineEntry(12L, now), new TimelineEntry(11L, now.minusMinutes(1)),
+        new TimelineEntry(10L, now.minusMinutes(2))));
+    authorTimelines.firstPage("prolific", 3);
+    authorTimelines.firstPage("other", 3);
+
+    authorTimelines.move("prolific", PostEntity.builder().id(2L).author("other")
+        .createAt(now.minusMinutes(1).minusSeconds(30)).build());
+
+    Assertions.assertThat(ids(authorTimelines.firstPage("prolific", 3)))
+        .containsExactly(3L, 1L);
+    Assertions.assertThat(ids(authorTimelines.firstPage("other", CAPACITY)))
+        .containsExactly(12L, 11L, 2L, 10L);
+  }
+}
@@ -0,0 +1,55 @@
+package com.postblog.postservice.utils;
+
+import com.postblog.postservice.entities.CommentResponse;
+import com.postblog.postservice.entities.PostResponse;
+import java.time.LocalDateTime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+  private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  @Test
+  @DisplayName("Test post tag is quoted and stable for the same response")
+  void testOf_returnsSameQuotedTag_WhenPostUnchanged() {
+    String tag = ETags.of(post(CREATED, 3));
+
+    Assertions.assertThat(tag).startsWith("\"").endsWith("\"");
+    Assertions.assertThat(ETags.of(post(CREATED, 3))).isEqualTo(tag);
+  }
+
+  @Test
+  @DisplayName("Test post tag changes when the post is modified or its counters change")
+  void testOf_changesTag_WhenPostModifiedOrCounted() {
+    String tag = ETags.of(post(CREATED, 3));
+
+    Assertions.assertThat(ETags.of(post(CREATED.plusNanos(1000), 3))).isNotEqualTo(tag);
+    Assertions.assertThat(ETags.of(post(CREATED, 4))).isNotEqualTo(tag);
+  }
+
+  @Test
+  @DisplayName("Test comment tag changes when the post it embeds changes")
+  void testOf_changesCommentTag_WhenPostChanges() {
+    CommentResponse comment = CommentResponse.builder()
+        .id(7L)
+        .createAt(CREATED)
+        .post(post(CREATED, 3))
+        .build();
+    String tag = ETags.of(comment);
+
+    comment.setPost(post(CREATED, 4));
+
+    Assertions.assertThat(ETags.of(comment)).isNotEqualTo(tag);
+  }
+
+  private static PostResponse post(LocalDateTime lastModified, long views) {
+    return PostResponse.builder()
+        .id(1L)
+        .createAt(CREATED)
+        .lastModifiedDate(lastModified)
+        .viewCount(views)
+        .build();
+  }
+}
@@ -0,0 +1,29 @@
+package com.postblog.postservice.utils;
+
+import com.postblog.postservice.exceptions.HttpException;
+import java.time.LocalDateTime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+  @Test
+  @DisplayName("Test encoded cursor decodes to the same position")
+  void testDecode_returnsSameCursor_WhenEncoded() {
+    KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 2, 1, 10, 30, 15, 123), 42L);
+
+    KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+    Assertions.assertThat(decoded).isEqualTo(cursor);
+  }
+
+  @Test
+  @DisplayName("Test decode throws bad request when the token is malformed")
+  void testDecode_throwsBadRequest_WhenTokenMalformed() {
+    Assertions.assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+        .isInstanceOf(HttpException.class)
+        .extracting(e -> ((HttpException) e).getStatusCode())
+        .isEqualTo(400);
+  }
+}
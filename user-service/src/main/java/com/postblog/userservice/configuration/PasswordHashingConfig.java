@@ -0,0 +1,48 @@
+package com.postblog.userservice.configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Configuration of the executor that runs password hashing and verification.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+  @Value("${password.hashing.threads:0}")
+  private int threads;
+
+  @Value("${password.hashing.queue-capacity:32}")
+  private int queueCapacity;
+
+  /**
+   * CPU sized pool for BCrypt work, so a burst of logins cannot take every request thread. When
+   * the queue is full new work is rejected instead of queued.
+   *
+   * @return The password hashing executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService passwordHashingExecutor() {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Bean
+  public MeterBinder passwordHashingExecutorMetrics(
+      @Qualifier("passwordHashingExecutor") ExecutorService passwordHashingExecutor) {
+    return new ExecutorServiceMetrics(passwordHashingExecutor, "password-hashing",
+        Collections.emptyList());
+  }
+}
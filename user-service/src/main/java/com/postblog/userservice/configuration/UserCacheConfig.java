@@ -0,0 +1,74 @@
+package com.postblog.userservice.configuration;
+
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics of the second-level cache regions holding users: the users by ID and the lookups by
+ * email and by username.
+ */
+@Configuration
+public class UserCacheConfig {
+
+  private static final List<String> REGIONS = List.of(UserEntity.CACHE_REGION,
+      UserRepository.BY_EMAIL_CACHE_REGION, UserRepository.BY_USERNAME_CACHE_REGION);
+
+  /**
+   * Hits, misses and hit ratio of each user cache region. A query region only exists after its
+   * first lookup; until then its ratio is NaN.
+   *
+   * @param entityManagerFactory The entity manager factory, whose statistics must be enabled.
+   * @return The user cache metrics.
+   */
+  @Bean
+  public MeterBinder userCacheMetrics(EntityManagerFactory entityManagerFactory) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    return registry -> {
+      for (String region : REGIONS) {
+        FunctionCounter.builder("users.cache.requests", statistics,
+                count(region, CacheRegionStatistics::getHitCount))
+            .tags("region", region, "result", "hit")
+            .description("Lookups of the region that found an entry")
+            .register(registry);
+        FunctionCounter.builder("users.cache.requests", statistics,
+                count(region, CacheRegionStatistics::getMissCount))
+            .tags("region", region, "result", "miss")
+            .description("Lookups of the region that went to the database")
+            .register(registry);
+        Gauge.builder("users.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+            .tag("region", region)
+            .description("Share of the lookups of the region that found an entry")
+            .register(registry);
+      }
+    };
+  }
+
+  private static ToDoubleFunction<Statistics> count(String region,
+      ToDoubleFunction<CacheRegionStatistics> counter) {
+    return statistics -> {
+      CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+      return regionStatistics == null ? 0 : counter.applyAsDouble(regionStatistics);
+    };
+  }
+
+  static double hitRatio(Statistics statistics, String region) {
+    CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+    if (regionStatistics == null) {
+      return Double.NaN;
+    }
+    long hits = regionStatistics.getHitCount();
+    long lookups = hits + regionStatistics.getMissCount();
+    return lookups == 0 ? Double.NaN : (double) hits / lookups;
+  }
+}
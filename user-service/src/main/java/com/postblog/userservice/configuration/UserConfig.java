@@ -1,7 +1,7 @@
 package com.postblog.userservice.configuration;
 
+import com.postblog.userservice.mapper.UserMapper;
 import com.postblog.userservice.services.UserService;
-import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,8 +10,8 @@ public class UserConfig {
 
 
   @Bean
-  public ModelMapper modelMapperBean() {
-    return new ModelMapper();
+  public UserMapper userMapperBean() {
+    return new UserMapper();
   }
 
   @Bean
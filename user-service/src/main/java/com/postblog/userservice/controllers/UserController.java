@@ -1,10 +1,14 @@
 package com.postblog.userservice.controllers;
 
+import static com.postblog.userservice.utils.Constants.PASSWORD_DOES_NOT_MATCH;
+import static com.postblog.userservice.utils.Constants.SESSION_TOKEN_HEADER;
+
 import com.postblog.userservice.entities.LoginRequest;
 import com.postblog.userservice.entities.UserEntity;
 import com.postblog.userservice.entities.UserResponse;
 import com.postblog.userservice.exceptions.HttpException;
 import com.postblog.userservice.services.UserService;
+import com.postblog.userservice.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -36,13 +41,19 @@ public class UserController {
   @Operation(summary = "Login a user")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "User logged in"),
-      @ApiResponse(responseCode = "404", description = "User not Found")
+      @ApiResponse(responseCode = "401", description = "Password does not match"),
+      @ApiResponse(responseCode = "404", description = "User not Found"),
+      @ApiResponse(responseCode = "429", description = "Too many password checks in progress"),
+      @ApiResponse(responseCode = "503", description = "Password check not completed in time")
   })
   public ResponseEntity<String> loginUser(@PathVariable long userId,
       @RequestBody LoginRequest request) {
     try {
-      userService.loginUser(userId, request);
-      return ResponseEntity.ok("User logged in");
+      String token = userService.loginUser(userId, request);
+      if (token == null) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(PASSWORD_DOES_NOT_MATCH);
+      }
+      return ResponseEntity.ok().header(SESSION_TOKEN_HEADER, token).body("User logged in");
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).body(e.getMessage());
     }
@@ -52,8 +63,7 @@ public class UserController {
   @Operation(summary = "Logout a user")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "User logged out"),
-      @ApiResponse(responseCode = "404", description = "User not found"),
-      @ApiResponse(responseCode = "400", description = "Invalid request")
+      @ApiResponse(responseCode = "412", description = "User is not logged in")
   })
   public ResponseEntity<String> logoutUser(@PathVariable Long userId) {
     try {
@@ -69,12 +79,13 @@ public class UserController {
   @Operation(summary = "checks if an user is logged in")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "user is logged in"),
-      @ApiResponse(responseCode = "404", description = "user was not found"),
+      @ApiResponse(responseCode = "401", description = "X-Session-Token header missing"),
       @ApiResponse(responseCode = "422", description = "user is not logged in"),
   })
-  public ResponseEntity<String> isUserLoggedIn(@PathVariable Long userId) {
+  public ResponseEntity<String> isUserLoggedIn(@PathVariable Long userId,
+      @RequestHeader(value = SESSION_TOKEN_HEADER, required = false) String token) {
     try {
-      userService.isUserLoggedIn(userId);
+      userService.isUserLoggedIn(userId, token);
       return ResponseEntity.ok("User is logged in");
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).body(e.getMessage());
@@ -85,12 +96,13 @@ public class UserController {
   @Operation(summary = "Get user details by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "User found"),
+      @ApiResponse(responseCode = "304", description = "User not modified since If-None-Match"),
       @ApiResponse(responseCode = "404", description = "User not found")
   })
   public ResponseEntity<UserResponse> getUserDetails(@PathVariable("userId") Long userId) {
     try {
       UserResponse userResponse = userService.getUserById(userId);
-      return ResponseEntity.status(HttpStatus.OK).body(userResponse);
+      return ResponseEntity.status(HttpStatus.OK).eTag(ETags.of(userResponse)).body(userResponse);
     } catch (HttpException e) {
       return ResponseEntity.status(HttpStatus.valueOf(e.getStatusCode())).build();
     }
@@ -100,7 +112,8 @@ public class UserController {
   @Operation(summary = "Create a new user")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "User created"),
-      @ApiResponse(responseCode = "400", description = "Invalid request")
+      @ApiResponse(responseCode = "400", description = "Invalid request"),
+      @ApiResponse(responseCode = "409", description = "Email already registered")
   })
   public ResponseEntity<String> saveUser(@RequestBody UserEntity user) {
     try {
@@ -115,7 +128,8 @@ public class UserController {
   @Operation(summary = "Update an existing user by ID")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "204", description = "User updated"),
-      @ApiResponse(responseCode = "404", description = "User not found")
+      @ApiResponse(responseCode = "404", description = "User not found"),
+      @ApiResponse(responseCode = "409", description = "Email already registered")
   })
   public ResponseEntity<String> updateUser(@PathVariable("userId") Long userId,
       @RequestBody UserEntity updatedUser) {
@@ -158,7 +172,9 @@ public class UserController {
   @Operation(summary = "Check if provided password matches the user's password")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Password matches"),
-      @ApiResponse(responseCode = "401", description = "Unauthorized")
+      @ApiResponse(responseCode = "401", description = "Unauthorized"),
+      @ApiResponse(responseCode = "429", description = "Too many password checks in progress"),
+      @ApiResponse(responseCode = "503", description = "Password check not completed in time")
   })
   public ResponseEntity<Boolean> checkPassword(@PathVariable String email,
       @RequestBody Map<String, Object> body) {
@@ -27,6 +27,7 @@ public class UserResponse {
   private String createdBy;
   private boolean registered;
   private Set<String> roles;
+  private LocalDateTime lastModifiedAt;
 }
 
 
@@ -0,0 +1,37 @@
+package com.postblog.userservice.mapper;
+
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.entities.UserResponse;
+import java.util.HashSet;
+
+/**
+ * Maps user entities to their API responses.
+ */
+public class UserMapper {
+
+  /**
+   * Maps a user entity to its response. The roles are copied, so the response does not hold on to
+   * the entity's collection.
+   *
+   * @param user The user entity, may be null.
+   * @return The user response, or null if the user is null.
+   */
+  public UserResponse toResponse(UserEntity user) {
+    if (user == null) {
+      return null;
+    }
+    return UserResponse.builder()
+        .id(user.getId())
+        .name(user.getName())
+        .email(user.getEmail())
+        .age(user.getAge())
+        .username(user.getUsername())
+        .password(user.getPassword())
+        .createdAt(user.getCreatedAt())
+        .createdBy(user.getCreatedBy())
+        .registered(user.isRegistered())
+        .roles(user.getRoles() == null ? null : new HashSet<>(user.getRoles()))
+        .lastModifiedAt(user.getLastModifiedAt())
+        .build();
+  }
+}
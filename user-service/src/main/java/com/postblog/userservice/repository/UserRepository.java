@@ -1,16 +1,47 @@
 package com.postblog.userservice.repository;
 
 import com.postblog.userservice.entities.UserEntity;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
+  String BY_EMAIL_CACHE_REGION = "users-by-email";
+  String BY_USERNAME_CACHE_REGION = "users-by-username";
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_EMAIL_CACHE_REGION)})
   Optional<UserEntity> findByEmail(String email);
 
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_USERNAME_CACHE_REGION)})
   UserEntity findByUsername(String username);
 
+  /**
+   * Sets the registered flag of many users at once. As a bulk update it bypasses the cached users,
+   * so Hibernate evicts the whole users region and invalidates the lookups by email and username.
+   *
+   * @param ids        The IDs of the users.
+   * @param registered The new value of the flag.
+   * @return The number of users updated.
+   */
+  @Modifying
+  @Transactional
+  @Query("update UserEntity u set u.registered = :registered where u.id in :ids")
+  int updateRegistered(@Param("ids") Collection<Long> ids,
+      @Param("registered") boolean registered);
+
 }
@@ -0,0 +1,101 @@
+package com.postblog.userservice.services;
+
+import static com.postblog.userservice.utils.Constants.PASSWORD_HASHING_UNAVAILABLE;
+import static com.postblog.userservice.utils.Constants.SERVICE_UNAVAILABLE;
+import static com.postblog.userservice.utils.Constants.TOO_MANY_PASSWORD_REQUESTS;
+import static com.postblog.userservice.utils.Constants.TOO_MANY_REQUESTS;
+
+import com.postblog.userservice.exceptions.HttpException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service running BCrypt hashing and verification on the password hashing executor instead of the
+ * request thread.
+ */
+@Service
+public class PasswordHashingService {
+
+  private final BCryptPasswordEncoder bCryptPasswordEncoder;
+  private final ExecutorService executor;
+  private final long timeout;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+
+  public PasswordHashingService(BCryptPasswordEncoder bCryptPasswordEncoder,
+      @Qualifier("passwordHashingExecutor") ExecutorService executor,
+      MeterRegistry meterRegistry,
+      @Value("${password.hashing.timeout-ms:2000}") long timeout) {
+    this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+    this.executor = executor;
+    this.timeout = timeout;
+    this.encodeTimer = Timer.builder("password.hashing")
+        .tag("operation", "encode")
+        .register(meterRegistry);
+    this.matchesTimer = Timer.builder("password.hashing")
+        .tag("operation", "matches")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Hashes a raw password.
+   *
+   * @param rawPassword The password to hash.
+   * @return The BCrypt hash of the password.
+   * @throws HttpException with status 429 if the executor queue is full, or 503 if the hash is not
+   *                       computed in time.
+   */
+  public String encode(String rawPassword) {
+    return run(() -> encodeTimer.record(() -> bCryptPasswordEncoder.encode(rawPassword)));
+  }
+
+  /**
+   * Checks a raw password against a stored BCrypt hash.
+   *
+   * @param rawPassword     The password to check.
+   * @param encodedPassword The stored hash.
+   * @return True if the password matches, otherwise false.
+   * @throws IllegalArgumentException if the stored hash is not a valid BCrypt hash.
+   * @throws HttpException            with status 429 if the executor queue is full, or 503 if the
+   *                                  check is not completed in time.
+   */
+  public boolean matches(String rawPassword, String encodedPassword) {
+    return run(() -> matchesTimer.record(
+        () -> bCryptPasswordEncoder.matches(rawPassword, encodedPassword)));
+  }
+
+  private <T> T run(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      throw new HttpException(TOO_MANY_PASSWORD_REQUESTS, TOO_MANY_REQUESTS);
+    }
+    try {
+      return future.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new HttpException(PASSWORD_HASHING_UNAVAILABLE, SERVICE_UNAVAILABLE);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new HttpException(PASSWORD_HASHING_UNAVAILABLE, SERVICE_UNAVAILABLE);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new HttpException(PASSWORD_HASHING_UNAVAILABLE, SERVICE_UNAVAILABLE);
+    }
+  }
+}
@@ -9,6 +9,7 @@ import static com.postblog.userservice.utils.Constants.INTERNAL_SERVER_ERROR;
 import static com.postblog.userservice.utils.Constants.NOT_FOUND;
 import static com.postblog.userservice.utils.Constants.PASSWORD_CANNOT_BE_NULL;
 import static com.postblog.userservice.utils.Constants.PASSWORD_DOES_NOT_MATCH;
+import static com.postblog.userservice.utils.Constants.SESSION_TOKEN_REQUIRED;
 import static com.postblog.userservice.utils.Constants.USERNAME_NOT_FOUND;
 import static com.postblog.userservice.utils.Constants.USER_ALREADY_EXISTS;
 import static com.postblog.userservice.utils.Constants.USER_ALREADY_LOGGED_IN;
@@ -19,14 +20,19 @@ import com.postblog.userservice.entities.LoginRequest;
 import com.postblog.userservice.entities.UserEntity;
 import com.postblog.userservice.entities.UserResponse;
 import com.postblog.userservice.exceptions.HttpException;
+import com.postblog.userservice.mapper.UserMapper;
 import com.postblog.userservice.repository.RoleRepository;
 import com.postblog.userservice.repository.UserRepository;
+import com.postblog.userservice.session.SessionStore;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import org.modelmapper.ModelMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 
@@ -36,73 +42,106 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserService {
 
+  private static final String UNIQUE_VIOLATION_STATE = "23505";
+  private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+  private static final String PRIMARY_KEY = "primary";
+
   @Autowired
-  private BCryptPasswordEncoder bCryptPasswordEncoder;
+  private PasswordHashingService passwordHashingService;
   @Autowired
   private UserRepository userRepository;
   @Autowired
-  private ModelMapper mapper;
+  private UserMapper mapper;
 
   @Autowired
   private RoleRepository roleRepository;
 
+  @Autowired
+  private SessionStore sessionStore;
+
+  @Value("${sessions.allow-user-id-check:false}")
+  private boolean allowUserIdCheck;
+
 
   /**
-   * Marks a user as Login.
+   * Logs a user in and opens a session for them.
    *
-   * @param userId       The ID of the user to be registered.
+   * @param userId       The ID of the user to be logged in.
    * @param loginRequest an object with the user's password
-   * @throws HttpException if the user is not found or password does not match.
+   * @return The session token, or null if the password does not match.
+   * @throws HttpException if the user is not found or is already logged in.
    */
-  public void loginUser(Long userId, LoginRequest loginRequest) {
+  public String loginUser(Long userId, LoginRequest loginRequest) {
     String password = loginRequest.getPassword();
     if (password == null || password.isEmpty()) {
       throw new HttpException(PASSWORD_CANNOT_BE_NULL, HttpStatus.UNPROCESSABLE_ENTITY.value());
     }
+    if (sessionStore.isActive(userId)) {
+      throw new HttpException(USER_ALREADY_LOGGED_IN, HttpStatus.CONFLICT.value());
+    }
     UserEntity user = userRepository.findById(userId)
         .orElseThrow(() -> new HttpException(USER_NOT_FOUND, HttpStatus.NOT_FOUND.value()));
-    if (user.isRegistered()) {
-      throw new HttpException(USER_ALREADY_LOGGED_IN, HttpStatus.CONFLICT.value());
+    if (!isPasswordMatch(user.getPassword(), password)) {
+      return null;
     }
-    if (isPasswordMatch(user.getPassword(), password)) {
-      user.setRegistered(true);
-      userRepository.save(user);
+    String token = sessionStore.create(userId);
+    if (token == null) {
+      throw new HttpException(USER_ALREADY_LOGGED_IN, HttpStatus.CONFLICT.value());
     }
+    return token;
   }
 
 
   /**
-   * Checks if the user with the specified user ID is logged in. Throws an HttpException with the
-   * appropriate status code if the user is not logged in.
+   * Checks if the user with the specified user ID is logged in, without reading the database.
    *
    * @param userId The ID of the user to check.
    * @throws HttpException If the user is not logged in, with status code
-   *                       HttpStatus.UNPROCESSABLE_ENTITY, or if the user is not found, with status
-   *                       code HttpStatus.NOT_FOUND.
+   *                       HttpStatus.UNPROCESSABLE_ENTITY.
    */
   public void isUserLoggedIn(long userId) {
-    UserResponse user = getUserById(userId);
-    if (!user.isRegistered()) {
+    if (!sessionStore.isActive(userId)) {
+      throw new HttpException(USER_IS_NOT_LOGGED_IN, HttpStatus.UNPROCESSABLE_ENTITY.value());
+    }
+  }
+
+
+  /**
+   * Checks if the user with the specified user ID is logged in with the given session token.
+   * Without a token, only the user ID is checked if sessions.allow-user-id-check is set, for
+   * clients that predate session tokens; otherwise the token is required.
+   *
+   * @param userId The ID of the user to check.
+   * @param token  The session token returned at login, or null.
+   * @throws HttpException If the token is missing, with status code HttpStatus.UNAUTHORIZED, or
+   *                       if the user is not logged in with this token, with status code
+   *                       HttpStatus.UNPROCESSABLE_ENTITY.
+   */
+  public void isUserLoggedIn(long userId, String token) {
+    if (token == null) {
+      if (!allowUserIdCheck) {
+        throw new HttpException(SESSION_TOKEN_REQUIRED, HttpStatus.UNAUTHORIZED.value());
+      }
+      isUserLoggedIn(userId);
+      return;
+    }
+    if (!sessionStore.isValid(userId, token)) {
       throw new HttpException(USER_IS_NOT_LOGGED_IN, HttpStatus.UNPROCESSABLE_ENTITY.value());
     }
   }
 
 
   /**
-   * Marks a user as logout.
+   * Logs a user out and closes their session.
    *
-   * @param userId The ID of the user registered.
-   * @throws HttpException if the user is not found.
+   * @param userId The ID of the user logged in.
+   * @throws HttpException if the user is not logged in.
    */
 
   public void logoutUser(long userId) {
-    UserEntity user = userRepository.findById(userId).
-        orElseThrow(() -> new HttpException(USER_NOT_FOUND, HttpStatus.NOT_FOUND.value()));
-    if (!user.isRegistered()) {
+    if (!sessionStore.remove(userId)) {
       throw new HttpException(USER_IS_NOT_LOGGED_IN, HttpStatus.PRECONDITION_FAILED.value());
     }
-    user.setRegistered(false);
-    userRepository.save(user);
   }
 
 
@@ -116,28 +155,29 @@ public class UserService {
   public UserResponse getUserById(Long id) {
     Optional<UserEntity> user = userRepository.findById(id);
 
-    return user.map(u -> mapper.map(u, UserResponse.class))
+    return user.map(this::toResponse)
         .orElseThrow(() -> new HttpException(USER_NOT_FOUND, NOT_FOUND));
   }
 
 
   /**
-   * Creates a new user.
+   * Creates a new user. Duplicate emails are rejected by the unique constraint on the email
+   * column, so two concurrent registrations with the same email cannot both succeed.
    *
    * @param newUser The new user data.
    * @throws HttpException if user already exists or creation fails.
    */
 
   public void createUser(UserEntity newUser) {
-    Optional<UserEntity> existingUser = userRepository.findByEmail(newUser.getEmail());
-    if (existingUser.isPresent()) {
-      throw new HttpException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT.value());
-    }
     try {
-      String encryptedPassword = bCryptPasswordEncoder.encode(newUser.getPassword());
+      String encryptedPassword = passwordHashingService.encode(newUser.getPassword());
       newUser.setPassword(encryptedPassword);
 
       userRepository.save(newUser);
+    } catch (HttpException e) {
+      throw e;
+    } catch (DataIntegrityViolationException e) {
+      throw toConflict(e, FAILED_TO_CREATE_USER);
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_CREATE_USER, HttpStatus.INTERNAL_SERVER_ERROR.value());
     }
@@ -147,10 +187,15 @@ public class UserService {
   /**
    * Updates an existing user by ID.
    *
+   * <p>Users are kept in the second-level cache. On commit the cached user is replaced with the
+   * updated one, and the cached lookups by email and username are invalidated, so no caller reads
+   * the previous email or name afterwards.
+   *
    * @param userId       The ID of the user to be updated.
    * @param userToUpdate The updated user data.
    * @return Updated user details.
-   * @throws HttpException if user is not found or update fails.
+   * @throws HttpException if user is not found, the email belongs to another user or update
+   *                       fails.
    */
   public UserResponse updateUserById(Long userId, UserEntity userToUpdate) {
     UserEntity user = userRepository.findById(userId)
@@ -162,7 +207,9 @@ public class UserService {
 
     try {
       userRepository.save(user);
-      return mapper.map(user, UserResponse.class);
+      return toResponse(user);
+    } catch (DataIntegrityViolationException e) {
+      throw toConflict(e, FAILED_TO_UPDATE_USER);
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_UPDATE_USER, INTERNAL_SERVER_ERROR);
     }
@@ -179,7 +226,7 @@ public class UserService {
     try {
       List<UserEntity> usersList = userRepository.findAll();
       return usersList.stream()
-          .map(user -> mapper.map(user, UserResponse.class))
+          .map(this::toResponse)
           .toList();
     } catch (Exception e) {
       throw new HttpException(FAILED_TO_GET_USERS, INTERNAL_SERVER_ERROR);
@@ -190,15 +237,18 @@ public class UserService {
   /**
    * Deletes a user by ID.
    *
+   * <p>The user is read through the second-level cache. On commit it is evicted from the cache and
+   * the cached lookups by email and username are invalidated.
+   *
    * @param userId The ID of the user to be deleted.
    * @throws HttpException if user is not found.
    */
 
   public void deleteUserById(Long userId) {
-    if (!userRepository.existsById(userId)) {
-      throw new HttpException(USER_NOT_FOUND, NOT_FOUND);
-    }
-    userRepository.deleteById(userId);
+    UserEntity user = userRepository.findById(userId)
+        .orElseThrow(() -> new HttpException(USER_NOT_FOUND, NOT_FOUND));
+    userRepository.delete(user);
+    sessionStore.remove(userId);
   }
 
 
@@ -215,7 +265,7 @@ public class UserService {
     Optional<UserEntity> user = userRepository.findByEmail(email);
     if (user.isPresent()) {
       UserEntity entity = user.get();
-      return bCryptPasswordEncoder.matches(providedPassword, entity.getPassword());
+      return passwordHashingService.matches(providedPassword, entity.getPassword());
     } else {
       throw new HttpException(EMAIL_NOT_FOUND, NOT_FOUND);
     }
@@ -231,13 +281,13 @@ public class UserService {
    */
   public UserResponse getUserByUsername(String username) {
     Optional<UserEntity> user = Optional.ofNullable(userRepository.findByUsername(username));
-    return user.map(u -> mapper.map(u, UserResponse.class))
+    return user.map(this::toResponse)
         .orElseThrow(() -> new HttpException(USERNAME_NOT_FOUND, HttpStatus.NOT_FOUND.value()));
   }
 
 
   /**
-   * Checks if the provided password matches the stored password using BCryptPasswordEncoder.
+   * Checks if the provided password matches the stored password on the password hashing pool.
    *
    * @param storedPassword The stored password.
    * @param password       The password to check against the stored password.
@@ -246,9 +296,62 @@ public class UserService {
    */
   private boolean isPasswordMatch(String storedPassword, String password) {
     try {
-      return bCryptPasswordEncoder.matches(password, storedPassword);
+      return passwordHashingService.matches(password, storedPassword);
     } catch (IllegalArgumentException e) {
       throw new HttpException(PASSWORD_DOES_NOT_MATCH, HttpStatus.BAD_REQUEST.value());
     }
   }
+
+
+  /**
+   * Translates a violation of a unique key on the email to a conflict, and any other integrity
+   * violation to an internal error.
+   *
+   * <p>Schemas created before the email constraint was named still carry the auto-named unique key
+   * of the old mapping, and the database may report that one instead. The email is the only
+   * unique column of users besides the generated primary key, so any duplicate key outside the
+   * primary key is a duplicate email as well.
+   *
+   * @param e       The integrity violation.
+   * @param message The message of the internal error.
+   * @return The exception to throw.
+   */
+  private static HttpException toConflict(DataIntegrityViolationException e, String message) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation
+          && isDuplicateEmail(violation)) {
+        return new HttpException(USER_ALREADY_EXISTS, HttpStatus.CONFLICT.value());
+      }
+    }
+    return new HttpException(message, INTERNAL_SERVER_ERROR);
+  }
+
+
+  private static boolean isDuplicateEmail(ConstraintViolationException violation) {
+    String constraint = violation.getConstraintName() == null
+        ? "" : violation.getConstraintName().toLowerCase(Locale.ROOT);
+    if (constraint.contains(UserEntity.EMAIL_CONSTRAINT)) {
+      return true;
+    }
+    SQLException sqlException = violation.getSQLException();
+    boolean duplicateKey = sqlException != null
+        && (UNIQUE_VIOLATION_STATE.equals(sqlException.getSQLState())
+        || sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY);
+    return duplicateKey && !constraint.contains(PRIMARY_KEY);
+  }
+
+
+  /**
+   * Maps a user to its response, taking the login state from the session store.
+   *
+   * @param user The user entity.
+   * @return The user response.
+   */
+  private UserResponse toResponse(UserEntity user) {
+    UserResponse response = mapper.toResponse(user);
+    if (response != null) {
+      response.setRegistered(sessionStore.isActive(user.getId()));
+    }
+    return response;
+  }
 }
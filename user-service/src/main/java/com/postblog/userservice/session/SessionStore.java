@@ -0,0 +1,148 @@
+package com.postblog.userservice.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.postblog.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory store of login sessions, one per user, each identified by a random token. Sessions
+ * expire after a period without use. When enabled, the login state is also written behind to the
+ * registered column of the users table.
+ */
+@Component
+public class SessionStore implements MeterBinder {
+
+  private static final int TOKEN_BYTES = 32;
+
+  private final Cache<Long, String> sessions;
+  private final Map<Long, Boolean> pendingWrites = new ConcurrentHashMap<>();
+  private final SecureRandom random = new SecureRandom();
+  private final UserRepository userRepository;
+  private final boolean persistRegistered;
+
+  public SessionStore(UserRepository userRepository,
+      @Value("${sessions.ttl-minutes:30}") long ttlMinutes,
+      @Value("${sessions.persist-registered:false}") boolean persistRegistered) {
+    this.userRepository = userRepository;
+    this.persistRegistered = persistRegistered;
+    this.sessions = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+        .<Long, String>removalListener((userId, token, cause) -> {
+          if (cause.wasEvicted()) {
+            markChanged(userId, false);
+          }
+        })
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * Opens a session for a user.
+   *
+   * @param userId The ID of the authenticated user.
+   * @return The token of the new session, or null if the user already has a session.
+   */
+  public String create(Long userId) {
+    String token = newToken();
+    if (sessions.asMap().putIfAbsent(userId, token) != null) {
+      return null;
+    }
+    markChanged(userId, true);
+    return token;
+  }
+
+  /**
+   * Checks whether a user has an open session.
+   *
+   * @param userId The ID of the user.
+   * @return True if the user is logged in.
+   */
+  public boolean isActive(Long userId) {
+    return sessions.getIfPresent(userId) != null;
+  }
+
+  /**
+   * Checks whether a token belongs to the open session of a user.
+   *
+   * @param userId The ID of the user.
+   * @param token  The session token.
+   * @return True if the user is logged in with this token.
+   */
+  public boolean isValid(Long userId, String token) {
+    String current = sessions.getIfPresent(userId);
+    return current != null && token != null && MessageDigest.isEqual(
+        current.getBytes(StandardCharsets.US_ASCII), token.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Closes the session of a user.
+   *
+   * @param userId The ID of the user.
+   * @return True if the user had a session.
+   */
+  public boolean remove(Long userId) {
+    if (sessions.asMap().remove(userId) == null) {
+      return false;
+    }
+    markChanged(userId, false);
+    return true;
+  }
+
+  /**
+   * Writes the login state changed since the last flush to the users table, with one update per
+   * state. Does nothing unless sessions.persist-registered is enabled.
+   */
+  @Scheduled(fixedDelayString = "${sessions.flush-interval-ms:5000}")
+  public void flush() {
+    if (!persistRegistered) {
+      return;
+    }
+    sessions.cleanUp();
+    List<Long> loggedIn = new ArrayList<>();
+    List<Long> loggedOut = new ArrayList<>();
+    for (Long userId : pendingWrites.keySet()) {
+      Boolean registered = pendingWrites.remove(userId);
+      if (registered != null) {
+        (registered ? loggedIn : loggedOut).add(userId);
+      }
+    }
+    if (!loggedIn.isEmpty()) {
+      userRepository.updateRegistered(loggedIn, true);
+    }
+    if (!loggedOut.isEmpty()) {
+      userRepository.updateRegistered(loggedOut, false);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, sessions, "sessions");
+  }
+
+  private void markChanged(Long userId, boolean registered) {
+    if (persistRegistered) {
+      pendingWrites.put(userId, registered);
+    }
+  }
+
+  private String newToken() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
@@ -8,7 +8,11 @@ public final class Constants {
 
   public static final int NOT_FOUND = 404;
 
+  public static final int TOO_MANY_REQUESTS = 429;
+
   public static final int INTERNAL_SERVER_ERROR = 500;
+
+  public static final int SERVICE_UNAVAILABLE = 503;
   public static final String USER_NOT_FOUND = "User not found";
   public static final String USERNAME_NOT_FOUND = "Username not found";
   public static final String EMAIL_NOT_FOUND = "Email not found";
@@ -21,6 +25,12 @@ public final class Constants {
   public static final String PASSWORD_CANNOT_BE_NULL = "Password cannot be null";
   public static final String USER_ALREADY_LOGGED_IN = "User already logged in";
   public static final String DEFAULT_ROLE_USER_NOT_FOUND = "Default role USER not found";
+  public static final String TOO_MANY_PASSWORD_REQUESTS =
+      "Too many password checks in progress, try again later";
+  public static final String SESSION_TOKEN_HEADER = "X-Session-Token";
+  public static final String SESSION_TOKEN_REQUIRED = "Session token required";
+  public static final String PASSWORD_HASHING_UNAVAILABLE =
+      "Password check unavailable, try again later";
 
 
 }
@@ -0,0 +1,30 @@
+package com.postblog.userservice.utils;
+
+import com.postblog.userservice.entities.UserResponse;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Strong entity tags of user responses. A tag is derived from the ID and last modification date of
+ * the user, plus the login state, which changes without modifying the user, so it changes whenever
+ * the response body does.
+ */
+public final class ETags {
+
+  private ETags() {
+  }
+
+  /**
+   * Returns the entity tag of a user.
+   *
+   * @param user The user response.
+   * @return The quoted entity tag.
+   */
+  public static String of(UserResponse user) {
+    LocalDateTime date = user.getLastModifiedAt() != null
+        ? user.getLastModifiedAt() : user.getCreatedAt();
+    long stamp = date == null
+        ? 0 : date.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + date.getNano();
+    return "\"u" + user.getId() + '-' + stamp + '-' + (user.isRegistered() ? 1 : 0) + '"';
+  }
+}
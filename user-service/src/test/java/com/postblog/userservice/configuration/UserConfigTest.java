@@ -1,11 +1,11 @@
 package com.postblog.userservice.configuration;
 
+import com.postblog.userservice.mapper.UserMapper;
 import com.postblog.userservice.services.UserService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -28,10 +28,10 @@ class UserConfigTest {
   }
 
   @Test
-  @DisplayName("Test modelMapperBean creation")
-  void testModelMapperBeanCreation_ReturnsOk_WhenSuccessful() {
-    ModelMapper modelMapper = userConfig.modelMapperBean();
+  @DisplayName("Test userMapperBean creation")
+  void testUserMapperBeanCreation_ReturnsOk_WhenSuccessful() {
+    UserMapper userMapper = userConfig.userMapperBean();
 
-    Assertions.assertThat(modelMapper).isNotNull();
+    Assertions.assertThat(userMapper).isNotNull();
   }
 }
\ No newline at end of file
@@ -9,7 +9,9 @@ import com.postblog.userservice.entities.LoginRequest;
 import com.postblog.userservice.entities.UserEntity;
 import com.postblog.userservice.entities.UserResponse;
 import com.postblog.userservice.exceptions.HttpException;
+import com.postblog.userservice.mapper.UserMapper;
 import com.postblog.userservice.services.UserService;
+import com.postblog.userservice.utils.ETags;
 import com.postblog.userservice.utils.UserCreator;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +24,6 @@ import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -36,13 +37,9 @@ class UserControllerTest {
   @Mock
   private UserService userServiceMock;
 
-  @Mock
-  private ModelMapper mapper;
-
   @BeforeEach
   void setUp_userServiceMock_for() {
-    ModelMapper mapper2 = new ModelMapper();
-    UserResponse userResponse = mapper2.map(UserCreator.createValidUser(), UserResponse.class);
+    UserResponse userResponse = new UserMapper().toResponse(UserCreator.createValidUser());
 
     when(userServiceMock.getAllUsers()).thenReturn(List.of(userResponse));
     BDDMockito.doNothing().when(userServiceMock).deleteUserById(anyLong());
@@ -50,9 +47,9 @@ class UserControllerTest {
     when(userServiceMock.updateUserById(any(Long.class), any())).thenReturn(userResponse);
     when(userServiceMock.getUserById(anyLong())).thenReturn(userResponse);
     //---Authentication---
-    BDDMockito.doNothing().when(userServiceMock).loginUser(anyLong(), any(LoginRequest.class));
+    when(userServiceMock.loginUser(anyLong(), any(LoginRequest.class))).thenReturn("token");
     BDDMockito.doNothing().when(userServiceMock).logoutUser(anyLong());
-    BDDMockito.doNothing().when(userServiceMock).isUserLoggedIn(anyLong());
+    BDDMockito.doNothing().when(userServiceMock).isUserLoggedIn(anyLong(), any());
   }
 
 
@@ -117,6 +114,7 @@ class UserControllerTest {
     Assertions.assertThat(userResponse.getAge()).isEqualTo(expectedUser.getAge());
     Assertions.assertThat(userResponse.getUsername()).isEqualTo(expectedUser.getUsername());
     Assertions.assertThat(userResponse.getUsername()).isEqualTo(expectedUser.getUsername());
+    Assertions.assertThat(responseEntity.getHeaders().getETag()).isEqualTo(ETags.of(userResponse));
   }
 
   @Test
@@ -258,6 +256,21 @@ class UserControllerTest {
     Assertions.assertThat(responseEntity).isNotNull();
     Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
     Assertions.assertThat(responseEntity.getBody()).isEqualTo("User logged in");
+    Assertions.assertThat(responseEntity.getHeaders().getFirst("X-Session-Token"))
+        .isEqualTo("token");
+  }
+
+  @Test
+  @DisplayName("Test for loginUser returns 401 without a session token when the password mismatches")
+  void testLoginUser_ReturnsUnauthorized_WhenPasswordMismatches() {
+    LoginRequest request = new LoginRequest("incorrectPassword");
+    when(userServiceMock.loginUser(anyLong(), any(LoginRequest.class))).thenReturn(null);
+
+    ResponseEntity<String> responseEntity = userController.loginUser(1L, request);
+
+    Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    Assertions.assertThat(responseEntity.getBody()).isEqualTo("Password does not match");
+    Assertions.assertThat(responseEntity.getHeaders().containsKey("X-Session-Token")).isFalse();
   }
 
   @Test
@@ -299,7 +312,7 @@ class UserControllerTest {
   @Test
   @DisplayName("Test for isUserLoggedIn returns 'User is logged in' when successful")
   void testIsUserLoggedIn_ReturnsOk_WhenSuccessful() {
-    ResponseEntity<String> responseEntity = userController.isUserLoggedIn(1L);
+    ResponseEntity<String> responseEntity = userController.isUserLoggedIn(1L, null);
 
     Assertions.assertThat(responseEntity).isNotNull();
     Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -311,9 +324,9 @@ class UserControllerTest {
   void testIsUserLoggedIn_ReturnsCorrectStatusCode_WhenHttpExceptionThrown() {
     doThrow(new HttpException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR.value()))
         .when(userServiceMock)
-        .isUserLoggedIn(anyLong());
+        .isUserLoggedIn(anyLong(), any());
 
-    ResponseEntity<String> response = userController.isUserLoggedIn(1L);
+    ResponseEntity<String> response = userController.isUserLoggedIn(1L, null);
 
     Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
   }
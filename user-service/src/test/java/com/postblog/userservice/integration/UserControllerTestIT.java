@@ -11,7 +11,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.postblog.userservice.entities.LoginRequest;
 import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.mapper.UserMapper;
 import com.postblog.userservice.repository.UserRepository;
+import com.postblog.userservice.session.SessionStore;
 import com.postblog.userservice.utils.UserCreator;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
@@ -20,13 +22,13 @@ import java.util.Map;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -54,11 +56,14 @@ class UserControllerTestIT {
   private int port;
 
   @Autowired
-  private ModelMapper mapper;
+  private UserMapper mapper;
 
   @Autowired
   private BCryptPasswordEncoder bCryptPasswordEncoder;
 
+  @Autowired
+  private SessionStore sessionStore;
+
   private String createURLWithPort(String uri) {
     return "http://localhost:" + port + uri;
   }
@@ -263,13 +268,9 @@ class UserControllerTestIT {
   void logoutUser_ReturnsOk_WhenSuccessful() {
     UserEntity user = userRepository.save(UserCreator.createValidUser());
 
-    user.setRegistered(true);
-
-    userRepository.save(user);
-
-    user.setRegistered(false);
+    sessionStore.create(user.getId());
 
-    String url = createURLWithPort("/api/users/1/logout");
+    String url = createURLWithPort("/api/users/" + user.getId() + "/logout");
     ResponseEntity<String> responseEntity = testRestTemplate.postForEntity(url, null, String.class);
 
     Assertions.assertThat(responseEntity).isNotNull();
@@ -282,17 +283,32 @@ class UserControllerTestIT {
   void isUserLoggedIn_ReturnsOk_WhenSuccessful() {
     UserEntity user = userRepository.save(UserCreator.createUserToBeSaved());
 
-    user.setRegistered(true);
+    String token = sessionStore.create(user.getId());
 
-    userRepository.save(user);
+    String url = createURLWithPort("/api/users/" + user.getId() + "/login");
+    HttpHeaders headers = new HttpHeaders();
+    headers.set("X-Session-Token", token);
 
-    String url = createURLWithPort("/api/users/1/login");
-
-    ResponseEntity<String> responseEntity = testRestTemplate.getForEntity(url, String.class);
+    ResponseEntity<String> responseEntity = testRestTemplate.exchange(url, HttpMethod.GET,
+        new HttpEntity<>(headers), String.class);
 
     Assertions.assertThat(responseEntity).isNotNull();
     Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
     Assertions.assertThat(responseEntity.getBody()).isEqualTo("User is logged in");
   }
+
+  @Test
+  @DisplayName("Check if user is logged in returns unauthorized without a session token")
+  void isUserLoggedIn_ReturnsUnauthorized_WhenTokenMissing() {
+    UserEntity user = userRepository.save(UserCreator.createUserToBeSaved());
+
+    sessionStore.create(user.getId());
+
+    String url = createURLWithPort("/api/users/" + user.getId() + "/login");
+
+    ResponseEntity<String> responseEntity = testRestTemplate.getForEntity(url, String.class);
+
+    Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+  }
 }
 
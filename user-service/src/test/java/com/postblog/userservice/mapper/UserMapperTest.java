@@ -0,0 +1,36 @@
+package com.postblog.userservice.mapper;
+
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.entities.UserResponse;
+import com.postblog.userservice.utils.UserCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UserMapperTest {
+
+  private final UserMapper userMapper = new UserMapper();
+
+  @Test
+  @DisplayName("Test toResponse copies every field of the user")
+  void testToResponse_returnsUserResponse_WhenSuccessful() {
+    UserEntity user = UserCreator.createValidUser();
+
+    UserResponse response = userMapper.toResponse(user);
+
+    Assertions.assertThat(response.getId()).isEqualTo(user.getId());
+    Assertions.assertThat(response.getName()).isEqualTo(user.getName());
+    Assertions.assertThat(response.getEmail()).isEqualTo(user.getEmail());
+    Assertions.assertThat(response.getAge()).isEqualTo(user.getAge());
+    Assertions.assertThat(response.getUsername()).isEqualTo(user.getUsername());
+    Assertions.assertThat(response.getCreatedAt()).isEqualTo(user.getCreatedAt());
+    Assertions.assertThat(response.isRegistered()).isEqualTo(user.isRegistered());
+    Assertions.assertThat(response.getRoles()).isEqualTo(user.getRoles());
+  }
+
+  @Test
+  @DisplayName("Test toResponse returns null when the user is null")
+  void testToResponse_returnsNull_WhenUserIsNull() {
+    Assertions.assertThat(userMapper.toResponse(null)).isNull();
+  }
+}
@@ -0,0 +1,118 @@
+package com.postblog.userservice.repository;
+
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.utils.UserCreator;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@DisplayName("Test for the second-level cache of users")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    userRepository.deleteAll();
+    entityManagerFactory.getCache().evictAll();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("findById reads a user from the cache after the first lookup")
+  void testFindById_hitsCache_WhenUserWasRead() {
+    Long userId = userRepository.save(newUser()).getId();
+    entityManagerFactory.getCache().evictAll();
+    statistics.clear();
+
+    userRepository.findById(userId);
+    userRepository.findById(userId);
+
+    CacheRegionStatistics users = statistics.getCacheRegionStatistics(UserEntity.CACHE_REGION);
+    Assertions.assertThat(users.getMissCount()).isEqualTo(1);
+    Assertions.assertThat(users.getHitCount()).isEqualTo(1);
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("findByEmail and findByUsername read their results from the cache")
+  void testFindByEmailAndUsername_hitCache_WhenLookedUpAgain() {
+    UserEntity user = userRepository.save(newUser());
+
+    userRepository.findByEmail(user.getEmail());
+    userRepository.findByUsername(user.getUsername());
+    long statements = statistics.getPrepareStatementCount();
+    Assertions.assertThat(userRepository.findByEmail(user.getEmail())).isPresent();
+    Assertions.assertThat(userRepository.findByUsername(user.getUsername())).isNotNull();
+
+    Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    Assertions.assertThat(statistics.getCacheRegionStatistics(
+        UserRepository.BY_EMAIL_CACHE_REGION).getHitCount()).isEqualTo(1);
+    Assertions.assertThat(statistics.getCacheRegionStatistics(
+        UserRepository.BY_USERNAME_CACHE_REGION).getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("An update replaces the cached user and invalidates the cached lookups")
+  void testUpdate_invalidatesCachedLookups_WhenUserChanged() {
+    UserEntity user = userRepository.save(newUser());
+    String previousEmail = user.getEmail();
+    userRepository.findById(user.getId());
+    userRepository.findByEmail(previousEmail);
+
+    user.setEmail("changed@hotmail.com");
+    user.setName("changed");
+    userRepository.save(user);
+
+    Assertions.assertThat(userRepository.findByEmail(previousEmail)).isEmpty();
+    Assertions.assertThat(userRepository.findByEmail("changed@hotmail.com")).isPresent();
+    Assertions.assertThat(userRepository.findById(user.getId()))
+        .hasValueSatisfying(cached -> Assertions.assertThat(cached.getName())
+            .isEqualTo("changed"));
+  }
+
+  @Test
+  @DisplayName("A delete evicts the cached user and invalidates the cached lookups")
+  void testDelete_evictsUser_WhenUserDeleted() {
+    UserEntity user = userRepository.save(newUser());
+    userRepository.findById(user.getId());
+    userRepository.findByEmail(user.getEmail());
+    userRepository.findByUsername(user.getUsername());
+
+    userRepository.delete(user);
+
+    Assertions.assertThat(userRepository.findById(user.getId())).isEmpty();
+    Assertions.assertThat(userRepository.findByEmail(user.getEmail())).isEmpty();
+    Assertions.assertThat(userRepository.findByUsername(user.getUsername())).isNull();
+  }
+
+  private static UserEntity newUser() {
+    UserEntity user = UserCreator.createUserToBeSaved();
+    user.setId(null);
+    return user;
+  }
+}
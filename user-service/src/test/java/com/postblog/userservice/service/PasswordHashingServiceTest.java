@@ -0,0 +1,86 @@
+package com.postblog.userservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.postblog.userservice.exceptions.HttpException;
+import com.postblog.userservice.services.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class PasswordHashingServiceTest {
+
+  private final BCryptPasswordEncoder bCryptPasswordEncoder = new BCryptPasswordEncoder(4);
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private ThreadPoolExecutor executor;
+
+  private PasswordHashingService passwordHashingService;
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    passwordHashingService = new PasswordHashingService(bCryptPasswordEncoder, executor,
+        meterRegistry, 200);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  private void occupyWorker() {
+    executor.submit(() -> {
+      release.await();
+      return null;
+    });
+  }
+
+  @Test
+  @DisplayName("Test matches checks the password and records the hash latency")
+  void testMatches_returnsTrue_WhenPasswordMatches() {
+    String hash = passwordHashingService.encode("12345");
+
+    Assertions.assertThat(passwordHashingService.matches("12345", hash)).isTrue();
+    Assertions.assertThat(passwordHashingService.matches("54321", hash)).isFalse();
+    Assertions.assertThat(meterRegistry.get("password.hashing").tag("operation", "matches")
+        .timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Test matches throws too many requests when the queue is full")
+  void testMatches_throwsTooManyRequests_WhenQueueFull() {
+    occupyWorker();
+    occupyWorker();
+
+    HttpException exception = assertThrows(HttpException.class,
+        () -> passwordHashingService.matches("12345", "hash"));
+
+    Assertions.assertThat(exception.getStatusCode()).isEqualTo(429);
+  }
+
+  @Test
+  @DisplayName("Test matches throws service unavailable when the check is not done in time")
+  void testMatches_throwsServiceUnavailable_WhenTimedOut() {
+    occupyWorker();
+
+    HttpException exception = assertThrows(HttpException.class,
+        () -> passwordHashingService.matches("12345", "hash"));
+
+    Assertions.assertThat(exception.getStatusCode()).isEqualTo(503);
+  }
+}
@@ -0,0 +1,164 @@
+package com.postblog.userservice.service;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+import com.postblog.userservice.entities.UserEntity;
+import com.postblog.userservice.exceptions.HttpException;
+import com.postblog.userservice.mapper.UserMapper;
+import com.postblog.userservice.repository.RoleRepository;
+import com.postblog.userservice.repository.UserRepository;
+import com.postblog.userservice.services.PasswordHashingService;
+import com.postblog.userservice.services.UserService;
+import com.postblog.userservice.session.SessionStore;
+import com.postblog.userservice.utils.UserCreator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import(UserService.class)
+@DisplayName("Load test for concurrent user registrations")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRegistrationLoadTest {
+
+  private static final int THREADS = 8;
+  private static final int ATTEMPTS_PER_EMAIL = 16;
+  private static final int EMAILS = 20;
+  private static final String LEGACY_EMAIL_KEY = "UK_6dotkott2kjsp8vw4d0m25fb7";
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @MockBean
+  private PasswordHashingService passwordHashingService;
+
+  @MockBean
+  private UserMapper mapper;
+
+  @MockBean
+  private RoleRepository roleRepository;
+
+  @MockBean
+  private SessionStore sessionStore;
+
+  @BeforeEach
+  void setUp() {
+    given(passwordHashingService.encode(anyString())).willAnswer(invocation ->
+        "hashed-" + invocation.getArgument(0));
+    userRepository.deleteAll();
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Concurrent registrations of the same email create one user and conflict the rest")
+  void testCreateUser_createsOneUserPerEmail_WhenRegisteredConcurrently() throws Exception {
+    assertOneUserPerEmail();
+  }
+
+  @Test
+  @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+  @DisplayName("Concurrent registrations conflict on the auto-named email key of an older schema")
+  void testCreateUser_createsOneUserPerEmail_WhenSchemaHasLegacyEmailKey() throws Exception {
+    jdbcTemplate.execute("alter table users drop constraint " + UserEntity.EMAIL_CONSTRAINT);
+    jdbcTemplate.execute(
+        "alter table users add constraint " + LEGACY_EMAIL_KEY + " unique (email)");
+
+    assertOneUserPerEmail();
+  }
+
+  private void assertOneUserPerEmail() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Callable<Integer>> registrations = new ArrayList<>();
+    for (int attempt = 0; attempt < ATTEMPTS_PER_EMAIL; attempt++) {
+      for (int email = 0; email < EMAILS; email++) {
+        String address = "load" + email + "@hotmail.com";
+        registrations.add(() -> {
+          start.await();
+          return register(address);
+        });
+      }
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (Callable<Integer> registration : registrations) {
+        results.add(executor.submit(registration));
+      }
+      start.countDown();
+      int created = 0;
+      int conflicts = 0;
+      for (Future<Integer> result : results) {
+        int status = result.get();
+        if (status == HttpStatus.CREATED.value()) {
+          created++;
+        } else if (status == HttpStatus.CONFLICT.value()) {
+          conflicts++;
+        }
+      }
+
+      Assertions.assertThat(created).isEqualTo(EMAILS);
+      Assertions.assertThat(conflicts).isEqualTo(EMAILS * (ATTEMPTS_PER_EMAIL - 1));
+    } finally {
+      executor.shutdownNow();
+    }
+    Assertions.assertThat(userRepository.count()).isEqualTo(EMAILS);
+    Assertions.assertThat(jdbcTemplate.queryForObject(
+        "select count(distinct email) from users", Long.class)).isEqualTo(EMAILS);
+  }
+
+  @Test
+  @DisplayName("Lookups by email and username use an index instead of scanning the table")
+  void testLookups_useIndexes_WhenQueryPlanned() {
+    String byEmail = jdbcTemplate.queryForObject(
+        "explain select * from users where email = 'load0@hotmail.com'", String.class);
+    String byUsername = jdbcTemplate.queryForObject(
+        "explain select * from users where username = 'test'", String.class);
+
+    Assertions.assertThat(byEmail).containsIgnoringCase(UserEntity.EMAIL_CONSTRAINT)
+        .doesNotContainIgnoringCase("tableScan");
+    Assertions.assertThat(byUsername).containsIgnoringCase("idx_users_username")
+        .doesNotContainIgnoringCase("tableScan");
+  }
+
+  private int register(String email) {
+    UserEntity user = UserCreator.createUserToBeSaved();
+    user.setId(null);
+    user.setEmail(email);
+    try {
+      userService.createUser(user);
+      return HttpStatus.CREATED.value();
+    } catch (HttpException e) {
+      return e.getStatusCode();
+    }
+  }
+}
@@ -3,17 +3,17 @@ package com.postblog.userservice.service;
 import static com.postblog.userservice.utils.Constants.USER_ALREADY_EXISTS;
 import static com.postblog.userservice.utils.UserCreator.createValidUserToLogin;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.postblog.userservice.entities.LoginRequest;
@@ -21,21 +21,26 @@ import com.postblog.userservice.entities.Role;
 import com.postblog.userservice.entities.UserEntity;
 import com.postblog.userservice.entities.UserResponse;
 import com.postblog.userservice.exceptions.HttpException;
+import com.postblog.userservice.mapper.UserMapper;
 import com.postblog.userservice.repository.RoleRepository;
 import com.postblog.userservice.repository.UserRepository;
+import com.postblog.userservice.services.PasswordHashingService;
 import com.postblog.userservice.services.UserService;
+import com.postblog.userservice.session.SessionStore;
 import com.postblog.userservice.utils.UserCreator;
 import java.lang.reflect.Field;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import org.assertj.core.api.Assertions;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -50,21 +55,24 @@ class UserServiceTest {
   private UserRepository userRepositoryMock;
 
   @Mock
-  private ModelMapper mapper;
+  private UserMapper mapper;
 
   @Mock
-  private BCryptPasswordEncoder bCryptPasswordEncoder;
+  private PasswordHashingService passwordHashingService;
 
   @Mock
   private RoleRepository roleRepositoryMock;
 
+  @Mock
+  private SessionStore sessionStore;
+
 
   @Test
   @DisplayName("Test for getAllUsers returns list of users when successful")
   void testGetAllUsers_returnsListOfUsers_WhenSuccessful() {
     List<UserEntity> userList = List.of(UserCreator.createValidUser());
     when(userRepositoryMock.findAll()).thenReturn(userList);
-    when(mapper.map(any(UserEntity.class), any())).thenReturn(
+    when(mapper.toResponse(any(UserEntity.class))).thenReturn(
         UserCreator.createUserToUserResponse());
 
     List<UserResponse> users = userService.getAllUsers();
@@ -104,7 +112,7 @@ class UserServiceTest {
     UserResponse expectedUserResponse = UserCreator.createUserToUserResponse();
 
     when(userRepositoryMock.findById(anyLong())).thenReturn(Optional.of(userEntity));
-    when(mapper.map(Mockito.any(), eq(UserResponse.class)))
+    when(mapper.toResponse(Mockito.any()))
         .thenReturn(expectedUserResponse);
 
     UserResponse userResponse = userService.getUserById(1L);
@@ -181,8 +189,7 @@ class UserServiceTest {
   @DisplayName("Test for save user when CONFLICT")
   void testSaveUser_Conflict_WhenConflict() {
     UserEntity existingUser = UserCreator.createValidUser();
-    when(userRepositoryMock.findByEmail(existingUser.getEmail())).thenReturn(
-        Optional.of(existingUser));
+    when(userRepositoryMock.save(any(UserEntity.class))).thenThrow(duplicateEmail());
 
     HttpException exception = assertThrows(HttpException.class, () -> {
       userService.createUser(existingUser);
@@ -224,6 +231,32 @@ class UserServiceTest {
     Assertions.assertThat(exception.getMessage()).isEqualTo("Failed to update User");
   }
 
+  @Test
+  @DisplayName("Test for updateUserById throws CONFLICT when the email belongs to another user")
+  void testUpdateUser_Conflict_WhenEmailTaken() {
+    UserEntity userEntity = UserCreator.createUserToBeSaved();
+    when(userRepositoryMock.findById(anyLong())).thenReturn(Optional.of(userEntity));
+    when(userRepositoryMock.save(any(UserEntity.class))).thenThrow(duplicateEmail());
+
+    HttpException exception = assertThrows(HttpException.class,
+        () -> userService.updateUserById(userEntity.getId(), UserCreator.createValidUser()));
+
+    Assertions.assertThat(exception.getMessage()).isEqualTo(USER_ALREADY_EXISTS);
+    Assertions.assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.CONFLICT.value());
+  }
+
+  @Test
+  @DisplayName("Test for save user throws INTERNAL_SERVER_ERROR on other integrity violations")
+  void testSaveUser_InternalServerError_WhenOtherConstraintViolated() {
+    when(userRepositoryMock.save(any(UserEntity.class))).thenThrow(
+        new DataIntegrityViolationException("null name"));
+
+    HttpException exception = assertThrows(HttpException.class,
+        () -> userService.createUser(UserCreator.createValidUser()));
+
+    Assertions.assertThat(exception.getStatusCode()).isEqualTo(500);
+  }
+
   @Test
   @DisplayName("Test for updateUserById throws exception when NOT FOUND")
   void testUpdateUser_Not_Found_WhenNotFound() {
@@ -242,7 +275,7 @@ class UserServiceTest {
   @Test
   @DisplayName("delete removes user successful")
   void testDeleteUser_ReturnsOK_WhenSuccessful() {
-    when(userRepositoryMock.existsById(1L)).thenReturn(true);
+    when(userRepositoryMock.findById(1L)).thenReturn(Optional.of(UserCreator.createValidUser()));
     Mockito.doNothing().when(userRepositoryMock).delete(any(UserEntity.class));
 
     Assertions.assertThatCode(() -> userService.deleteUserById(1L))
@@ -253,7 +286,7 @@ class UserServiceTest {
   @DisplayName("Test for deleteUserById throws exception when NOT FOUND")
   void testDeleteUser_ReturnsNOT_FOUND_WhenNotFound() {
 
-    when(userRepositoryMock.existsById(anyLong())).thenReturn(false);
+    when(userRepositoryMock.findById(anyLong())).thenReturn(Optional.empty());
 
     HttpException exception = assertThrows(HttpException.class, () -> {
       userService.deleteUserById(1L);
@@ -266,16 +299,16 @@ class UserServiceTest {
   @DisplayName("Check password returns true when password matches")
   void testCheckPassword_EmailFound_PasswordMatches_WhenSuccessful() throws Exception {
     UserRepository userRepositoryMock = mock(UserRepository.class);
-    BCryptPasswordEncoder bCryptPasswordEncoderMock = mock(BCryptPasswordEncoder.class);
-    when(bCryptPasswordEncoderMock.matches(any(CharSequence.class), anyString())).thenReturn(true);
+    PasswordHashingService passwordHashingServiceMock = mock(PasswordHashingService.class);
+    when(passwordHashingServiceMock.matches(anyString(), anyString())).thenReturn(true);
 
     UserService userService = new UserService();
     Field userRepositoryField = UserService.class.getDeclaredField("userRepository");
     userRepositoryField.setAccessible(true);
     userRepositoryField.set(userService, userRepositoryMock);
-    Field passwordEncoderField = UserService.class.getDeclaredField("bCryptPasswordEncoder");
-    passwordEncoderField.setAccessible(true);
-    passwordEncoderField.set(userService, bCryptPasswordEncoderMock);
+    Field passwordHashingField = UserService.class.getDeclaredField("passwordHashingService");
+    passwordHashingField.setAccessible(true);
+    passwordHashingField.set(userService, passwordHashingServiceMock);
 
     UserEntity userEntity = new UserEntity();
     userEntity.setEmail("test@junit.com");
@@ -310,14 +343,29 @@ class UserServiceTest {
     loginRequest.setPassword("password");
 
     when(userRepositoryMock.findById(1L)).thenReturn(Optional.of(user));
-    when(bCryptPasswordEncoder.matches(any(), any())).thenReturn(true);
+    when(passwordHashingService.matches(any(), any())).thenReturn(true);
+    when(sessionStore.create(1L)).thenReturn("token");
 
-    userService.loginUser(1L, loginRequest);
+    String token = userService.loginUser(1L, loginRequest);
 
     verify(userRepositoryMock, times(1)).findById(1L);
-    verify(bCryptPasswordEncoder, times(1)).matches(any(), any());
+    verify(passwordHashingService, times(1)).matches(any(), any());
+    verify(userRepositoryMock, never()).save(any());
+
+    Assertions.assertThat(token).isEqualTo("token");
+  }
+
+  @Test
+  @DisplayName("Test loginUser throws exception when user is already logged in")
+  void testLoginUser_Conflict_WhenAlreadyLoggedIn() {
+    when(sessionStore.isActive(1L)).thenReturn(true);
+
+    HttpException exception = assertThrows(HttpException.class, () -> {
+      userService.loginUser(1L, new LoginRequest("password"));
+    });
 
-    assertTrue(user.isRegistered());
+    Assertions.assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.CONFLICT.value());
+    verify(passwordHashingService, never()).matches(any(), any());
   }
 
   @Test
@@ -354,33 +402,70 @@ class UserServiceTest {
   void testIsUserLoggedIn_UserNotLoggedIn() {
     UserEntity user = UserCreator.createValidUserToLogin();
 
-    when(userRepositoryMock.findById(user.getId())).thenReturn(Optional.of(user));
-
     assertThrows(HttpException.class, () -> userService.isUserLoggedIn(user.getId()),
         "User is not logged in");
+    verifyNoInteractions(userRepositoryMock);
+  }
+
+  @Test
+  @DisplayName("Test isUserLoggedIn with a token checks the token of the session")
+  void testIsUserLoggedIn_WithToken_WhenTokenValid() {
+    when(sessionStore.isValid(1L, "token")).thenReturn(true);
+
+    assertDoesNotThrow(() -> userService.isUserLoggedIn(1L, "token"));
+    assertThrows(HttpException.class, () -> userService.isUserLoggedIn(1L, "other"));
+  }
+
+  @Test
+  @DisplayName("Test isUserLoggedIn without a token throws unauthorized by default")
+  void testIsUserLoggedIn_ThrowsUnauthorized_WhenTokenMissing() {
+    HttpException exception = assertThrows(HttpException.class,
+        () -> userService.isUserLoggedIn(1L, null));
+
+    Assertions.assertThat(exception.getStatusCode()).isEqualTo(401);
+    Assertions.assertThat(exception.getMessage()).isEqualTo("Session token required");
+    verifyNoInteractions(sessionStore);
+  }
+
+  @Test
+  @DisplayName("Test isUserLoggedIn without a token checks the user ID when allowed")
+  void testIsUserLoggedIn_ChecksUserId_WhenUserIdCheckAllowed() throws Exception {
+    Field allowUserIdCheckField = UserService.class.getDeclaredField("allowUserIdCheck");
+    allowUserIdCheckField.setAccessible(true);
+    allowUserIdCheckField.set(userService, true);
+    when(sessionStore.isActive(1L)).thenReturn(true);
+
+    assertDoesNotThrow(() -> userService.isUserLoggedIn(1L, null));
+    assertThrows(HttpException.class, () -> userService.isUserLoggedIn(2L, null));
   }
 
   @Test
   @DisplayName("Test logoutUser when successful")
   void testLogoutUser_Successful() {
-    UserEntity user = UserCreator.createValidUserToLogin();
-    user.setRegistered(true);
-    when(userRepositoryMock.findById(1L)).thenReturn(Optional.of(user));
+    when(sessionStore.remove(1L)).thenReturn(true);
 
     assertDoesNotThrow(() -> userService.logoutUser(1L));
-    assertFalse(user.isRegistered());
+    verify(sessionStore, times(1)).remove(1L);
+    verifyNoInteractions(userRepositoryMock);
   }
 
   @Test
-  @DisplayName("Test logoutUser throws exception when user not found")
-  void testLogoutUser_UserNotFound() {
-    when(userRepositoryMock.findById(1L)).thenReturn(Optional.empty());
+  @DisplayName("Test logoutUser throws exception when user is not logged in")
+  void testLogoutUser_UserNotLoggedIn() {
+    when(sessionStore.remove(1L)).thenReturn(false);
 
     HttpException exception = assertThrows(HttpException.class, () -> {
       userService.logoutUser(1L);
     });
 
-    Assertions.assertThat(HttpStatus.NOT_FOUND.value()).isEqualTo(exception.getStatusCode());
-    Assertions.assertThat(exception.getMessage()).isEqualTo("User not found");
+    Assertions.assertThat(HttpStatus.PRECONDITION_FAILED.value())
+        .isEqualTo(exception.getStatusCode());
+    Assertions.assertThat(exception.getMessage()).isEqualTo("User is not logged in");
+  }
+
+  private static DataIntegrityViolationException duplicateEmail() {
+    return new DataIntegrityViolationException("Duplicate entry",
+        new ConstraintViolationException("Duplicate entry", new SQLException(),
+            UserEntity.EMAIL_CONSTRAINT));
   }
 }
@@ -0,0 +1,81 @@
+package com.postblog.userservice.session;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.postblog.userservice.repository.UserRepository;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SessionStoreTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+
+  @Test
+  @DisplayName("Test create opens a session that is found by user and token")
+  void testCreate_opensSession_WhenSuccessful() {
+    SessionStore sessionStore = new SessionStore(userRepository, 30, false);
+
+    String token = sessionStore.create(1L);
+
+    Assertions.assertThat(token).isNotBlank();
+    Assertions.assertThat(sessionStore.isActive(1L)).isTrue();
+    Assertions.assertThat(sessionStore.isValid(1L, token)).isTrue();
+    Assertions.assertThat(sessionStore.isValid(1L, token + "x")).isFalse();
+    Assertions.assertThat(sessionStore.isValid(2L, token)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Test create returns null when the user already has a session")
+  void testCreate_returnsNull_WhenAlreadyLoggedIn() {
+    SessionStore sessionStore = new SessionStore(userRepository, 30, false);
+    String token = sessionStore.create(1L);
+
+    Assertions.assertThat(sessionStore.create(1L)).isNull();
+    Assertions.assertThat(sessionStore.isValid(1L, token)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Test remove closes the session")
+  void testRemove_closesSession_WhenLoggedIn() {
+    SessionStore sessionStore = new SessionStore(userRepository, 30, false);
+    sessionStore.create(1L);
+
+    Assertions.assertThat(sessionStore.remove(1L)).isTrue();
+    Assertions.assertThat(sessionStore.remove(1L)).isFalse();
+    Assertions.assertThat(sessionStore.isActive(1L)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Test flush writes the changed login state in one update per state")
+  void testFlush_writesRegistered_WhenPersistenceEnabled() {
+    SessionStore sessionStore = new SessionStore(userRepository, 30, true);
+    sessionStore.create(1L);
+    sessionStore.create(2L);
+    sessionStore.create(3L);
+    sessionStore.remove(3L);
+
+    sessionStore.flush();
+    sessionStore.flush();
+
+    verify(userRepository).updateRegistered(
+        argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))), eq(true));
+    verify(userRepository).updateRegistered(List.of(3L), false);
+  }
+
+  @Test
+  @DisplayName("Test flush does not touch the database when persistence is disabled")
+  void testFlush_doesNothing_WhenPersistenceDisabled() {
+    SessionStore sessionStore = new SessionStore(userRepository, 30, false);
+    sessionStore.create(1L);
+
+    sessionStore.flush();
+
+    verifyNoInteractions(userRepository);
+  }
+}